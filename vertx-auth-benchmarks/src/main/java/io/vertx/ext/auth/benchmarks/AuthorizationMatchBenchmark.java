@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching a wildcard permission against users holding large sets of authorizations, the worst case is a permission
+ * the user doesn't have, as every authorization has to be checked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationMatchBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private User user;
+  private Authorization granted;
+  private Authorization denied;
+  private Authorization plainDenied;
+
+  @Setup
+  public void setup() {
+    user = User.create(new JsonObject().put("username", "paulo"));
+
+    Set<Authorization> authorizations = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      authorizations.add(WildcardPermissionBasedAuthorization.create("printer" + i + ":print,query:lp" + i));
+      authorizations.add(PermissionBasedAuthorization.create("document" + i + ":read"));
+    }
+    authorizations.add(WildcardPermissionBasedAuthorization.create("newsletter:*:12"));
+    user.authorizations().add("benchmark", authorizations);
+
+    granted = WildcardPermissionBasedAuthorization.create("newsletter:edit:12");
+    denied = WildcardPermissionBasedAuthorization.create("newsletter:edit:13");
+    plainDenied = PermissionBasedAuthorization.create("document:write");
+  }
+
+  @Benchmark
+  public boolean matchGranted() {
+    return granted.match(user);
+  }
+
+  @Benchmark
+  public boolean matchDenied() {
+    return denied.match(user);
+  }
+
+  @Benchmark
+  public boolean matchPermissionDenied() {
+    return plainDenied.match(user);
+  }
+}
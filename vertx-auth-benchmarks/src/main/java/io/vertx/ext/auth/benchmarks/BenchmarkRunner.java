@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks writing the results as JSON, by default to {@code jmh-result.json}, so results of different
+ * versions can be compared. All the usual JMH command line options are accepted, for example
+ * {@code java -jar target/benchmarks.jar JWTBenchmark -rff jwt.json}.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    final CommandLineOptions cmd = new CommandLineOptions(args);
+
+    final Options options = new OptionsBuilder()
+      .parent(cmd)
+      .resultFormat(cmd.getResultFormat().orElse(ResultFormatType.JSON))
+      .result(cmd.getResult().orElse("jmh-result.json"))
+      .build();
+
+    new Runner(options).run();
+  }
+}
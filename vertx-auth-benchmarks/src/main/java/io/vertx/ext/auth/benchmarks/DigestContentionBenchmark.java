@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.impl.Digests;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message digests computed by several threads, as it happens when all event loops hash passwords or digest
+ * credentials. A single digest behind a lock (as {@code htdigest} used to do) is compared with the shared pools of
+ * {@link Digests}, whose throughput should grow with the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DigestContentionBenchmark {
+
+  @Param({"MD5", "SHA-512"})
+  public String alg;
+
+  private MessageDigest shared;
+  private final byte[] data = "Mufasa:testrealm@host.com:Circle Of Life".getBytes(StandardCharsets.UTF_8);
+
+  @Setup
+  public void setup() throws NoSuchAlgorithmException {
+    shared = MessageDigest.getInstance(alg);
+  }
+
+  private byte[] locked() {
+    synchronized (this) {
+      shared.reset();
+      return shared.digest(data);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] locked1() {
+    return locked();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] locked4() {
+    return locked();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public byte[] locked16() {
+    return locked();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] pooled1() {
+    return Digests.digest(alg, data);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public byte[] pooled4() {
+    return Digests.digest(alg, data);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public byte[] pooled16() {
+    return Digests.digest(alg, data);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.HashingStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification per algorithm, the algorithms are loaded the same way the providers load them, so the
+ * htpasswd algorithms (APR1 and crypt) are included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashingBenchmark {
+
+  private static final String PASSWORD = "myPassword";
+  private static final String SALT = "a2V5Ym9hcmQuY2F0";
+
+  @Param({"pbkdf2", "sha512", "apr1", "crypt"})
+  public String algorithm;
+
+  private HashingStrategy strategy;
+  private String hash;
+
+  @Setup
+  public void setup() {
+    strategy = HashingStrategy.load();
+
+    switch (algorithm) {
+      case "apr1":
+        // htpasswd -nbm md5 myPassword
+        hash = "$apr1$V45rK4cb$O6ozhQ3JtwlH94GhuUKRD1";
+        break;
+      case "crypt":
+        // htpasswd -nbd crypt myPassword
+        hash = "0MJgtfTc6oYDE";
+        break;
+      default:
+        hash = strategy.hash(algorithm, null, SALT, PASSWORD);
+    }
+
+    if (!strategy.verify(hash, PASSWORD)) {
+      throw new IllegalStateException("Invalid benchmark setup for: " + algorithm);
+    }
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return strategy.verify(hash, PASSWORD);
+  }
+}
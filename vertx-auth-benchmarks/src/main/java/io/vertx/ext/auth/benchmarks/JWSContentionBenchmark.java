@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.impl.jose.JWS;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature verification with a single {@link JWS} shared by several threads, as it happens when all event loops
+ * verify tokens signed with the same key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWSContentionBenchmark {
+
+  @Param({"HS256", "RS256", "ES256"})
+  public String alg;
+
+  private JWS jws;
+  private byte[] payload;
+  private byte[] signature;
+
+  @Setup
+  public void setup() throws Exception {
+    final JWK[] keys = Keys.generate(alg);
+
+    payload = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJwYXVsbyIsImlhdCI6MTY0NTcwMzI2Nn0".getBytes(StandardCharsets.US_ASCII);
+    signature = new JWS(keys[0]).sign(payload);
+    jws = new JWS(keys[1]);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean verify1() {
+    return jws.verify(signature, payload);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean verify4() {
+    return jws.verify(signature, payload);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public boolean verify16() {
+    return jws.verify(signature, payload);
+  }
+}
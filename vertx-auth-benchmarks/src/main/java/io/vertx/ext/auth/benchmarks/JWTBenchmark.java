@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.impl.jose.JWT;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and decoding (including the signature verification) of a typical access token, per algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTBenchmark {
+
+  @Param({"HS256", "RS256", "PS256", "ES256"})
+  public String alg;
+
+  private JWT signer;
+  private JWT verifier;
+  private JsonObject payload;
+  private JWTOptions options;
+  private String token;
+
+  @Setup
+  public void setup() throws Exception {
+    final JWK[] keys = Keys.generate(alg);
+
+    signer = new JWT().addJWK(keys[0]);
+    verifier = new JWT().addJWK(keys[1]);
+
+    payload = new JsonObject()
+      .put("sub", "paulo")
+      .put("iss", "https://auth.example.com")
+      .put("aud", "https://api.example.com")
+      .put("scope", "openid profile email")
+      .put("permissions", new JsonArray().add("read").add("write"));
+
+    options = new JWTOptions()
+      .setAlgorithm(alg)
+      .setExpiresInMinutes(60);
+
+    token = signer.sign(payload, options);
+  }
+
+  @Benchmark
+  public String sign() {
+    return signer.sign(payload, options);
+  }
+
+  @Benchmark
+  public JsonObject decode() {
+    return verifier.decode(token);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.auth.PubSecKeyOptions;
+import io.vertx.ext.auth.impl.jose.JWK;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+/**
+ * Generates fresh keys for the benchmarks, so no key material is stored in the sources.
+ */
+final class Keys {
+
+  private Keys() {
+  }
+
+  /**
+   * A pair of JWKs for the given algorithm, the first signs and the second verifies. For HMAC both are the same key.
+   */
+  static JWK[] generate(String alg) throws Exception {
+    switch (alg) {
+      case "HS256":
+      case "HS384":
+      case "HS512": {
+        JWK key = new JWK(new PubSecKeyOptions()
+          .setAlgorithm(alg)
+          .setBuffer(Buffer.buffer("notasecret-notasecret-notasecret-notasecret-notasecret")));
+        return new JWK[] { key, key };
+      }
+      case "RS256":
+      case "RS384":
+      case "RS512":
+      case "PS256":
+        return pem(alg, rsa());
+      case "ES256":
+        return pem(alg, ec("secp256r1"));
+      case "ES384":
+        return pem(alg, ec("secp384r1"));
+      case "ES512":
+        return pem(alg, ec("secp521r1"));
+      default:
+        throw new IllegalArgumentException("Unsupported algorithm: " + alg);
+    }
+  }
+
+  private static KeyPair rsa() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+
+  private static KeyPair ec(String curve) throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec(curve));
+    return generator.generateKeyPair();
+  }
+
+  private static JWK[] pem(String alg, KeyPair pair) {
+    return new JWK[] {
+      new JWK(new PubSecKeyOptions()
+        .setAlgorithm(alg)
+        .setBuffer(pem("PRIVATE KEY", pair.getPrivate().getEncoded()))),
+      new JWK(new PubSecKeyOptions()
+        .setAlgorithm(alg)
+        .setBuffer(pem("PUBLIC KEY", pair.getPublic().getEncoded())))
+    };
+  }
+
+  private static String pem(String type, byte[] der) {
+    return
+      "-----BEGIN " + type + "-----\n" +
+        Base64.getMimeEncoder(64, new byte[] { '\n' }).encodeToString(der) +
+        "\n-----END " + type + "-----\n";
+  }
+}
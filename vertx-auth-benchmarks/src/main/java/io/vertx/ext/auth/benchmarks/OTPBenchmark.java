@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.otp.impl.OtpEngine;
+import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One time password generation, as done once per code (or per window step) by the HOTP and TOTP providers, and the
+ * verification of a code against a look ahead window, generating each code from scratch or with a prepared
+ * {@link OtpEngine}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OTPBenchmark {
+
+  private final byte[] secret = "12345678901234567890".getBytes(StandardCharsets.US_ASCII);
+  private long counter;
+
+  @Param({"10", "100"})
+  public int lookAheadWindow;
+
+  private OtpEngine engine;
+  private String code;
+
+  @Setup
+  public void setup() throws GeneralSecurityException {
+    engine = new OtpEngine(secret);
+    // the code of the last counter of the window, the worst case of an early exit scan
+    code = OneTimePasswordAlgorithm.generateOTP(secret, lookAheadWindow, 6, false, -1);
+  }
+
+  @Benchmark
+  public String generateOTP() throws GeneralSecurityException {
+    return OneTimePasswordAlgorithm.generateOTP(secret, counter++, 6, false, -1);
+  }
+
+  @Benchmark
+  public int generateEngine() {
+    return engine.generate(counter++, 6);
+  }
+
+  @Benchmark
+  public long verifyWindowOTP() throws GeneralSecurityException {
+    for (long c = 0; c <= lookAheadWindow; c++) {
+      if (OneTimePasswordAlgorithm.generateOTP(secret, c, 6, false, -1).equals(code)) {
+        return c;
+      }
+    }
+    return -1;
+  }
+
+  @Benchmark
+  public long verifyWindowEngine() {
+    return engine.verify(OtpEngine.parseCode(code, 6), 0, lookAheadWindow, 6);
+  }
+}
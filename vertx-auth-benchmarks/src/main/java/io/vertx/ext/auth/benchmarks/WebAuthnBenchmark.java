@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.webauthn.Authenticator;
+import io.vertx.ext.auth.webauthn.RelyingParty;
+import io.vertx.ext.auth.webauthn.WebAuthn;
+import io.vertx.ext.auth.webauthn.WebAuthnOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification of a WebAuthn assertion (a login with an already registered authenticator). The authenticator store
+ * is in memory and always returns the same authenticator, so only the verification is measured. A
+ * {@code publicKeyCacheSize} of {@code 0} parses the stored public key on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebAuthnBenchmark {
+
+  private static final String CRED_ID = "-r1iW_eHUyIpU93f77odIrdUlNVfYzN-JPCTWGtdn-1wxdLxhlS9NmzLNbYsQ7XVZlGSWbh_63E5oFHcNh4JNw";
+  private static final String PUBLIC_KEY = "pQECAyYgASFYIB4QBsdBFyVm79aQFrgdhAFsV0bD0-UfzsRRihvSU8bnIlggdBaaNC3nGWGcZd1msfoD0vMt0Ydg9InOFKkz6PKUEf8";
+
+  @Param({"0", "1000"})
+  public int publicKeyCacheSize;
+
+  private Vertx vertx;
+  private WebAuthn webAuthn;
+  private JsonObject assertion;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+
+    webAuthn = WebAuthn.create(
+        vertx,
+        new WebAuthnOptions()
+          .setRelyingParty(new RelyingParty().setName("FIDO Examples Corporation"))
+          .setRequireResidentKey(true)
+          .setPublicKeyCacheSize(publicKeyCacheSize))
+      // a new authenticator every time, so the signature counter is always valid
+      .authenticatorFetcher(query -> Future.succeededFuture(Collections.singletonList(
+        new Authenticator()
+          .setCredID(CRED_ID)
+          .setPublicKey(PUBLIC_KEY)
+          .setCounter(0))))
+      .authenticatorUpdater(authenticator -> Future.succeededFuture());
+
+    assertion = new JsonObject()
+      .put("webauthn", new JsonObject("{\"rawId\":\"" + CRED_ID + "\",\"response\":{\"authenticatorData\":\"SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAAAFA\",\"signature\":\"MEUCIA3bv92hSE3wNz1CNGIinx27YLJgucNnBwqjV7qWqHqiAiEAjBsxBaK2nEfCilGSZ3yzoHVJilwkhOOkwZAJ52xp-h8\",\"userHandle\":\"null\",\"clientDataJSON\":\"eyJjaGFsbGVuZ2UiOiI2b2pkb19LS0c0a1hvWjVKRF9BbHY2Q2hyVXRPT3o3dXFlaWlvRmxCc3pvIiwiY2xpZW50RXh0ZW5zaW9ucyI6e30sImhhc2hBbGdvcml0aG0iOiJTSEEtMjU2Iiwib3JpZ2luIjoiaHR0cDovL2xvY2FsaG9zdDozMDAwIiwidHlwZSI6IndlYmF1dGhuLmdldCJ9\"},\"id\":\"" + CRED_ID + "\",\"type\":\"public-unwrap\"}"))
+      .put("origin", "http://localhost:3000")
+      .put("challenge", "6ojdo_KKG4kXoZ5JD_Alv6ChrUtOOz7uqeiioFlBszo");
+
+    // fail fast on a broken setup
+    verify();
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public User verify() {
+    final CompletableFuture<User> result = new CompletableFuture<>();
+    webAuthn.authenticate(assertion, res -> {
+      if (res.succeeded()) {
+        result.complete(res.result());
+      } else {
+        result.completeExceptionally(res.cause());
+      }
+    });
+    return result.join();
+  }
+}
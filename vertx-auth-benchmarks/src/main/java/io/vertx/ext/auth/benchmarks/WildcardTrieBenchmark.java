@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.impl.WildcardPermissionTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A compiled {@link WildcardPermissionTrie} against calling {@code verify} on every granted wildcard permission. Run
+ * with {@code -prof gc} to see the allocation rate of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildcardTrieBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  public int size;
+
+  private List<Authorization> grants;
+  private WildcardPermissionTrie trie;
+
+  private final String grantedPermission = "newsletter:edit,view:12";
+  private final String deniedPermission = "newsletter:delete:12";
+  private Authorization granted;
+  private Authorization denied;
+
+  @Setup
+  public void setup() {
+    grants = new ArrayList<>(size);
+    trie = new WildcardPermissionTrie();
+
+    for (int i = 0; i < size - 1; i++) {
+      String permission = "printer" + i + ":print,query:lp" + i;
+      grants.add(WildcardPermissionBasedAuthorization.create(permission));
+      trie.add(permission, null);
+    }
+    grants.add(WildcardPermissionBasedAuthorization.create("newsletter:edit,view,publish:*"));
+    trie.add("newsletter:edit,view,publish:*", null);
+
+    granted = PermissionBasedAuthorization.create(grantedPermission);
+    denied = PermissionBasedAuthorization.create(deniedPermission);
+  }
+
+  private boolean verifyAll(Authorization required) {
+    for (Authorization grant : grants) {
+      if (grant.verify(required)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public boolean verifyGranted() {
+    return verifyAll(granted);
+  }
+
+  @Benchmark
+  public boolean verifyDenied() {
+    return verifyAll(denied);
+  }
+
+  @Benchmark
+  public boolean trieGranted() {
+    return trie.implies(grantedPermission, null);
+  }
+
+  @Benchmark
+  public boolean trieDenied() {
+    return trie.implies(deniedPermission, null);
+  }
+}
@@ -0,0 +1,57 @@
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.authentication.UsernameFilterOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.authentication.UsernameFilterOptions} original class using Vert.x codegen.
+ */
+public class UsernameFilterOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, UsernameFilterOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "caseInsensitive":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCaseInsensitive((Boolean)member.getValue());
+          }
+          break;
+        case "expectedUsernames":
+          if (member.getValue() instanceof Number) {
+            obj.setExpectedUsernames(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "falsePositiveRate":
+          if (member.getValue() instanceof Number) {
+            obj.setFalsePositiveRate(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "rebuildInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setRebuildInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(UsernameFilterOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(UsernameFilterOptions obj, java.util.Map<String, Object> json) {
+    json.put("caseInsensitive", obj.isCaseInsensitive());
+    json.put("expectedUsernames", obj.getExpectedUsernames());
+    json.put("falsePositiveRate", obj.getFalsePositiveRate());
+    json.put("rebuildInterval", obj.getRebuildInterval());
+  }
+}
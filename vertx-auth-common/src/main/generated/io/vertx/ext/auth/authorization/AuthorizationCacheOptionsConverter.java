@@ -0,0 +1,53 @@
+package io.vertx.ext.auth.authorization;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.impl.JsonUtil;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.auth.authorization.AuthorizationCacheOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.authorization.AuthorizationCacheOptions} original class using Vert.x codegen.
+ */
+public class AuthorizationCacheOptionsConverter {
+
+
+  private static final Base64.Decoder BASE64_DECODER = JsonUtil.BASE64_DECODER;
+  private static final Base64.Encoder BASE64_ENCODER = JsonUtil.BASE64_ENCODER;
+
+  public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, AuthorizationCacheOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "ttl":
+          if (member.getValue() instanceof Number) {
+            obj.setTtl(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "usernameKey":
+          if (member.getValue() instanceof String) {
+            obj.setUsernameKey((String)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+  public static void toJson(AuthorizationCacheOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+  public static void toJson(AuthorizationCacheOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxSize", obj.getMaxSize());
+    json.put("ttl", obj.getTtl());
+    if (obj.getUsernameKey() != null) {
+      json.put("usernameKey", obj.getUsernameKey());
+    }
+  }
+}
@@ -16,10 +16,15 @@
 
 package examples;
 
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.*;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
@@ -107,6 +112,42 @@ public class AuthCommonExamples {
       .add(propertiesAuthProvider);
   }
 
+  public void example10(Vertx vertx, AuthenticationProvider ldapAuthProvider, AuthenticationProvider sqlAuthProvider, AuthenticationProvider oauth2AuthProvider) {
+    // users will be checked on all providers at once
+    // the first success completes the operation
+    ChainAuth auth = ChainAuth.create(
+        vertx,
+        new ChainAuthOptions()
+          .setParallel(true)
+          // each provider has at most 2 seconds
+          .setTimeout(2000))
+      .add(ldapAuthProvider, UsernamePasswordCredentials.class)
+      .add(sqlAuthProvider, UsernamePasswordCredentials.class)
+      // tokens are only checked on this provider
+      .add(oauth2AuthProvider, TokenCredentials.class);
+
+    // calls, successes, failures, timeouts and latency of each provider
+    JsonObject metrics = auth.metrics();
+  }
+
+  public void example11(Vertx vertx, Iterable<String> usernames) {
+    UsernameFilter filter = UsernameFilter.create(
+      vertx,
+      new UsernameFilterOptions()
+        .setExpectedUsernames(1_000_000)
+        .setFalsePositiveRate(0.001)
+        // reload the usernames every hour
+        .setRebuildInterval(3_600_000),
+      sink -> {
+        // list all the usernames of the user store
+        usernames.forEach(sink::handle);
+        return Future.succeededFuture();
+      });
+
+    // ready, usernames, memoryBytes, lookups, rejections, rebuilds...
+    JsonObject metrics = filter.metrics();
+  }
+
   public void example9(User user) {
 
     // check if user has a well known property
@@ -16,8 +16,12 @@
 package io.vertx.ext.auth;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.impl.ChainAuthImpl;
 
 /**
@@ -43,7 +47,7 @@ public interface ChainAuth extends AuthenticationProvider {
    * @return the auth provider
    */
   static ChainAuth all() {
-    return new ChainAuthImpl(true);
+    return new ChainAuthImpl(null, new ChainAuthOptions().setAll(true));
   }
 
   /**
@@ -52,7 +56,19 @@ public interface ChainAuth extends AuthenticationProvider {
    * @return the auth provider
    */
   static ChainAuth any() {
-    return new ChainAuthImpl(false);
+    return new ChainAuthImpl(null, new ChainAuthOptions());
+  }
+
+  /**
+   * Create a Chainable Auth Provider auth provider with the given options, for example to call the providers
+   * concurrently or to limit the time each provider has to authenticate a user.
+   *
+   * @param vertx the vertx instance, used for the timeouts
+   * @param options the chain options
+   * @return the auth provider
+   */
+  static ChainAuth create(Vertx vertx, ChainAuthOptions options) {
+    return new ChainAuthImpl(vertx, options);
   }
 
   /**
@@ -63,4 +79,27 @@ public interface ChainAuth extends AuthenticationProvider {
    */
   @Fluent
   ChainAuth add(AuthenticationProvider other);
+
+  /**
+   * Appends a auth provider to the chain that only authenticates credentials of the given type. Other credentials skip
+   * the provider, for example a token never reaches a provider that only handles passwords. The type is only known
+   * when authenticating with {@link Credentials}, credentials as JSON are always passed to the provider.
+   * <p>
+   * In <em>all</em> mode every provider must succeed, so credentials of another type fail the chain.
+   *
+   * @param other auth provider
+   * @param credentialsType the type of the credentials handled by the provider
+   * @return self
+   */
+  @Fluent
+  @GenIgnore
+  ChainAuth add(AuthenticationProvider other, Class<? extends Credentials> credentialsType);
+
+  /**
+   * The metrics of each provider, in the order they were added: {@code calls}, {@code successes}, {@code failures},
+   * {@code timeouts} and the {@code averageLatency} and {@code maxLatency} of the completed calls in milliseconds.
+   *
+   * @return a snapshot of the metrics as {@code {"providers": [...]}}
+   */
+  JsonObject metrics();
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options to configure a {@link ChainAuth}.
+ */
+@DataObject(generateConverter = true)
+public class ChainAuthOptions {
+
+  private boolean all;
+  private boolean parallel;
+  private long timeout;
+
+  public ChainAuthOptions() {
+  }
+
+  public ChainAuthOptions(ChainAuthOptions other) {
+    this.all = other.all;
+    this.parallel = other.parallel;
+    this.timeout = other.timeout;
+  }
+
+  public ChainAuthOptions(JsonObject json) {
+    ChainAuthOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    final JsonObject json = new JsonObject();
+    ChainAuthOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  public boolean isAll() {
+    return all;
+  }
+
+  /**
+   * When {@code true} all providers must succeed and their users are merged, otherwise the first success resolves the
+   * chain. The default is {@code false}.
+   *
+   * @param all {@code true} to require all providers
+   * @return fluent self
+   */
+  public ChainAuthOptions setAll(boolean all) {
+    this.all = all;
+    return this;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * When {@code true} all providers are called at once instead of one after the other. In <em>any</em> mode the first
+   * success resolves the chain and the other results are ignored. In <em>all</em> mode the first failure fails the
+   * chain, otherwise the users are merged in the order the providers were added. The default is {@code false}.
+   *
+   * @param parallel {@code true} to call the providers concurrently
+   * @return fluent self
+   */
+  public ChainAuthOptions setParallel(boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * The time in milliseconds a provider has to authenticate a user, after which the attempt is considered failed and
+   * its late result is ignored. The default {@code 0} waits for ever.
+   *
+   * @param timeout the timeout of each provider in milliseconds
+   * @return fluent self
+   */
+  public ChainAuthOptions setTimeout(long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout must be >= 0");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return toJson().encode();
+  }
+}
@@ -16,8 +16,13 @@
 package io.vertx.ext.auth;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.impl.HashingStrategyImpl;
+import io.vertx.ext.auth.impl.HashingWorker;
 
 import java.util.Map;
 import java.util.ServiceLoader;
@@ -69,6 +74,48 @@ public interface HashingStrategy {
    */
   boolean verify(String hash, String password);
 
+  /**
+   * Hashes a password on the hashing worker pool of the given Vert.x instance, instead of the calling thread.
+   *
+   * @param vertx the vertx instance
+   * @param id the algorithm id
+   * @param params the algorithm specific parameters
+   * @param salt the given salt
+   * @param password the given password
+   * @return a future with the hashed string
+   */
+  @GenIgnore
+  default Future<String> hash(Vertx vertx, String id, Map<String, String> params, String salt, String password) {
+    return HashingWorker.get(vertx).hash(this, id, params, salt, password);
+  }
+
+  /**
+   * Time constant password check, executed on the hashing worker pool of the given Vert.x instance, so slow
+   * algorithms never block an event loop. The pool is bounded and so is the number of pending checks, when too many
+   * checks are pending the returned future fails immediately.
+   *
+   * @param vertx the vertx instance
+   * @param hash the hash to verify
+   * @param password the password to test against
+   * @return a future with the result of the check
+   */
+  @GenIgnore
+  default Future<Boolean> verify(Vertx vertx, String hash, String password) {
+    return HashingWorker.get(vertx).verify(this, hash, password);
+  }
+
+  /**
+   * A snapshot of the metrics of the hashing worker pool of the given Vert.x instance: {@code poolSize},
+   * {@code queueMax}, {@code pending}, {@code executions}, {@code rejections}, {@code totalNanos}, {@code maxNanos}
+   * and {@code meanNanos}.
+   *
+   * @param vertx the vertx instance
+   * @return the metrics
+   */
+  static JsonObject metrics(Vertx vertx) {
+    return HashingWorker.get(vertx).metrics();
+  }
+
   /**
    * Get an algorithm interface by its Id
    * @param id the algorithm id
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.impl.BloomUsernameFilter;
+
+import java.util.function.Function;
+
+/**
+ * A probabilistic set of the known usernames of a user store (a Bloom filter). Authentication providers configured
+ * with a filter reject the usernames that are definitely unknown without querying the store, which is what most
+ * attempts of a credential stuffing attack look like. Known usernames, and a small rate of unknown ones, are looked up
+ * as usual.
+ * <p>
+ * The filter is loaded from the user store when created and, optionally, rebuilt periodically. Until the first load
+ * completes all usernames are looked up. Usernames created with the user utilities of the providers are added right
+ * away when the utility is given the filter.
+ */
+@VertxGen
+public interface UsernameFilter {
+
+  /**
+   * Create a filter and start loading it.
+   *
+   * @param vertx   the vertx instance
+   * @param options the filter options
+   * @param loader  calls the given handler with each username of the user store, the returned future completes once
+   *                all usernames are loaded
+   * @return the filter
+   */
+  @GenIgnore
+  static UsernameFilter create(Vertx vertx, UsernameFilterOptions options, Function<Handler<String>, Future<Void>> loader) {
+    return new BloomUsernameFilter(vertx, options, loader);
+  }
+
+  /**
+   * Add a username, e.g.: after creating a user.
+   *
+   * @param username the username
+   * @return fluent self
+   */
+  @Fluent
+  UsernameFilter add(String username);
+
+  /**
+   * Check if a username may be known.
+   *
+   * @param username the username
+   * @return {@code false} when the username is definitely unknown
+   */
+  boolean mightContain(String username);
+
+  /**
+   * Load the filter again from the user store. The current filter is used until the new one is loaded. Concurrent
+   * calls share the same rebuild.
+   *
+   * @return a future completed once the new filter is in use
+   */
+  Future<Void> rebuild();
+
+  /**
+   * A snapshot of the filter metrics: {@code ready}, {@code usernames}, {@code bits}, {@code hashFunctions},
+   * {@code memoryBytes}, {@code falsePositiveRate} (as configured), {@code lookups}, {@code rejections},
+   * {@code rebuilds}, {@code rebuildFailures}, {@code lastRebuildTime} (epoch millis) and {@code lastRebuildDuration}
+   * (millis).
+   *
+   * @return the metrics
+   */
+  JsonObject metrics();
+
+  /**
+   * Stop the periodic rebuilds.
+   */
+  void close();
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authentication;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options to configure a {@link UsernameFilter}.
+ */
+@DataObject(generateConverter = true)
+public class UsernameFilterOptions {
+
+  private static final long DEFAULT_EXPECTED_USERNAMES = 100_000L;
+  private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+  private long expectedUsernames;
+  private double falsePositiveRate;
+  private long rebuildInterval;
+  private boolean caseInsensitive;
+
+  public UsernameFilterOptions() {
+    expectedUsernames = DEFAULT_EXPECTED_USERNAMES;
+    falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+  }
+
+  public UsernameFilterOptions(UsernameFilterOptions other) {
+    this.expectedUsernames = other.expectedUsernames;
+    this.falsePositiveRate = other.falsePositiveRate;
+    this.rebuildInterval = other.rebuildInterval;
+    this.caseInsensitive = other.caseInsensitive;
+  }
+
+  public UsernameFilterOptions(JsonObject json) {
+    this();
+    UsernameFilterOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    final JsonObject json = new JsonObject();
+    UsernameFilterOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  public long getExpectedUsernames() {
+    return expectedUsernames;
+  }
+
+  /**
+   * The number of usernames the filter is sized for. When more usernames are loaded the false positive rate grows, so
+   * a rebuild sizes the filter for the usernames it had, if they are more. The default is {@code 100000}.
+   *
+   * @param expectedUsernames the expected number of usernames
+   * @return fluent self
+   */
+  public UsernameFilterOptions setExpectedUsernames(long expectedUsernames) {
+    if (expectedUsernames <= 0) {
+      throw new IllegalArgumentException("expectedUsernames must be > 0");
+    }
+    this.expectedUsernames = expectedUsernames;
+    return this;
+  }
+
+  public double getFalsePositiveRate() {
+    return falsePositiveRate;
+  }
+
+  /**
+   * The probability that an unknown username isn't rejected by the filter, and is looked up in the user store. Lower
+   * rates use more memory, about 1.2 bytes per username at {@code 0.01} and 1.8 bytes at {@code 0.001}. The default
+   * is {@code 0.01}.
+   *
+   * @param falsePositiveRate the false positive rate, between {@code 0} and {@code 1} exclusive
+   * @return fluent self
+   */
+  public UsernameFilterOptions setFalsePositiveRate(double falsePositiveRate) {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException("falsePositiveRate must be > 0 and < 1");
+    }
+    this.falsePositiveRate = falsePositiveRate;
+    return this;
+  }
+
+  public long getRebuildInterval() {
+    return rebuildInterval;
+  }
+
+  /**
+   * The time in milliseconds between rebuilds of the filter from the user store, which drops deleted usernames and
+   * adds the usernames created outside of the user utilities. The default {@code 0} never rebuilds.
+   *
+   * @param rebuildInterval the rebuild interval in milliseconds
+   * @return fluent self
+   */
+  public UsernameFilterOptions setRebuildInterval(long rebuildInterval) {
+    if (rebuildInterval < 0) {
+      throw new IllegalArgumentException("rebuildInterval must be >= 0");
+    }
+    this.rebuildInterval = rebuildInterval;
+    return this;
+  }
+
+  public boolean isCaseInsensitive() {
+    return caseInsensitive;
+  }
+
+  /**
+   * Whether usernames that only differ in case are the same. Set it when the user store matches usernames ignoring the
+   * case, e.g.: LDAP or a case insensitive SQL collation, otherwise these usernames are rejected. The usernames are
+   * lower cased both when they are added and looked up. The default {@code false} compares the usernames as they are.
+   *
+   * @param caseInsensitive {@code true} to ignore the case of the usernames
+   * @return fluent self
+   */
+  public UsernameFilterOptions setCaseInsensitive(boolean caseInsensitive) {
+    this.caseInsensitive = caseInsensitive;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return toJson().encode();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options describing how a {@link CachingAuthorizationProvider} should behave.
+ */
+@DataObject(generateConverter = true)
+public class AuthorizationCacheOptions {
+
+  // Defaults
+  private static final int DEFAULT_MAX_SIZE = 1000;
+  private static final long DEFAULT_TTL = 60_000L;
+  private static final String DEFAULT_USERNAME_KEY = "username";
+
+  private int maxSize;
+  private long ttl;
+  private String usernameKey;
+
+  /**
+   * Default constructor
+   */
+  public AuthorizationCacheOptions() {
+    maxSize = DEFAULT_MAX_SIZE;
+    ttl = DEFAULT_TTL;
+    usernameKey = DEFAULT_USERNAME_KEY;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other the options to copy
+   */
+  public AuthorizationCacheOptions(AuthorizationCacheOptions other) {
+    maxSize = other.getMaxSize();
+    ttl = other.getTtl();
+    usernameKey = other.getUsernameKey();
+  }
+
+  /**
+   * Constructor to create an options from JSON
+   *
+   * @param json the JSON
+   */
+  public AuthorizationCacheOptions(JsonObject json) {
+    this();
+    AuthorizationCacheOptionsConverter.fromJson(json, this);
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * The max number of users kept in the cache, the least recently used are evicted first. Default {@code 1000}.
+   *
+   * @param maxSize the max number of users
+   * @return fluent self
+   */
+  @Fluent
+  public AuthorizationCacheOptions setMaxSize(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  public long getTtl() {
+    return ttl;
+  }
+
+  /**
+   * The time the authorizations of a user are kept in the cache. Default {@code 60000}.
+   *
+   * @param ttl time in milliseconds
+   * @return fluent self
+   */
+  @Fluent
+  public AuthorizationCacheOptions setTtl(long ttl) {
+    if (ttl <= 0) {
+      throw new IllegalArgumentException("ttl must be > 0");
+    }
+    this.ttl = ttl;
+    return this;
+  }
+
+  public String getUsernameKey() {
+    return usernameKey;
+  }
+
+  /**
+   * The principal property that identifies the user. Users without this property are never cached.
+   * Default {@code username}.
+   *
+   * @param usernameKey the principal property name
+   * @return fluent self
+   */
+  @Fluent
+  public AuthorizationCacheOptions setUsernameKey(String usernameKey) {
+    this.usernameKey = usernameKey;
+    return this;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    AuthorizationCacheOptionsConverter.toJson(this, json);
+    return json;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authorization.impl.CachingAuthorizationProviderImpl;
+
+/**
+ * An {@link AuthorizationProvider} that caches the authorizations loaded by another provider, per user.
+ * <p>
+ * Entries expire after a configurable time and the least recently used are evicted when the cache is full. Concurrent
+ * requests for the same user that is not cached share a single call to the wrapped provider. Failures are never
+ * cached. The authorizations are added to the user under the wrapped provider id.
+ */
+@VertxGen
+public interface CachingAuthorizationProvider extends AuthorizationProvider {
+
+  /**
+   * Wrap a provider with a cache using the default options.
+   *
+   * @param provider the provider to cache
+   * @return the caching provider
+   */
+  static CachingAuthorizationProvider create(AuthorizationProvider provider) {
+    return create(provider, new AuthorizationCacheOptions());
+  }
+
+  /**
+   * Wrap a provider with a cache.
+   *
+   * @param provider the provider to cache
+   * @param options  the cache options
+   * @return the caching provider
+   */
+  static CachingAuthorizationProvider create(AuthorizationProvider provider, AuthorizationCacheOptions options) {
+    return new CachingAuthorizationProviderImpl(provider, options);
+  }
+
+  /**
+   * Remove the cached authorizations of a user, for example after the roles of the user have been changed.
+   *
+   * @param username the username
+   * @return fluent self
+   */
+  @Fluent
+  CachingAuthorizationProvider invalidate(String username);
+
+  /**
+   * Remove all cached authorizations.
+   *
+   * @return fluent self
+   */
+  @Fluent
+  CachingAuthorizationProvider invalidateAll();
+
+  /**
+   * A snapshot of the cache metrics: {@code size}, {@code maxSize}, {@code hits}, {@code misses},
+   * {@code evictions}, {@code loads} and {@code loadFailures}.
+   *
+   * @return the metrics
+   */
+  JsonObject metrics();
+}
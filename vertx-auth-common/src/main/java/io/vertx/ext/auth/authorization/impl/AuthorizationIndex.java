@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.ext.auth.authorization.Authorization;
+
+import java.util.*;
+
+/**
+ * A read only index over the granted authorizations of a user, so a required role or permission is matched with a
+ * few hash lookups instead of calling {@link Authorization#verify(Authorization)} on every grant.
+ * <p>
+ * Roles and permissions are indexed by name and resource, wildcard permissions are compiled into a
+ * {@link WildcardPermissionTrie}. Grants that cannot be indexed (composite, custom or subclassed authorizations) are
+ * still verified one by one, so the result is always the same as the linear scan.
+ * <p>
+ * Grants are mutable, changing the resource of an indexed grant makes the indexes it is part of stale, so they are
+ * rebuilt on their next use.
+ */
+final class AuthorizationIndex {
+
+  // name -> resources (a null resource is a grant without resource)
+  private final Map<String, Set<String>> roles = new HashMap<>();
+  private final Map<String, Set<String>> permissions = new HashMap<>();
+  private final WildcardPermissionTrie wildcards = new WildcardPermissionTrie();
+  // grants that are not indexed
+  private final List<Authorization> others = new ArrayList<>();
+  private final List<Authorization> all = new ArrayList<>();
+  // set when an indexed grant changes
+  private volatile boolean stale;
+
+  AuthorizationIndex(Collection<? extends Set<Authorization>> grants) {
+    for (Set<Authorization> set : grants) {
+      for (Authorization grant : set) {
+        all.add(grant);
+        // subclasses may override verify, so only the exact implementations are indexed
+        if (grant.getClass() == RoleBasedAuthorizationImpl.class) {
+          RoleBasedAuthorizationImpl role = (RoleBasedAuthorizationImpl) grant;
+          // registered before the resource is read, a concurrent change marks this index stale
+          role.listeners.add(this);
+          roles.computeIfAbsent(role.getRole(), k -> new HashSet<>()).add(role.getResource());
+        } else if (grant.getClass() == PermissionBasedAuthorizationImpl.class) {
+          PermissionBasedAuthorizationImpl permission = (PermissionBasedAuthorizationImpl) grant;
+          permission.listeners.add(this);
+          permissions.computeIfAbsent(permission.getPermission(), k -> new HashSet<>()).add(permission.getResource());
+        } else if (grant.getClass() == WildcardPermissionBasedAuthorizationImpl.class) {
+          WildcardPermissionBasedAuthorizationImpl wildcard = (WildcardPermissionBasedAuthorizationImpl) grant;
+          wildcard.listeners.add(this);
+          wildcards.add(wildcard.wildcardExpression().parts(), wildcard.getResource());
+        } else {
+          others.add(grant);
+        }
+      }
+    }
+  }
+
+  void invalidate() {
+    stale = true;
+  }
+
+  /**
+   * @return {@code true} when an indexed grant may have changed since this index was built.
+   */
+  boolean isStale() {
+    return stale;
+  }
+
+  /**
+   * Same as calling {@link Authorization#verify(Authorization)} on all grants until one returns {@code true}.
+   */
+  boolean verify(Authorization required) {
+    if (required instanceof RoleBasedAuthorizationImpl) {
+      RoleBasedAuthorizationImpl role = (RoleBasedAuthorizationImpl) required;
+      if (contains(roles, role.getRole(), role.getResource())) {
+        return true;
+      }
+    } else if (required instanceof PermissionBasedAuthorizationImpl) {
+      PermissionBasedAuthorizationImpl permission = (PermissionBasedAuthorizationImpl) required;
+      if (contains(permissions, permission.getPermission(), permission.getResource())) {
+        return true;
+      }
+      if (wildcards.size() > 0 && wildcards.implies(permission.getPermission(), permission.getResource())) {
+        return true;
+      }
+    } else if (required instanceof WildcardPermissionBasedAuthorizationImpl) {
+      WildcardPermissionBasedAuthorizationImpl wildcard = (WildcardPermissionBasedAuthorizationImpl) required;
+      if (contains(permissions, wildcard.getPermission(), wildcard.getResource())) {
+        return true;
+      }
+      if (wildcards.size() > 0 && wildcards.implies(wildcard.getPermission(), wildcard.getResource())) {
+        return true;
+      }
+    } else {
+      // composite or custom requirements are verified against every grant
+      return verifyAll(all, required);
+    }
+
+    return verifyAll(others, required);
+  }
+
+  private static boolean contains(Map<String, Set<String>> index, String name, String resource) {
+    final Set<String> resources = index.get(name);
+    return resources != null && resources.contains(resource);
+  }
+
+  private static boolean verifyAll(List<Authorization> grants, Authorization required) {
+    for (Authorization grant : grants) {
+      if (grant.verify(required)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
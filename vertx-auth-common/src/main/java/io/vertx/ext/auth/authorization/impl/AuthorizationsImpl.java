@@ -12,8 +12,10 @@
  ********************************************************************************/
 package io.vertx.ext.auth.authorization.impl;
 
+import java.util.AbstractSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -23,7 +25,13 @@ import io.vertx.ext.auth.authorization.Authorizations;
 
 public class AuthorizationsImpl implements Authorizations {
 
+  // below this number of grants a linear scan is cheaper than building the index
+  private static final int INDEX_THRESHOLD = 8;
+
   private final Map<String, Set<Authorization>> authorizations;
+  // built on demand and dropped on any change, including changes through the sets returned by get() and changes of
+  // the granted authorizations
+  private volatile AuthorizationIndex index;
 
   public AuthorizationsImpl() {
     this.authorizations = new HashMap<>();
@@ -52,12 +60,14 @@ public class AuthorizationsImpl implements Authorizations {
     Objects.requireNonNull(providerId);
 
     authorizations.remove(providerId);
+    index = null;
     return this;
   }
 
   @Override
   public Authorizations clear() {
     authorizations.clear();
+    index = null;
     return this;
   }
 
@@ -80,7 +90,42 @@ public class AuthorizationsImpl implements Authorizations {
   }
 
   private Set<Authorization> getOrCreateAuthorizations(String providerId) {
-    return authorizations.computeIfAbsent(providerId, k -> new HashSet<>());
+    return authorizations.computeIfAbsent(providerId, k -> new IndexedSet());
+  }
+
+  /**
+   * Verify a required authorization against all the grants, same as calling {@link Authorization#verify(Authorization)}
+   * on each grant, but using the index when there are enough grants to make it worth it.
+   */
+  static boolean verify(Authorizations authorizations, Authorization required) {
+    if (authorizations instanceof AuthorizationsImpl) {
+      final AuthorizationsImpl impl = (AuthorizationsImpl) authorizations;
+      AuthorizationIndex index = impl.index;
+      if (index != null || impl.size() >= INDEX_THRESHOLD) {
+        if (index == null || index.isStale()) {
+          index = new AuthorizationIndex(impl.authorizations.values());
+          impl.index = index;
+        }
+        return index.verify(required);
+      }
+    }
+
+    for (String providerId : authorizations.getProviderIds()) {
+      for (Authorization authorization : authorizations.get(providerId)) {
+        if (authorization.verify(required)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private int size() {
+    int size = 0;
+    for (Set<Authorization> set : authorizations.values()) {
+      size += set.size();
+    }
+    return size;
   }
 
   @Override
@@ -96,4 +141,67 @@ public class AuthorizationsImpl implements Authorizations {
     return result;
   }
 
+  /**
+   * A set that drops the index when modified.
+   */
+  private final class IndexedSet extends AbstractSet<Authorization> {
+
+    private final Set<Authorization> delegate = new HashSet<>();
+
+    @Override
+    public boolean add(Authorization authorization) {
+      if (delegate.add(authorization)) {
+        index = null;
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (delegate.remove(o)) {
+        index = null;
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return delegate.contains(o);
+    }
+
+    @Override
+    public void clear() {
+      delegate.clear();
+      index = null;
+    }
+
+    @Override
+    public Iterator<Authorization> iterator() {
+      final Iterator<Authorization> iterator = delegate.iterator();
+      return new Iterator<Authorization>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Authorization next() {
+          return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+          iterator.remove();
+          index = null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return delegate.size();
+    }
+  }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.AuthorizationCacheOptions;
+import io.vertx.ext.auth.authorization.AuthorizationProvider;
+import io.vertx.ext.auth.authorization.CachingAuthorizationProvider;
+import io.vertx.ext.auth.impl.LRUCache;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CachingAuthorizationProviderImpl implements CachingAuthorizationProvider {
+
+  private final AuthorizationProvider provider;
+  private final long ttl;
+  private final String usernameKey;
+
+  private final LRUCache<String, Set<Authorization>> cache;
+  // the loads in progress (guarded by itself)
+  private final Map<String, Future<Set<Authorization>>> loading = new HashMap<>();
+
+  private final AtomicLong loads = new AtomicLong();
+  private final AtomicLong loadFailures = new AtomicLong();
+
+  public CachingAuthorizationProviderImpl(AuthorizationProvider provider, AuthorizationCacheOptions options) {
+    this.provider = Objects.requireNonNull(provider);
+    this.ttl = options.getTtl();
+    this.usernameKey = Objects.requireNonNull(options.getUsernameKey());
+    this.cache = new LRUCache<>(options.getMaxSize());
+  }
+
+  @Override
+  public String getId() {
+    return provider.getId();
+  }
+
+  @Override
+  public void getAuthorizations(User user, Handler<AsyncResult<Void>> handler) {
+    final String username = user.principal().getString(usernameKey);
+
+    if (username == null) {
+      // no way to identify the user, don't cache
+      provider.getAuthorizations(user, handler);
+      return;
+    }
+
+    final Set<Authorization> cached = cache.get(username);
+    if (cached != null) {
+      user.authorizations().add(getId(), cached);
+      handler.handle(Future.succeededFuture());
+      return;
+    }
+
+    load(username, user)
+      .<Void>map(authorizations -> {
+        user.authorizations().add(getId(), authorizations);
+        return null;
+      })
+      .onComplete(handler);
+  }
+
+  private Future<Set<Authorization>> load(String username, User user) {
+    final Promise<Set<Authorization>> promise;
+
+    synchronized (loading) {
+      final Future<Set<Authorization>> inflight = loading.get(username);
+      if (inflight != null) {
+        return inflight;
+      }
+      promise = Promise.promise();
+      loading.put(username, promise.future());
+    }
+
+    loads.incrementAndGet();
+    // load on a copy, so the wrapped provider result can be captured without touching the user
+    final User copy = User.create(user.principal().copy(), user.attributes().copy());
+
+    provider.getAuthorizations(copy, res -> {
+      final boolean current;
+      synchronized (loading) {
+        // an invalidation during the load discards the result
+        current = loading.remove(username, promise.future());
+      }
+
+      if (res.failed()) {
+        loadFailures.incrementAndGet();
+        promise.fail(res.cause());
+        return;
+      }
+
+      final Set<Authorization> loaded = copy.authorizations().get(provider.getId());
+      final Set<Authorization> authorizations = loaded == null ?
+        Collections.emptySet() :
+        Collections.unmodifiableSet(new HashSet<>(loaded));
+
+      if (current) {
+        cache.put(username, authorizations, System.currentTimeMillis() + ttl);
+      }
+      promise.complete(authorizations);
+    });
+
+    return promise.future();
+  }
+
+  @Override
+  public CachingAuthorizationProvider invalidate(String username) {
+    synchronized (loading) {
+      loading.remove(username);
+    }
+    cache.remove(username);
+    return this;
+  }
+
+  @Override
+  public CachingAuthorizationProvider invalidateAll() {
+    synchronized (loading) {
+      loading.clear();
+    }
+    cache.clear();
+    return this;
+  }
+
+  @Override
+  public JsonObject metrics() {
+    return cache.metrics()
+      .put("loads", loads.get())
+      .put("loadFailures", loadFailures.get());
+  }
+}
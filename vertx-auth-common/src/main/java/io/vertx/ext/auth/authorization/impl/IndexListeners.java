@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link AuthorizationIndex}es a mutable grant is part of. When the grant changes only these indexes are marked
+ * stale, indexes of other users are left alone.
+ * <p>
+ * Indexes are weakly referenced, an index dropped by its {@link AuthorizationsImpl} is not kept alive by the grants
+ * it contains.
+ */
+final class IndexListeners {
+
+  // most grants are never indexed, the list is created on first use
+  private List<WeakReference<AuthorizationIndex>> indexes;
+
+  synchronized void add(AuthorizationIndex index) {
+    if (indexes == null) {
+      indexes = new ArrayList<>(1);
+    } else {
+      // forget the indexes that are gone or already rebuilt
+      indexes.removeIf(ref -> {
+        final AuthorizationIndex i = ref.get();
+        return i == null || i.isStale();
+      });
+    }
+    indexes.add(new WeakReference<>(index));
+  }
+
+  synchronized void mutated() {
+    if (indexes != null) {
+      for (WeakReference<AuthorizationIndex> ref : indexes) {
+        final AuthorizationIndex index = ref.get();
+        if (index != null) {
+          index.invalidate();
+        }
+      }
+      indexes = null;
+    }
+  }
+}
@@ -24,6 +24,8 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
 
   private final String permission;
   private VariableAwareExpression resource;
+  // the indexes this grant is part of
+  final IndexListeners listeners = new IndexListeners();
 
   public PermissionBasedAuthorizationImpl(String permission) {
     this.permission = Objects.requireNonNull(permission);
@@ -56,13 +58,7 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
     User user = context.user();
     if (user != null) {
       Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      for (String providerId: user.authorizations().getProviderIds()) {
-        for (Authorization authorization : user.authorizations().get(providerId)) {
-          if (authorization.verify(resolvedAuthorization)) {
-            return true;
-          }
-        }
-      }
+      return AuthorizationsImpl.verify(user.authorizations(), resolvedAuthorization);
     }
     return false;
   }
@@ -108,6 +104,7 @@ public class PermissionBasedAuthorizationImpl implements PermissionBasedAuthoriz
   public PermissionBasedAuthorization setResource(String resource) {
     Objects.requireNonNull(resource);
     this.resource = new VariableAwareExpression(resource);
+    listeners.mutated();
     return this;
   }
 
@@ -23,6 +23,8 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
 
   private final String role;
   private VariableAwareExpression resource;
+  // the indexes this grant is part of
+  final IndexListeners listeners = new IndexListeners();
 
   public RoleBasedAuthorizationImpl(String role) {
     this.role = Objects.requireNonNull(role);
@@ -55,13 +57,7 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
     User user = context.user();
     if (user != null) {
       Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      for (String providerId: user.authorizations().getProviderIds()) {
-        for (Authorization authorization : user.authorizations().get(providerId)) {
-          if (authorization.verify(resolvedAuthorization)) {
-            return true;
-          }
-        }
-      }
+      return AuthorizationsImpl.verify(user.authorizations(), resolvedAuthorization);
     }
     return false;
   }
@@ -98,6 +94,7 @@ public class RoleBasedAuthorizationImpl implements RoleBasedAuthorization {
   public RoleBasedAuthorization setResource(String resource) {
     Objects.requireNonNull(resource);
     this.resource = new VariableAwareExpression(resource);
+    listeners.mutated();
     return this;
   }
 
@@ -134,6 +134,9 @@ class WildcardExpression {
   ============================================*/
   private List<Set<String>> parts;
   private final String value;
+  // the parts as arrays, so implies(String) doesn't allocate
+  private String[][] tokens;
+  private boolean[] wildcards;
 
   /*--------------------------------------------
   |         C O N S T R U C T O R S           |
@@ -181,8 +184,28 @@ class WildcardExpression {
     if (value.equals(p)) {
       return true;
     }
-    // slightly slower path where we've got to convert 'p' to a wildcard
-    return implies(new WildcardExpression(p));
+    // slightly slower path where 'p' is scanned in place, with the same rules as the parser
+    final int end = end(p);
+    int i = 0;
+    for (int from = start(p); from <= end; from = partEnd(p, from, end) + 1) {
+      // If this permission has less parts than the other permission, everything after
+      // the number of parts contained in this permission is automatically implied
+      if (tokens.length - 1 < i) {
+        return true;
+      }
+      if (!wildcards[i] && !containsAll(tokens[i], p, from, partEnd(p, from, end))) {
+        return false;
+      }
+      i++;
+    }
+    // If this permission has more parts than the other parts, only imply it if all
+    // of the other parts are wildcards
+    for (; i < tokens.length; i++) {
+      if (!wildcards[i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public boolean implies(WildcardExpression p) {
@@ -241,6 +264,110 @@ class WildcardExpression {
       throw new IllegalArgumentException(
           "Wildcard string cannot contain only dividers. Make sure permission strings are properly formatted.");
     }
+
+    this.tokens = new String[parts.size()][];
+    this.wildcards = new boolean[parts.size()];
+    for (int i = 0; i < parts.size(); i++) {
+      tokens[i] = parts.get(i).toArray(new String[0]);
+      wildcards[i] = parts.get(i).contains(WILDCARD_TOKEN);
+    }
+  }
+
+  /*--------------------------------------------
+  |    I N - P L A C E   S C A N N I N G      |
+  ============================================*/
+
+  // The following helpers walk a wildcard string without allocating, following the same rules as setParts() (and
+  // String#split, which drops trailing empty strings). A part is the range [from, partEnd(from)), the parts of a
+  // string start at start() and continue while from <= end().
+
+  /**
+   * The start of the first part, after leading whitespace.
+   */
+  static int start(String p) {
+    int start = 0;
+    while (start < p.length() && p.charAt(start) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  /**
+   * The end of the last part, without trailing whitespace and part dividers. Malformed strings are rejected with the
+   * same errors as the constructor.
+   */
+  static int end(String p) {
+    final int start = start(p);
+    int end = p.length();
+    while (end > start && p.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (end == start) {
+      throw new IllegalArgumentException(p.isEmpty() ? "Wildcard value cannot be empty" : "Wildcard string cannot be empty");
+    }
+    while (end > start && p.charAt(end - 1) == ':') {
+      end--;
+    }
+    if (end == start) {
+      throw new IllegalArgumentException(
+        "Wildcard string cannot contain only dividers. Make sure permission strings are properly formatted.");
+    }
+    for (int from = start; from <= end; from = partEnd(p, from, end) + 1) {
+      final int to = partEnd(p, from, end);
+      if (to > from && subpartsEnd(p, from, to) == from) {
+        throw new IllegalArgumentException(
+          "Wildcard string cannot contain parts with only dividers. Make sure permission strings are properly formatted.");
+      }
+    }
+    return end;
+  }
+
+  static int partEnd(String p, int from, int end) {
+    final int idx = p.indexOf(':', from);
+    return idx == -1 || idx > end ? end : idx;
+  }
+
+  /**
+   * The end of the subparts of the part [from, to), without trailing subpart dividers. An empty part has a single
+   * empty subpart.
+   */
+  static int subpartsEnd(String p, int from, int to) {
+    while (to > from && p.charAt(to - 1) == ',') {
+      to--;
+    }
+    return to;
+  }
+
+  static int subpartEnd(String p, int from, int to) {
+    final int idx = p.indexOf(',', from);
+    return idx == -1 || idx > to ? to : idx;
+  }
+
+  /**
+   * Does the array contain all the subparts of the part [from, to)?
+   */
+  static boolean containsAll(String[] tokens, String p, int from, int to) {
+    final int end = subpartsEnd(p, from, to);
+    for (int s = from; s <= end; s = subpartEnd(p, s, end) + 1) {
+      if (!contains(tokens, p, s, subpartEnd(p, s, end))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean contains(String[] tokens, String p, int from, int to) {
+    final int len = to - from;
+    for (String token : tokens) {
+      if (token.length() == len && token.regionMatches(0, p, from, len)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  List<Set<String>> parts() {
+    return parts;
   }
 
   public String toString() {
@@ -24,6 +24,8 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
 
   private final String permission;
   private VariableAwareExpression resource;
+  // the indexes this grant is part of
+  final IndexListeners listeners = new IndexListeners();
   private final WildcardExpression wildcardPermission;
 
   public WildcardPermissionBasedAuthorizationImpl(String permission) {
@@ -58,13 +60,7 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
     User user = context.user();
     if (user != null) {
       Authorization resolvedAuthorization = getResolvedAuthorization(context);
-      for (String providerId: user.authorizations().getProviderIds()) {
-        for (Authorization authorization : user.authorizations().get(providerId)) {
-          if (authorization.verify(resolvedAuthorization)) {
-            return true;
-          }
-        }
-      }
+      return AuthorizationsImpl.verify(user.authorizations(), resolvedAuthorization);
     }
     return false;
   }
@@ -99,6 +95,10 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
     return WildcardPermissionBasedAuthorization.create(this.permission).setResource(resource.resolve(context));
   }
 
+  WildcardExpression wildcardExpression() {
+    return wildcardPermission;
+  }
+
   @Override
   public String getResource() {
     return resource != null ? resource.getValue() : null;
@@ -107,6 +107,7 @@ public class WildcardPermissionBasedAuthorizationImpl implements WildcardPermiss
   @Override
   public WildcardPermissionBasedAuthorization setResource(String resource) {
     this.resource = new VariableAwareExpression(Objects.requireNonNull(resource));
+    listeners.mutated();
     return this;
   }
 
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.authorization.impl;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * A set of granted wildcard permissions compiled into a trie of their parts. Checking if a permission is implied by
+ * any of the grants walks the permission string in place, following at each level the wildcard branch, the branch of
+ * the exact subpart and the branches of grants with multiple subparts, so a check neither allocates nor depends on the
+ * number of grants.
+ * <p>
+ * The result is the same as calling {@link WildcardPermissionBasedAuthorizationImpl#verify} on each grant. Segments
+ * are interned, so grants sharing parts (e.g. {@code printer:print} and {@code scanner:print}) share the strings.
+ * <p>
+ * Instances are not thread safe while grants are added.
+ */
+public final class WildcardPermissionTrie {
+
+  private final Node root = new Node();
+  private final Map<String, String> segments = new HashMap<>();
+  private int size;
+
+  /**
+   * Add a grant.
+   *
+   * @param permission the wildcard permission
+   * @param resource the resource of the grant, {@code null} grants any resource
+   * @return fluent self
+   */
+  public WildcardPermissionTrie add(String permission, String resource) {
+    add(new WildcardExpression(permission).parts(), resource);
+    return this;
+  }
+
+  void add(List<Set<String>> parts, String resource) {
+    Node node = root;
+    for (Set<String> part : parts) {
+      if (part.contains(WildcardExpression.WILDCARD_TOKEN)) {
+        if (node.star == null) {
+          node.star = new Node();
+        }
+        node = node.star;
+      } else if (part.size() == 1) {
+        node = node.child(intern(part.iterator().next()));
+      } else {
+        node = node.multi(part, this::intern);
+      }
+    }
+    if (node.resources == null) {
+      node.resources = new HashSet<>();
+    }
+    if (node.resources.add(resource)) {
+      size++;
+    }
+  }
+
+  /**
+   * @return the number of distinct grants
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Is the permission, for the given resource, implied by any of the grants?
+   *
+   * @param permission the required permission, plain or wildcard
+   * @param resource the required resource or {@code null}
+   * @return true when implied
+   * @throws IllegalArgumentException when the permission isn't a valid wildcard
+   */
+  public boolean implies(String permission, String resource) {
+    Objects.requireNonNull(permission);
+    return implies(root, permission, WildcardExpression.start(permission), WildcardExpression.end(permission), resource);
+  }
+
+  private static boolean implies(Node node, String p, int from, int end, String resource) {
+    if (node.grants(resource)) {
+      // the grant has no more parts than the requirement, the remaining parts are implied
+      return true;
+    }
+    if (from > end) {
+      // no more parts to match, only grants with trailing wildcards imply it
+      return node.star != null && implies(node.star, p, from, end, resource);
+    }
+
+    final int to = WildcardExpression.partEnd(p, from, end);
+    if (node.star != null && implies(node.star, p, to + 1, end, resource)) {
+      return true;
+    }
+    if (node.keys != null) {
+      final int subparts = WildcardExpression.subpartsEnd(p, from, to);
+      final int first = WildcardExpression.subpartEnd(p, from, subparts);
+      // a single grant subpart only contains all required subparts when they are the same
+      if (same(p, from, first, subparts)) {
+        final Node child = node.get(p, from, first);
+        if (child != null && implies(child, p, to + 1, end, resource)) {
+          return true;
+        }
+      }
+    }
+    if (node.multiTokens != null) {
+      for (int i = 0; i < node.multiTokens.length; i++) {
+        if (WildcardExpression.containsAll(node.multiTokens[i], p, from, to) && implies(node.multiNodes[i], p, to + 1, end, resource)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean same(String p, int from, int first, int end) {
+    final int len = first - from;
+    for (int s = first + 1; s <= end; s = WildcardExpression.subpartEnd(p, s, end) + 1) {
+      if (WildcardExpression.subpartEnd(p, s, end) - s != len || !p.regionMatches(s, p, from, len)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String intern(String segment) {
+    return segments.computeIfAbsent(segment, k -> k);
+  }
+
+  private static final class Node {
+
+    // children by single subpart, open addressing with linear probing
+    String[] keys;
+    Node[] nodes;
+    int count;
+    // children of parts with multiple subparts
+    String[][] multiTokens;
+    Node[] multiNodes;
+    // the child of parts with a wildcard
+    Node star;
+    // the resources of the grants ending at this node, a null element grants any resource
+    Set<String> resources;
+
+    boolean grants(String resource) {
+      return resources != null && (resources.contains(null) || resources.contains(resource));
+    }
+
+    Node get(String p, int from, int to) {
+      final int len = to - from;
+      int h = 0;
+      for (int i = from; i < to; i++) {
+        h = 31 * h + p.charAt(i);
+      }
+      final int mask = keys.length - 1;
+      for (int i = spread(h) & mask; keys[i] != null; i = (i + 1) & mask) {
+        final String key = keys[i];
+        if (key.length() == len && key.regionMatches(0, p, from, len)) {
+          return nodes[i];
+        }
+      }
+      return null;
+    }
+
+    Node child(String key) {
+      if (keys == null) {
+        keys = new String[4];
+        nodes = new Node[4];
+      }
+      int mask = keys.length - 1;
+      int i = spread(key.hashCode()) & mask;
+      for (; keys[i] != null; i = (i + 1) & mask) {
+        if (keys[i].equals(key)) {
+          return nodes[i];
+        }
+      }
+      // keep the load factor under 1/2
+      if (2 * (count + 1) > keys.length) {
+        resize();
+        mask = keys.length - 1;
+        i = spread(key.hashCode()) & mask;
+        while (keys[i] != null) {
+          i = (i + 1) & mask;
+        }
+      }
+      final Node node = new Node();
+      keys[i] = key;
+      nodes[i] = node;
+      count++;
+      return node;
+    }
+
+    private void resize() {
+      final String[] oldKeys = keys;
+      final Node[] oldNodes = nodes;
+      keys = new String[oldKeys.length * 2];
+      nodes = new Node[oldKeys.length * 2];
+      final int mask = keys.length - 1;
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldKeys[j] != null) {
+          int i = spread(oldKeys[j].hashCode()) & mask;
+          while (keys[i] != null) {
+            i = (i + 1) & mask;
+          }
+          keys[i] = oldKeys[j];
+          nodes[i] = oldNodes[j];
+        }
+      }
+    }
+
+    Node multi(Set<String> part, UnaryOperator<String> intern) {
+      if (multiTokens != null) {
+        for (int i = 0; i < multiTokens.length; i++) {
+          if (part.equals(new HashSet<>(Arrays.asList(multiTokens[i])))) {
+            return multiNodes[i];
+          }
+        }
+      }
+      final String[] tokens = new String[part.size()];
+      int j = 0;
+      for (String token : part) {
+        tokens[j++] = intern.apply(token);
+      }
+      final Node node = new Node();
+      if (multiTokens == null) {
+        multiTokens = new String[][]{tokens};
+        multiNodes = new Node[]{node};
+      } else {
+        multiTokens = Arrays.copyOf(multiTokens, multiTokens.length + 1);
+        multiNodes = Arrays.copyOf(multiNodes, multiNodes.length + 1);
+        multiTokens[multiTokens.length - 1] = tokens;
+        multiNodes[multiNodes.length - 1] = node;
+      }
+      return node;
+    }
+
+    private static int spread(int h) {
+      return h ^ (h >>> 16);
+    }
+  }
+}
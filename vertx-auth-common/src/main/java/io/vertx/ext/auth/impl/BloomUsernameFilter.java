@@ -0,0 +1,260 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A {@link UsernameFilter} backed by a Bloom filter.
+ * <p>
+ * The bits are kept in an {@link AtomicLongArray}, so usernames can be added and checked concurrently without locks.
+ * The positions of a username are derived from two 64 bit hashes (Kirsch-Mitzenmacher double hashing), so a lookup
+ * hashes the username once regardless of the number of hash functions. A rebuild loads a new filter while the current
+ * one is used, the usernames added meanwhile go to both.
+ */
+public final class BloomUsernameFilter implements UsernameFilter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BloomUsernameFilter.class);
+
+  private static final double LN2 = Math.log(2);
+
+  static final class Bits {
+
+    private final AtomicLongArray words;
+    private final long size;
+    private final int hashFunctions;
+    private final LongAdder usernames = new LongAdder();
+
+    Bits(long expected, double falsePositiveRate) {
+      // m = -n ln(p) / ln(2)^2, rounded up to whole words
+      final long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (LN2 * LN2));
+      final long length = Math.max(1L, (bits + 63) >>> 6);
+      if (length > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("expectedUsernames is too large");
+      }
+      this.words = new AtomicLongArray((int) length);
+      this.size = length << 6;
+      // k = m / n ln(2)
+      this.hashFunctions = (int) Math.max(1L, Math.round((double) size / expected * LN2));
+    }
+
+    void add(String username) {
+      final long h1 = hash(username);
+      final long h2 = mix(h1 + 0x9E3779B97F4A7C15L);
+      for (int i = 0; i < hashFunctions; i++) {
+        final long bit = Math.floorMod(h1 + i * h2, size);
+        final int index = (int) (bit >>> 6);
+        final long mask = 1L << bit;
+        long word;
+        while (((word = words.get(index)) & mask) == 0) {
+          if (words.compareAndSet(index, word, word | mask)) {
+            break;
+          }
+        }
+      }
+      usernames.increment();
+    }
+
+    boolean mightContain(String username) {
+      final long h1 = hash(username);
+      final long h2 = mix(h1 + 0x9E3779B97F4A7C15L);
+      for (int i = 0; i < hashFunctions; i++) {
+        final long bit = Math.floorMod(h1 + i * h2, size);
+        if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    long usernames() {
+      return usernames.sum();
+    }
+
+    private static long hash(String username) {
+      // FNV-1a over the chars, without encoding the string
+      long hash = 0xcbf29ce484222325L;
+      for (int i = 0; i < username.length(); i++) {
+        hash ^= username.charAt(i);
+        hash *= 0x100000001b3L;
+      }
+      return mix(hash);
+    }
+
+    private static long mix(long h) {
+      // murmur3 finalizer, spreads the bits of the hash
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+    }
+  }
+
+  private final Vertx vertx;
+  private final UsernameFilterOptions options;
+  private final Function<Handler<String>, Future<Void>> loader;
+  private final long timerId;
+
+  // null until the first load
+  private volatile Bits current;
+  // guarded by this, the filter being loaded, if any
+  private Bits next;
+  private Future<Void> rebuilding;
+
+  // metrics
+  private final LongAdder lookups = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+  private final AtomicLong rebuilds = new AtomicLong();
+  private final AtomicLong rebuildFailures = new AtomicLong();
+  private volatile long lastRebuildTime;
+  private volatile long lastRebuildDuration;
+
+  public BloomUsernameFilter(Vertx vertx, UsernameFilterOptions options, Function<Handler<String>, Future<Void>> loader) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.options = new UsernameFilterOptions(Objects.requireNonNull(options));
+    this.loader = Objects.requireNonNull(loader);
+
+    rebuild();
+
+    if (options.getRebuildInterval() > 0) {
+      timerId = vertx.setPeriodic(options.getRebuildInterval(), t -> rebuild());
+    } else {
+      timerId = -1L;
+    }
+  }
+
+  @Override
+  public UsernameFilter add(String username) {
+    username = normalize(Objects.requireNonNull(username));
+    // usernames are added when users are created, which is rare, the lock keeps a rebuild from missing them
+    synchronized (this) {
+      if (current != null) {
+        current.add(username);
+      }
+      if (next != null && next != current) {
+        next.add(username);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public boolean mightContain(String username) {
+    final Bits bits = current;
+    if (bits == null) {
+      // not loaded yet, everything needs to be looked up
+      return true;
+    }
+    lookups.increment();
+    if (bits.mightContain(normalize(username))) {
+      return true;
+    }
+    rejections.increment();
+    return false;
+  }
+
+  @Override
+  public Future<Void> rebuild() {
+    final Promise<Void> promise;
+    final Bits bits;
+    synchronized (this) {
+      if (rebuilding != null) {
+        return rebuilding;
+      }
+      final Bits previous = current;
+      // a filter that got more usernames than expected is sized for them
+      bits = new Bits(
+        Math.max(options.getExpectedUsernames(), previous == null ? 0L : previous.usernames()),
+        options.getFalsePositiveRate());
+      next = bits;
+      promise = Promise.promise();
+      rebuilding = promise.future();
+    }
+
+    final long start = System.nanoTime();
+    Future<Void> load;
+    try {
+      load = loader.apply(username -> bits.add(normalize(username)));
+    } catch (RuntimeException e) {
+      load = Future.failedFuture(e);
+    }
+
+    load.onComplete(res -> {
+      synchronized (this) {
+        if (res.succeeded()) {
+          current = bits;
+          rebuilds.incrementAndGet();
+          lastRebuildTime = System.currentTimeMillis();
+          lastRebuildDuration = (System.nanoTime() - start) / 1_000_000L;
+        } else {
+          rebuildFailures.incrementAndGet();
+          LOG.warn("Failed to load the username filter", res.cause());
+        }
+        next = null;
+        rebuilding = null;
+      }
+      promise.handle(res);
+    });
+
+    return promise.future();
+  }
+
+  private String normalize(String username) {
+    return options.isCaseInsensitive() ? username.toLowerCase(Locale.ROOT) : username;
+  }
+
+  @Override
+  public JsonObject metrics() {
+    final Bits bits = current;
+    return new JsonObject()
+      .put("ready", bits != null)
+      .put("usernames", bits == null ? 0L : bits.usernames())
+      .put("bits", bits == null ? 0L : bits.size)
+      .put("hashFunctions", bits == null ? 0 : bits.hashFunctions)
+      .put("memoryBytes", bits == null ? 0L : bits.size >>> 3)
+      .put("falsePositiveRate", options.getFalsePositiveRate())
+      .put("lookups", lookups.sum())
+      .put("rejections", rejections.sum())
+      .put("rebuilds", rebuilds.get())
+      .put("rebuildFailures", rebuildFailures.get())
+      .put("lastRebuildTime", lastRebuildTime)
+      .put("lastRebuildDuration", lastRebuildDuration);
+  }
+
+  @Override
+  public void close() {
+    if (timerId != -1L) {
+      vertx.cancelTimer(timerId);
+    }
+  }
+}
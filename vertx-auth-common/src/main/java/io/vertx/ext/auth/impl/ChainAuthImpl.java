@@ -16,10 +16,15 @@
 package io.vertx.ext.auth.impl;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.ChainAuth;
+import io.vertx.ext.auth.ChainAuthOptions;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
@@ -27,19 +32,70 @@ import io.vertx.ext.auth.authentication.Credentials;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ChainAuthImpl implements ChainAuth {
 
-  private final List<AuthenticationProvider> providers = new ArrayList<>();
+  /**
+   * A provider of the chain, with its metrics.
+   */
+  private static final class Link {
+    final AuthenticationProvider provider;
+    // null handles any credentials
+    final Class<? extends Credentials> credentialsType;
+
+    final LongAdder calls = new LongAdder();
+    final LongAdder successes = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder timeouts = new LongAdder();
+    // nanos
+    final LongAdder totalLatency = new LongAdder();
+    final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0L);
+
+    Link(AuthenticationProvider provider, Class<? extends Credentials> credentialsType) {
+      this.provider = provider;
+      this.credentialsType = credentialsType;
+    }
+
+    boolean handles(Credentials credentials) {
+      // the type of JSON credentials is unknown
+      return credentialsType == null || credentials == null || credentialsType.isInstance(credentials);
+    }
+  }
+
+  private final List<Link> providers = new ArrayList<>();
+  private final Vertx vertx;
   private final boolean all;
+  private final boolean parallel;
+  private final long timeout;
 
   public ChainAuthImpl(boolean all) {
-    this.all = all;
+    this(null, new ChainAuthOptions().setAll(all));
+  }
+
+  public ChainAuthImpl(Vertx vertx, ChainAuthOptions options) {
+    Objects.requireNonNull(options, "options cannot be null");
+    if (options.getTimeout() > 0 && vertx == null) {
+      throw new IllegalArgumentException("vertx cannot be null when using timeouts");
+    }
+    this.vertx = vertx;
+    this.all = options.isAll();
+    this.parallel = options.isParallel();
+    this.timeout = options.getTimeout();
   }
 
   @Override
   public ChainAuth add(AuthenticationProvider other) {
-    providers.add(other);
+    providers.add(new Link(other, null));
+    return this;
+  }
+
+  @Override
+  public ChainAuth add(AuthenticationProvider other, Class<? extends Credentials> credentialsType) {
+    providers.add(new Link(other, Objects.requireNonNull(credentialsType, "credentialsType cannot be null")));
     return this;
   }
 
@@ -47,7 +103,7 @@ public class ChainAuthImpl implements ChainAuth {
   public void authenticate(Credentials credentials, Handler<AsyncResult<User>> resultHandler) {
     try {
       credentials.checkValid(null);
-      authenticate(credentials.toJson(), resultHandler);
+      authenticate(credentials, credentials.toJson(), resultHandler);
     } catch (CredentialValidationException e) {
       resultHandler.handle(Future.failedFuture(e));
     }
@@ -55,16 +111,39 @@ public class ChainAuthImpl implements ChainAuth {
 
   @Override
   public void authenticate(final JsonObject authInfo, final Handler<AsyncResult<User>> resultHandler) {
+    authenticate(null, authInfo, resultHandler);
+  }
+
+  private void authenticate(final Credentials credentials, final JsonObject authInfo, final Handler<AsyncResult<User>> resultHandler) {
     if (providers.size() == 0) {
       resultHandler.handle(Future.failedFuture("No providers in the auth chain."));
+      return;
+    }
+
+    final List<Link> links = new ArrayList<>(providers.size());
+    for (Link link : providers) {
+      if (link.handles(credentials)) {
+        links.add(link);
+      }
+    }
+
+    if (links.isEmpty()) {
+      // no provider handles these credentials, in all mode an empty match would otherwise succeed without a user and
+      // in parallel any mode it would never complete
+      resultHandler.handle(Future.failedFuture("No more providers in the auth chain."));
+    } else if (all && links.size() != providers.size()) {
+      // every provider must succeed, a skipped provider can't
+      resultHandler.handle(Future.failedFuture("Not all providers in the auth chain handle these credentials."));
+    } else if (parallel) {
+      concurrent(links, credentials, authInfo, resultHandler);
     } else {
-      iterate(0, authInfo, resultHandler, null);
+      iterate(links, 0, credentials, authInfo, resultHandler, null);
     }
   }
 
-  private void iterate(final int idx, final JsonObject authInfo, final Handler<AsyncResult<User>> resultHandler, final User previousUser) {
+  private void iterate(final List<Link> links, final int idx, final Credentials credentials, final JsonObject authInfo, final Handler<AsyncResult<User>> resultHandler, final User previousUser) {
     // stop condition
-    if (idx >= providers.size()) {
+    if (idx >= links.size()) {
       if (!all) {
         // no more providers, means that we failed to find a provider capable of performing this operation
         resultHandler.handle(Future.failedFuture("No more providers in the auth chain."));
@@ -76,7 +155,7 @@ public class ChainAuthImpl implements ChainAuth {
     }
 
     // attempt to perform operation
-    providers.get(idx).authenticate(authInfo, res -> {
+    call(links.get(idx), credentials, authInfo).onComplete(res -> {
       if (res.succeeded()) {
         if (!all) {
           // if ANY then a success completes
@@ -84,13 +163,13 @@ public class ChainAuthImpl implements ChainAuth {
         } else {
           // if ALL then a success check the next one
           User result = res.result();
-          iterate(idx + 1, authInfo, resultHandler, previousUser == null ? result : previousUser.merge(result));
+          iterate(links, idx + 1, credentials, authInfo, resultHandler, previousUser == null ? result : previousUser.merge(result));
         }
       } else {
         // try again with next provider
         if (!all) {
           // try again with next provider
-          iterate(idx + 1, authInfo, resultHandler, null);
+          iterate(links, idx + 1, credentials, authInfo, resultHandler, null);
         } else {
           // short circuit when ALL is used a failure is enough to terminate
           // no more providers, means that we failed to find a provider capable of performing this operation
@@ -99,4 +178,112 @@ public class ChainAuthImpl implements ChainAuth {
       }
     });
   }
+
+  @SuppressWarnings("rawtypes")
+  private void concurrent(final List<Link> links, final Credentials credentials, final JsonObject authInfo, final Handler<AsyncResult<User>> resultHandler) {
+    final List<Future> attempts = new ArrayList<>(links.size());
+    for (Link link : links) {
+      attempts.add(call(link, credentials, authInfo));
+    }
+
+    if (!all) {
+      // the first success completes, the other results are ignored
+      CompositeFuture.any(attempts).onComplete(res -> {
+        if (res.failed()) {
+          resultHandler.handle(Future.failedFuture("No more providers in the auth chain."));
+          return;
+        }
+        for (Future attempt : attempts) {
+          if (attempt.succeeded()) {
+            resultHandler.handle(Future.succeededFuture((User) attempt.result()));
+            return;
+          }
+        }
+      });
+    } else {
+      // the first failure completes, otherwise the users are merged in the chain order
+      CompositeFuture.all(attempts).onComplete(res -> {
+        if (res.failed()) {
+          resultHandler.handle(Future.failedFuture(res.cause()));
+          return;
+        }
+        User user = null;
+        for (Future attempt : attempts) {
+          final User result = (User) attempt.result();
+          user = user == null ? result : user.merge(result);
+        }
+        resultHandler.handle(Future.succeededFuture(user));
+      });
+    }
+  }
+
+  private Future<User> call(final Link link, final Credentials credentials, final JsonObject authInfo) {
+    final Promise<User> promise = Promise.promise();
+    final long start = System.nanoTime();
+    link.calls.increment();
+
+    // the first of the result and the timeout wins, the metrics are recorded before completing the attempt
+    final AtomicBoolean done = new AtomicBoolean();
+
+    final long timerId;
+    if (timeout > 0) {
+      timerId = vertx.setTimer(timeout, t -> {
+        if (done.compareAndSet(false, true)) {
+          link.timeouts.increment();
+          // a late result is ignored
+          promise.fail("Provider timed out after " + timeout + "ms");
+        }
+      });
+    } else {
+      timerId = -1;
+    }
+
+    final Handler<AsyncResult<User>> handler = res -> {
+      if (done.compareAndSet(false, true)) {
+        if (timerId != -1) {
+          vertx.cancelTimer(timerId);
+        }
+        final long latency = System.nanoTime() - start;
+        link.totalLatency.add(latency);
+        link.maxLatency.accumulate(latency);
+        if (res.succeeded()) {
+          link.successes.increment();
+        } else {
+          link.failures.increment();
+        }
+        promise.handle(res);
+      }
+    };
+
+    try {
+      if (credentials != null && link.credentialsType != null) {
+        // typed providers receive the credentials object
+        link.provider.authenticate(credentials, handler);
+      } else {
+        link.provider.authenticate(authInfo, handler);
+      }
+    } catch (RuntimeException e) {
+      handler.handle(Future.failedFuture(e));
+    }
+
+    return promise.future();
+  }
+
+  @Override
+  public JsonObject metrics() {
+    final JsonArray metrics = new JsonArray();
+    for (Link link : providers) {
+      final long completed = link.successes.sum() + link.failures.sum();
+      metrics.add(new JsonObject()
+        .put("provider", link.provider.getClass().getName())
+        .put("credentialsType", link.credentialsType == null ? null : link.credentialsType.getName())
+        .put("calls", link.calls.sum())
+        .put("successes", link.successes.sum())
+        .put("failures", link.failures.sum())
+        .put("timeouts", link.timeouts.sum())
+        .put("averageLatency", completed == 0 ? 0 : link.totalLatency.sum() / completed / 1_000_000L)
+        .put("maxLatency", link.maxLatency.get() / 1_000_000L));
+    }
+    return new JsonObject().put("providers", metrics);
+  }
 }
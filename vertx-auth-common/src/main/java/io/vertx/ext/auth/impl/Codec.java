@@ -16,6 +16,7 @@
 package io.vertx.ext.auth.impl;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -57,6 +58,15 @@ public final class Codec {
 
   private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
   private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+  private static final int[] BASE64URL_LOOKUP = new int[128];
+
+  static {
+    Arrays.fill(BASE64URL_LOOKUP, -1);
+    final byte[] alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    for (int i = 0; i < alphabet.length; i++) {
+      BASE64URL_LOOKUP[alphabet[i]] = i;
+    }
+  }
 
   private static final Base64.Encoder BASE64 = Base64.getEncoder();
   private static final Base64.Encoder BASE64_NOPADDING = Base64.getEncoder().withoutPadding();
@@ -195,6 +205,46 @@ public final class Codec {
     return BASE64URL_DECODER.decode(base64);
   }
 
+  /**
+   * Decodes a base64url slice of a larger array, this avoids copying the slice (or creating a String from it) before
+   * decoding. Padding is optional.
+   *
+   * @param base64 the source array
+   * @param offset the start of the slice
+   * @param length the length of the slice
+   * @return the decoded bytes
+   */
+  public static byte[] base64UrlDecode(byte[] base64, int offset, int length) {
+    int end = offset + length;
+    // padding is optional
+    while (end > offset && base64[end - 1] == '=') {
+      end--;
+    }
+
+    final int chars = end - offset;
+    if (chars % 4 == 1) {
+      throw new IllegalArgumentException("Last unit does not have enough valid bits");
+    }
+
+    final byte[] bytes = new byte[chars * 3 / 4];
+    int acc = 0, bits = 0, pos = 0;
+
+    for (int i = offset; i < end; i++) {
+      final int c = base64[i];
+      final int digit = c >= 0 ? BASE64URL_LOOKUP[c] : -1;
+      if (digit == -1) {
+        throw new IllegalArgumentException("Illegal base64url character " + Integer.toHexString(c & 0xFF));
+      }
+      acc = (acc << 6) | digit;
+      bits += 6;
+      if (bits >= 8) {
+        bits -= 8;
+        bytes[pos++] = (byte) (acc >> bits);
+      }
+    }
+    return bytes;
+  }
+
   public static String base64Encode(byte[] bytes) {
     return BASE64.encodeToString(bytes);
   }
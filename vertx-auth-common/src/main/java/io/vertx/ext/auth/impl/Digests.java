@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared pools of {@link MessageDigest} by algorithm.
+ * <p>
+ * A {@link MessageDigest} is not thread safe, so a digest shared by all event loops either needs a lock, which
+ * serializes them, or is a race. The pools of this class are shared by the whole JVM and never block, each
+ * {@link #digest(String, byte[])} borrows a digest for the duration of the call.
+ */
+public final class Digests {
+
+  private static final Map<String, EnginePool<MessageDigest>> POOLS = new ConcurrentHashMap<>();
+
+  private Digests() {
+  }
+
+  /**
+   * Get the shared pool of an algorithm.
+   *
+   * @param algorithm the {@link MessageDigest} algorithm, e.g. {@code SHA-256}
+   * @return the pool
+   * @throws IllegalArgumentException when the algorithm is not available
+   */
+  public static EnginePool<MessageDigest> pool(String algorithm) {
+    EnginePool<MessageDigest> pool = POOLS.get(algorithm);
+    if (pool == null) {
+      // fail early, only available algorithms get a pool
+      final MessageDigest md;
+      try {
+        md = MessageDigest.getInstance(algorithm);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalArgumentException(algorithm + " is not available", e);
+      }
+      pool = POOLS.computeIfAbsent(algorithm, k -> new EnginePool<>(() -> MessageDigest.getInstance(k)));
+      pool.release(md);
+    }
+    return pool;
+  }
+
+  /**
+   * Compute the digest of the data with a digest of the shared pool of the algorithm.
+   *
+   * @throws IllegalArgumentException when the algorithm is not available
+   */
+  public static byte[] digest(String algorithm, byte[] data) {
+    return digest(pool(algorithm), data);
+  }
+
+  /**
+   * Compute the digest of the data with a digest of the pool.
+   */
+  public static byte[] digest(EnginePool<MessageDigest> pool, byte[] data) {
+    final MessageDigest md = pool.acquire();
+    try {
+      // digest always resets the engine
+      return md.digest(data);
+    } catch (RuntimeException e) {
+      // a digest can always be reset to a known state, so it is still returned to the pool
+      md.reset();
+      throw e;
+    } finally {
+      pool.release(md);
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small lock-free pool of stateful crypto engines ({@link java.security.Signature}, {@link javax.crypto.Mac},
+ * {@link java.security.MessageDigest}, ...).
+ * <p>
+ * JCA engines are not thread safe, sharing a single instance requires a lock which serializes all event loops on
+ * the same key. Instead, engines are created already initialized (for example bound to a key) and are borrowed
+ * for the duration of a single operation. When the pool is empty a new engine is created, when it is full released
+ * engines are discarded, so the pool never blocks.
+ * <p>
+ * An engine must only be released if the operation completed normally or the engine was reset to a known state, as a
+ * failed operation may leave the engine in an undefined state.
+ */
+public final class EnginePool<T> {
+
+  /**
+   * Default number of idle engines to keep, this matches the default number of event loops.
+   */
+  public static final int DEFAULT_MAX_IDLE = 2 * Runtime.getRuntime().availableProcessors();
+
+  @FunctionalInterface
+  public interface Factory<T> {
+    T create() throws GeneralSecurityException;
+  }
+
+  private final Factory<T> factory;
+  private final int maxIdle;
+
+  private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  // metrics
+  private final LongAdder created = new LongAdder();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder discarded = new LongAdder();
+
+  public EnginePool(Factory<T> factory) {
+    this(factory, DEFAULT_MAX_IDLE);
+  }
+
+  public EnginePool(Factory<T> factory, int maxIdle) {
+    if (maxIdle < 0) {
+      throw new IllegalArgumentException("maxIdle must be >= 0");
+    }
+    this.factory = Objects.requireNonNull(factory, "factory cannot be null");
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Borrow an engine from the pool, creating a new one if none is idle.
+   *
+   * @return a ready to use engine.
+   */
+  public T acquire() {
+    acquired.increment();
+    T engine = idle.poll();
+    if (engine != null) {
+      idleCount.decrementAndGet();
+      return engine;
+    }
+
+    try {
+      engine = factory.create();
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+    created.increment();
+    return engine;
+  }
+
+  /**
+   * Return a previously acquired engine to the pool. If the pool is already full the engine is discarded.
+   *
+   * @param engine the engine to return.
+   */
+  public void release(T engine) {
+    if (engine == null) {
+      return;
+    }
+    if (idleCount.incrementAndGet() <= maxIdle) {
+      idle.offer(engine);
+    } else {
+      idleCount.decrementAndGet();
+      discarded.increment();
+    }
+  }
+
+  /**
+   * @return the max number of idle engines kept by this pool.
+   */
+  public int maxIdle() {
+    return maxIdle;
+  }
+
+  /**
+   * @return the current number of idle engines.
+   */
+  public int idle() {
+    return idleCount.get();
+  }
+
+  /**
+   * @return the total number of engines created by this pool.
+   */
+  public long created() {
+    return created.sum();
+  }
+
+  /**
+   * @return the total number of times an engine was borrowed from this pool.
+   */
+  public long acquired() {
+    return acquired.sum();
+  }
+
+  /**
+   * @return the total number of engines discarded because the pool was full.
+   */
+  public long discarded() {
+    return discarded.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "EnginePool{" +
+      "maxIdle=" + maxIdle +
+      ", idle=" + idle() +
+      ", created=" + created() +
+      ", acquired=" + acquired() +
+      ", discarded=" + discarded() +
+      '}';
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A table of users read from a file, such as {@code .htpasswd} or {@code .htdigest}.
+ * <p>
+ * The file is read asynchronously and parsed on a worker thread into an immutable snapshot, which is swapped atomically.
+ * Concurrent requests for a table that isn't loaded yet share a single load and failed loads are not kept, so the next
+ * request retries. When a reload interval is set, the size and modification time of the file are checked at most once
+ * per interval, when the table is used, and the file is reloaded in the background while the current snapshot keeps
+ * being served.
+ */
+public final class FileUserTable<V> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileUserTable.class);
+
+  /**
+   * Receives the lines of a file, as ranges of the file content so lines are not copied.
+   */
+  @FunctionalInterface
+  public interface LineHandler {
+    /**
+     * @param content the whole file
+     * @param start   the start of the line
+     * @param end     the end of the line, without the line terminator
+     */
+    void handle(String content, int start, int end);
+  }
+
+  private static final class Snapshot<V> {
+    final Map<String, V> entries;
+    // used to detect changes to the file
+    final long lastModified;
+    final long size;
+
+    Snapshot(Map<String, V> entries, long lastModified, long size) {
+      this.entries = entries;
+      this.lastModified = lastModified;
+      this.size = size;
+    }
+  }
+
+  private final Vertx vertx;
+  private final String path;
+  private final long reloadInterval;
+  private final Function<String, Map<String, V>> parser;
+
+  private volatile Snapshot<V> snapshot;
+  // guarded by this
+  private Future<Snapshot<V>> loading;
+  private long lastCheck;
+
+  // metrics
+  private final AtomicLong loads = new AtomicLong();
+  private final AtomicLong loadFailures = new AtomicLong();
+  private volatile long lastLoadTime;
+  private volatile long lastLoadDuration;
+
+  /**
+   * @param vertx          the vert.x instance
+   * @param path           the file to read
+   * @param reloadInterval the minimum time between checks for changes in milliseconds, {@code 0} to never reload
+   * @param parser         parses the file content into a map of entries by username, it runs on a worker thread
+   */
+  public FileUserTable(Vertx vertx, String path, long reloadInterval, Function<String, Map<String, V>> parser) {
+    if (reloadInterval < 0) {
+      throw new IllegalArgumentException("reloadInterval must be >= 0");
+    }
+    this.vertx = Objects.requireNonNull(vertx);
+    this.path = Objects.requireNonNull(path);
+    this.reloadInterval = reloadInterval;
+    this.parser = Objects.requireNonNull(parser);
+  }
+
+  /**
+   * Call the handler for each line of the content, in a single pass. Both {@code \n} and {@code \r\n} terminate lines.
+   */
+  public static void forEachLine(String content, LineHandler handler) {
+    int start = 0;
+    final int length = content.length();
+    while (start < length) {
+      int end = content.indexOf('\n', start);
+      final int next;
+      if (end == -1) {
+        end = length;
+        next = length;
+      } else {
+        next = end + 1;
+      }
+      if (end > start && content.charAt(end - 1) == '\r') {
+        end--;
+      }
+      handler.handle(content, start, end);
+      start = next;
+    }
+  }
+
+  /**
+   * Get the entries, loading the file if needed.
+   */
+  public Future<Map<String, V>> entries() {
+    final Snapshot<V> current = snapshot;
+    if (current == null) {
+      return load().map(s -> s.entries);
+    }
+    if (reloadInterval > 0) {
+      // the current snapshot is used while the file is checked
+      checkForChanges(current);
+    }
+    return Future.succeededFuture(current.entries);
+  }
+
+  /**
+   * Get the entries if they are loaded. Otherwise, this blocks: off an event loop a pending load is awaited, on an
+   * event loop (where waiting would stall the load itself) the file is read on the calling thread. This is only meant
+   * for synchronous APIs that can't wait for the asynchronous load.
+   */
+  public Map<String, V> entriesBlocking() {
+    final Snapshot<V> current = snapshot;
+    if (current != null) {
+      return current.entries;
+    }
+
+    final Future<Snapshot<V>> pending;
+    synchronized (this) {
+      pending = loading;
+    }
+    if (pending != null && !Context.isOnEventLoopThread()) {
+      try {
+        return pending.toCompletionStage().toCompletableFuture().get().entries;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } catch (ExecutionException e) {
+        // the file is read again below, to throw the actual error
+      }
+    }
+
+    final long start = System.nanoTime();
+    final Map<String, V> entries = Collections.unmodifiableMap(parser.apply(
+      vertx.fileSystem().readFileBlocking(path).toString(StandardCharsets.UTF_8)));
+    loaded(new Snapshot<>(entries, -1L, -1L), start);
+    return entries;
+  }
+
+  /**
+   * Read the file again, regardless of changes.
+   */
+  public Future<Void> reload() {
+    return load().mapEmpty();
+  }
+
+  private Future<Snapshot<V>> load() {
+    final Promise<Snapshot<V>> promise;
+    synchronized (this) {
+      if (loading != null) {
+        return loading;
+      }
+      promise = Promise.promise();
+      loading = promise.future();
+    }
+
+    final long start = System.nanoTime();
+    vertx.fileSystem().props(path)
+      .compose(props -> vertx.fileSystem().readFile(path)
+        .compose(buffer -> vertx.<Snapshot<V>>executeBlocking(
+          parse -> parse.complete(new Snapshot<>(
+            Collections.unmodifiableMap(parser.apply(buffer.toString(StandardCharsets.UTF_8))),
+            props.lastModifiedTime(),
+            props.size())),
+          false)))
+      .onComplete(res -> {
+        synchronized (this) {
+          loading = null;
+          lastCheck = System.currentTimeMillis();
+        }
+        if (res.succeeded()) {
+          loaded(res.result(), start);
+        } else {
+          loadFailures.incrementAndGet();
+          LOG.warn("Failed to load " + path, res.cause());
+        }
+        promise.handle(res);
+      });
+
+    return promise.future();
+  }
+
+  private void loaded(Snapshot<V> loaded, long start) {
+    snapshot = loaded;
+    loads.incrementAndGet();
+    lastLoadTime = System.currentTimeMillis();
+    lastLoadDuration = (System.nanoTime() - start) / 1_000_000L;
+  }
+
+  private void checkForChanges(Snapshot<V> current) {
+    synchronized (this) {
+      final long now = System.currentTimeMillis();
+      if (loading != null || now - lastCheck < reloadInterval) {
+        return;
+      }
+      lastCheck = now;
+    }
+
+    vertx.fileSystem().props(path)
+      .onFailure(err -> LOG.warn("Failed to check " + path, err))
+      .onSuccess(props -> {
+        if (props.lastModifiedTime() != current.lastModified || props.size() != current.size) {
+          load();
+        }
+      });
+  }
+
+  /**
+   * A snapshot of the table metrics: {@code entries}, {@code loads}, {@code loadFailures}, {@code lastLoadTime} (epoch
+   * millis, {@code 0} if never loaded) and {@code lastLoadDuration} (millis).
+   */
+  public JsonObject metrics() {
+    final Snapshot<V> current = snapshot;
+    return new JsonObject()
+      .put("entries", current == null ? 0 : current.entries.size())
+      .put("loads", loads.get())
+      .put("loadFailures", loadFailures.get())
+      .put("lastLoadTime", lastLoadTime)
+      .put("lastLoadDuration", lastLoadDuration);
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Closeable;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.ext.auth.HashingStrategy;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a dedicated bounded worker pool, so slow algorithms (PBKDF2, APR1, crypt) never block an
+ * event loop.
+ * <p>
+ * There is a single worker per Vert.x instance, sized by the system properties
+ * {@code io.vertx.ext.auth.hashing.pool.size} (default: number of processors) and
+ * {@code io.vertx.ext.auth.hashing.queue.max} (default: {@code 1024}). When the number of pending operations reaches
+ * the max queue depth, new operations fail immediately instead of queueing behind a login storm.
+ * <p>
+ * The threads belong to the worker, not to the deployment that happens to use it first, so undeploying a verticle never
+ * stops hashing for the rest of the Vert.x instance. They are stopped when Vert.x is closed.
+ */
+public final class HashingWorker implements Shareable, Closeable {
+
+  private static final String LOCAL_MAP = HashingWorker.class.getName();
+
+  private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+  private static final int DEFAULT_QUEUE_MAX = 1024;
+
+  private static final AtomicInteger THREADS = new AtomicInteger();
+
+  private final VertxInternal vertx;
+  private final ExecutorService executor;
+  private final int poolSize;
+  private final int queueMax;
+
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicLong executions = new AtomicLong();
+  private final AtomicLong rejections = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  public HashingWorker(Vertx vertx, int poolSize, int queueMax) {
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("poolSize must be > 0");
+    }
+    if (queueMax <= 0) {
+      throw new IllegalArgumentException("queueMax must be > 0");
+    }
+    this.vertx = (VertxInternal) vertx;
+    this.poolSize = poolSize;
+    this.queueMax = queueMax;
+    this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+      final Thread thread = new Thread(runnable, "vertx-auth-hashing-" + THREADS.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // bound to the Vert.x instance, not to the current deployment
+    this.vertx.addCloseHook(this);
+  }
+
+  /**
+   * Get the worker of a Vert.x instance, it is created on first use.
+   */
+  public static HashingWorker get(Vertx vertx) {
+    return vertx.sharedData()
+      .<String, HashingWorker>getLocalMap(LOCAL_MAP)
+      .computeIfAbsent(LOCAL_MAP, k -> new HashingWorker(
+        vertx,
+        Integer.getInteger("io.vertx.ext.auth.hashing.pool.size", DEFAULT_POOL_SIZE),
+        Integer.getInteger("io.vertx.ext.auth.hashing.queue.max", DEFAULT_QUEUE_MAX)));
+  }
+
+  /**
+   * Verify a password on the worker of the current Vert.x context. Code that isn't running on a context (and has no
+   * event loop to protect) verifies inline.
+   */
+  public static Future<Boolean> verifyOnContext(HashingStrategy strategy, String hash, String password) {
+    final Context context = Vertx.currentContext();
+    if (context == null) {
+      try {
+        return Future.succeededFuture(strategy.verify(hash, password));
+      } catch (RuntimeException e) {
+        return Future.failedFuture(e);
+      }
+    }
+    return strategy.verify(context.owner(), hash, password);
+  }
+
+  /**
+   * The number of threads hashing at once.
+   */
+  public int poolSize() {
+    return poolSize;
+  }
+
+  public Future<Boolean> verify(HashingStrategy strategy, String hash, String password) {
+    return execute(() -> strategy.verify(hash, password));
+  }
+
+  public Future<String> hash(HashingStrategy strategy, String id, Map<String, String> params, String salt, String password) {
+    return execute(() -> strategy.hash(id, params, salt, password));
+  }
+
+  private <T> Future<T> execute(Supplier<T> task) {
+    if (pending.incrementAndGet() > queueMax) {
+      pending.decrementAndGet();
+      rejections.incrementAndGet();
+      return Future.failedFuture("Too many pending hashing operations");
+    }
+
+    // the result is delivered on the context of the caller
+    final Promise<T> promise = vertx.promise();
+    try {
+      executor.execute(() -> {
+        final long start = System.nanoTime();
+        final T result;
+        try {
+          result = task.get();
+        } catch (Throwable t) {
+          promise.fail(t);
+          return;
+        } finally {
+          record(System.nanoTime() - start);
+        }
+        promise.complete(result);
+      });
+    } catch (RejectedExecutionException e) {
+      // closed
+      promise.tryFail(e);
+    }
+
+    return promise.future()
+      .onComplete(done -> pending.decrementAndGet());
+  }
+
+  private void record(long nanos) {
+    executions.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /**
+   * Stop the threads of a worker that isn't used anymore, pending operations are still completed.
+   */
+  public void close() {
+    vertx.removeCloseHook(this);
+    executor.shutdown();
+  }
+
+  @Override
+  public void close(Promise<Void> completion) {
+    executor.shutdown();
+    completion.complete();
+  }
+
+  /**
+   * A snapshot of the worker metrics: {@code poolSize}, {@code queueMax}, {@code pending}, {@code executions},
+   * {@code rejections}, {@code totalNanos}, {@code maxNanos} and {@code meanNanos}.
+   */
+  public JsonObject metrics() {
+    final long count = executions.get();
+    final long total = totalNanos.get();
+
+    return new JsonObject()
+      .put("poolSize", poolSize)
+      .put("queueMax", queueMax)
+      .put("pending", pending.get())
+      .put("executions", count)
+      .put("rejections", rejections.get())
+      .put("totalNanos", total)
+      .put("maxNanos", maxNanos.get())
+      .put("meanNanos", count == 0 ? 0L : total / count);
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * A bounded, thread safe, least recently used cache where each entry may have its own expiration time.
+ * <p>
+ * Expired entries are only removed when they are looked up or pushed out by newer entries, there is no background
+ * task involved. The cache keeps simple counters (hits, misses, evictions) so the size can be tuned.
+ */
+public final class LRUCache<K, V> {
+
+  private static final class CacheEntry<V> {
+    private final V value;
+    // epoch millis, 0 means never expires
+    private final long expiresAt;
+
+    private CacheEntry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean expired(long now) {
+      return expiresAt > 0 && expiresAt <= now;
+    }
+  }
+
+  private final int maxSize;
+  private final LinkedHashMap<K, CacheEntry<V>> map;
+
+  // metrics (guarded by this)
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  public LRUCache(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.maxSize = maxSize;
+    // access order so the eldest entry is always the least recently used
+    this.map = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+        if (size() > LRUCache.this.maxSize) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Lookup a value. Expired entries are removed and reported as a miss.
+   *
+   * @param key the key
+   * @return the value or {@code null} if not present or expired.
+   */
+  public synchronized V get(K key) {
+    final CacheEntry<V> entry = map.get(key);
+    if (entry == null) {
+      misses++;
+      return null;
+    }
+    if (entry.expired(System.currentTimeMillis())) {
+      map.remove(key);
+      evictions++;
+      misses++;
+      return null;
+    }
+    hits++;
+    return entry.value;
+  }
+
+  /**
+   * Store a value that never expires (it can still be evicted by size).
+   */
+  public void put(K key, V value) {
+    put(key, value, 0L);
+  }
+
+  /**
+   * Store a value until the given point in time.
+   *
+   * @param key       the key
+   * @param value     the value
+   * @param expiresAt epoch time in milliseconds, {@code 0} means no expiration.
+   */
+  public synchronized void put(K key, V value, long expiresAt) {
+    if (expiresAt > 0 && expiresAt <= System.currentTimeMillis()) {
+      // already expired, no point in keeping it
+      map.remove(key);
+      return;
+    }
+    map.put(key, new CacheEntry<>(value, expiresAt));
+  }
+
+  public synchronized V remove(K key) {
+    final CacheEntry<V> entry = map.remove(key);
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * Remove all the entries matching the given predicate.
+   *
+   * @return the number of removed entries.
+   */
+  public synchronized int removeIf(BiPredicate<K, V> predicate) {
+    int removed = 0;
+    final Iterator<Map.Entry<K, CacheEntry<V>>> it = map.entrySet().iterator();
+    while (it.hasNext()) {
+      final Map.Entry<K, CacheEntry<V>> entry = it.next();
+      if (predicate.test(entry.getKey(), entry.getValue().value)) {
+        it.remove();
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  public synchronized void clear() {
+    map.clear();
+  }
+
+  public synchronized int size() {
+    return map.size();
+  }
+
+  public int maxSize() {
+    return maxSize;
+  }
+
+  public synchronized long hits() {
+    return hits;
+  }
+
+  public synchronized long misses() {
+    return misses;
+  }
+
+  public synchronized long evictions() {
+    return evictions;
+  }
+
+  /**
+   * @return a snapshot of the cache counters.
+   */
+  public synchronized JsonObject metrics() {
+    return new JsonObject()
+      .put("size", map.size())
+      .put("maxSize", maxSize)
+      .put("hits", hits)
+      .put("misses", misses)
+      .put("evictions", evictions);
+  }
+}
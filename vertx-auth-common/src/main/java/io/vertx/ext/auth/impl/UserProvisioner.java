@@ -0,0 +1,255 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.HashingStrategy;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+import static io.vertx.ext.auth.impl.Codec.base64Encode;
+
+/**
+ * Provisions users in bulk from a stream, for the user utilities of the providers.
+ * <p>
+ * The items of the stream are collected in chunks. The stream is paused while a chunk is processed, so at most one
+ * chunk is in memory regardless of the size of the stream. The clear text {@code password} of the items is hashed with
+ * {@code pbkdf2} and a random salt on the hashing worker, as many at once as the worker has threads, and replaced by
+ * the {@code hash}. Items that already have a {@code hash} or no password are kept as they are. The chunk is then
+ * written at once by the {@link ChunkWriter} of the provider.
+ * <p>
+ * The progress is reported after each chunk, and the result of the provisioning, as a JSON object with the number of
+ * {@code items} and {@code chunks} written and the {@code elapsed} time in milliseconds. The first failure stops the
+ * provisioning, the chunks written so far are kept.
+ */
+public final class UserProvisioner {
+
+  /**
+   * Writes a chunk of items to the storage, e.g. with a single batch.
+   */
+  @FunctionalInterface
+  public interface ChunkWriter {
+    Future<Void> write(List<JsonObject> chunk);
+  }
+
+  private final HashingStrategy strategy;
+  private final SecureRandom random;
+  private final int chunkSize;
+  private final ChunkWriter writer;
+  private final Handler<JsonObject> progressHandler;
+
+  /**
+   * @param strategy        the strategy to hash the passwords
+   * @param random          the source of the salts
+   * @param chunkSize       the number of items written at once
+   * @param writer          writes a chunk
+   * @param progressHandler called after each chunk, can be {@code null}
+   */
+  public UserProvisioner(HashingStrategy strategy, SecureRandom random, int chunkSize, ChunkWriter writer, Handler<JsonObject> progressHandler) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be > 0");
+    }
+    this.strategy = Objects.requireNonNull(strategy);
+    this.random = Objects.requireNonNull(random);
+    this.chunkSize = chunkSize;
+    this.writer = Objects.requireNonNull(writer);
+    this.progressHandler = progressHandler;
+  }
+
+  /**
+   * Provision all the items of the stream.
+   *
+   * @return a future with the final progress, once all the chunks are written
+   */
+  public Future<JsonObject> provision(ReadStream<JsonObject> stream) {
+    return new Run(stream).start();
+  }
+
+  private final class Run {
+
+    private final ReadStream<JsonObject> stream;
+    private final Promise<JsonObject> promise = Promise.promise();
+    private final long start = System.currentTimeMillis();
+
+    private List<JsonObject> chunk;
+    private boolean writing;
+    private boolean ended;
+    private boolean done;
+    private long items;
+    private long chunks;
+
+    Run(ReadStream<JsonObject> stream) {
+      this.stream = Objects.requireNonNull(stream);
+      this.chunk = new ArrayList<>(chunkSize);
+    }
+
+    Future<JsonObject> start() {
+      stream
+        .exceptionHandler(this::fail)
+        .endHandler(v -> {
+          ended = true;
+          if (!writing) {
+            flush();
+          }
+        })
+        .handler(this::add);
+
+      return promise.future();
+    }
+
+    private void add(JsonObject item) {
+      if (done) {
+        return;
+      }
+      chunk.add(item);
+      if (chunk.size() >= chunkSize) {
+        // backpressure, no more items until the chunk is written
+        stream.pause();
+        write();
+      }
+    }
+
+    private void flush() {
+      if (done) {
+        return;
+      }
+      if (chunk.isEmpty()) {
+        done = true;
+        promise.tryComplete(progress());
+      } else {
+        write();
+      }
+    }
+
+    private void write() {
+      final List<JsonObject> current = chunk;
+      chunk = new ArrayList<>(chunkSize);
+      writing = true;
+
+      hash(current)
+        .compose(hashed -> {
+          try {
+            return writer.write(hashed);
+          } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+          }
+        })
+        .onComplete(write -> {
+          writing = false;
+          if (write.failed()) {
+            fail(write.cause());
+            return;
+          }
+          items += current.size();
+          chunks++;
+          if (progressHandler != null) {
+            progressHandler.handle(progress());
+          }
+          if (ended) {
+            flush();
+          } else {
+            stream.resume();
+          }
+        });
+    }
+
+    private void fail(Throwable cause) {
+      if (done) {
+        return;
+      }
+      done = true;
+      stream.pause();
+      promise.tryFail(cause);
+    }
+
+    private JsonObject progress() {
+      return new JsonObject()
+        .put("items", items)
+        .put("chunks", chunks)
+        .put("elapsed", System.currentTimeMillis() - start);
+    }
+  }
+
+  /**
+   * Hash the passwords of a chunk. The items are split in as many lanes as the hashing worker has threads, each lane
+   * hashes its items one after the other, so the worker is kept busy without exceeding its queue.
+   */
+  private Future<List<JsonObject>> hash(List<JsonObject> chunk) {
+    final Context context = Vertx.currentContext();
+    final HashingWorker worker = context == null ? null : HashingWorker.get(context.owner());
+    final int lanes = Math.min(chunk.size(), worker == null ? 1 : worker.poolSize());
+
+    final List<JsonObject> hashed = new ArrayList<>(chunk);
+    final List<Future> futures = new ArrayList<>(lanes);
+
+    for (int lane = 0; lane < lanes; lane++) {
+      Future<Void> future = Future.succeededFuture();
+      for (int i = lane; i < chunk.size(); i += lanes) {
+        final int index = i;
+        future = future.compose(v -> hash(worker, chunk.get(index))
+          .map(item -> {
+            hashed.set(index, item);
+            return null;
+          }));
+      }
+      futures.add(future);
+    }
+
+    return CompositeFuture.all(futures)
+      .map(all -> hashed);
+  }
+
+  private Future<JsonObject> hash(HashingWorker worker, JsonObject item) {
+    final String password = item.getString("password");
+    if (password == null || item.containsKey("hash")) {
+      return Future.succeededFuture(item);
+    }
+
+    final byte[] salt = new byte[32];
+    random.nextBytes(salt);
+
+    final Future<String> hash;
+    if (worker == null) {
+      // not on a context, there is no event loop to protect
+      try {
+        hash = Future.succeededFuture(strategy.hash("pbkdf2", null, base64Encode(salt), password));
+      } catch (RuntimeException e) {
+        return Future.failedFuture(e);
+      }
+    } else {
+      hash = worker.hash(strategy, "pbkdf2", null, base64Encode(salt), password);
+    }
+
+    return hash.map(value -> {
+      // a shallow copy, the item of the caller keeps its password
+      final JsonObject copy = new JsonObject(new LinkedHashMap<>(item.getMap()));
+      copy.remove("password");
+      copy.put("hash", value);
+      return copy;
+    });
+  }
+}
@@ -18,10 +18,11 @@ package io.vertx.ext.auth.impl.hash;
 
 import io.vertx.ext.auth.HashString;
 import io.vertx.ext.auth.HashingAlgorithm;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
 
@@ -32,19 +33,16 @@ import static io.vertx.ext.auth.impl.Codec.base64EncodeWithoutPadding;
  */
 public abstract class AbstractMDHash implements HashingAlgorithm {
 
-  private final MessageDigest md;
+  // hashing algorithms are shared by all threads
+  private final EnginePool<MessageDigest> md;
 
   AbstractMDHash(final String algorithm) {
-    try {
-      md = MessageDigest.getInstance(algorithm);
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException(algorithm + " is not available", nsae);
-    }
+    md = Digests.pool(algorithm);
   }
 
   @Override
   public String hash(HashString hashString, String password) {
-    return base64EncodeWithoutPadding(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    return base64EncodeWithoutPadding(Digests.digest(md, password.getBytes(StandardCharsets.UTF_8)));
   }
 
 }
@@ -18,6 +18,7 @@ package io.vertx.ext.auth.impl.jose;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.ext.auth.impl.EnginePool;
 import io.vertx.ext.auth.impl.asn.ASN1;
 
 import javax.crypto.Mac;
@@ -73,24 +74,67 @@ public final class JWS {
   }
 
   private final JWK jwk;
-  private final Signature signature;
+  // pools of engines already bound to the key material, borrowing an engine
+  // avoids both the lock on a shared instance and the key re-initialization
+  private final EnginePool<Signature> signers;
+  private final EnginePool<Signature> verifiers;
+  private final EnginePool<Mac> macs;
   // the length of the signature. This is derived from the algorithm name
   // this will help to cope with signatures that are longer (yet valid) than
   // the expected result
   private final int len;
 
   public JWS(JWK jwk) {
+    this(jwk, EnginePool.DEFAULT_MAX_IDLE);
+  }
+
+  public JWS(JWK jwk, int maxIdleEngines) {
     if (jwk.use() != null && !"sig".equals(jwk.use())) {
       throw new IllegalArgumentException("JWK isn't meant to perform JWS operations");
     }
 
+    final String alg = jwk.getAlgorithm();
+    final Mac mac = jwk.mac();
+
     try {
-      this.signature = getSignature(jwk.getAlgorithm());
-      this.len = getSignatureLength(jwk.getAlgorithm(), jwk.publicKey());
+      // assert that the algorithm is supported
+      getSignature(alg);
+      this.len = getSignatureLength(alg, jwk.publicKey());
     } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
       throw new RuntimeException(e);
     }
 
+    if (mac != null) {
+      this.signers = null;
+      this.verifiers = null;
+      this.macs = cloneable(jwk) ? new EnginePool<>(() -> cloneMac(jwk), maxIdleEngines) : null;
+    } else {
+      final PrivateKey privateKey = jwk.privateKey();
+      final PublicKey publicKey = jwk.publicKey();
+
+      this.macs = null;
+
+      if (privateKey != null) {
+        this.signers = new EnginePool<>(() -> {
+          final Signature signature = getSignature(alg);
+          signature.initSign(privateKey);
+          return signature;
+        }, maxIdleEngines);
+      } else {
+        this.signers = null;
+      }
+
+      if (publicKey != null) {
+        this.verifiers = new EnginePool<>(() -> {
+          final Signature signature = getSignature(alg);
+          signature.initVerify(publicKey);
+          return signature;
+        }, maxIdleEngines);
+      } else {
+        this.verifiers = null;
+      }
+    }
+
     this.jwk = jwk;
   }
 
@@ -98,39 +142,66 @@ public final class JWS {
     if (payload == null) {
       throw new NullPointerException("payload is missing");
     }
+    return sign(payload, 0, payload.length);
+  }
+
+  private byte[] sign(byte[] payload, int offset, int length) {
 
     final Mac mac = jwk.mac();
 
     if (mac != null) {
-      synchronized (jwk) {
-        return mac.doFinal(payload);
+      if (macs == null) {
+        // the provider does not allow cloning, fallback to the shared instance
+        synchronized (jwk) {
+          mac.update(payload, offset, length);
+          return mac.doFinal();
+        }
       }
+      final Mac engine = macs.acquire();
+      engine.update(payload, offset, length);
+      final byte[] result = engine.doFinal();
+      macs.release(engine);
+      return result;
     } else {
-      final PrivateKey privateKey = jwk.privateKey();
-      final String kty = jwk.kty();
-
-      if (privateKey == null) {
+      if (signers == null) {
         throw new IllegalStateException("JWK doesn't contain secKey material");
       }
       try {
-        synchronized (signature) {
-          signature.initSign(privateKey);
-          signature.update(payload);
-          byte[] sig = signature.sign();
-          switch (kty) {
-            case "EC":
-              return JWS.toJWS(sig, len);
-            default:
-              return sig;
-          }
+        final Signature signature = signers.acquire();
+        signature.update(payload, offset, length);
+        final byte[] sig = signature.sign();
+        // sign() resets the engine to the initialized state
+        signers.release(signature);
+
+        switch (jwk.kty()) {
+          case "EC":
+            return JWS.toJWS(sig, len);
+          default:
+            return sig;
         }
-      } catch (SignatureException | InvalidKeyException e) {
+      } catch (SignatureException e) {
         throw new RuntimeException(e);
       }
     }
   }
 
   public boolean verify(byte[] expected, byte[] payload) {
+    if (payload == null) {
+      throw new NullPointerException("payload is missing");
+    }
+    return verify(expected, payload, 0, payload.length);
+  }
+
+  /**
+   * Verify a signature over a slice of a larger array, for example the signing input of a token without copying it.
+   *
+   * @param expected the signature
+   * @param payload  the array containing the signed data
+   * @param offset   the start of the signed data
+   * @param length   the length of the signed data
+   * @return true if the signature is valid
+   */
+  public boolean verify(byte[] expected, byte[] payload, int offset, int length) {
     if (expected == null) {
       throw new NullPointerException("signature is missing");
     }
@@ -141,45 +212,89 @@ public final class JWS {
     final Mac mac = jwk.mac();
 
     if (mac != null) {
-      synchronized (jwk) {
-        return MessageDigest.isEqual(expected, sign(payload));
-      }
+      return MessageDigest.isEqual(expected, sign(payload, offset, length));
     } else {
-      try {
-        final PublicKey publicKey = jwk.publicKey();
-        final String kty = jwk.kty();
+      if (verifiers == null) {
+        throw new IllegalStateException("JWK doesn't contain pubKey material");
+      }
 
-        if (publicKey == null) {
-          throw new IllegalStateException("JWK doesn't contain pubKey material");
-        }
-        synchronized (signature) {
-          signature.initVerify(publicKey);
-          signature.update(payload);
-          switch (kty) {
-            case "EC":
-              // JCA EC signatures expect ASN1 formatted signatures
-              // while JWS uses it's own format (R+S), while this will be true
-              // for all JWS, it may not be true for COSE keys
-              if (!JWS.isASN1(expected)) {
-                expected = JWS.toASN1(expected);
-              }
-              break;
+      switch (jwk.kty()) {
+        case "EC":
+          // JCA EC signatures expect ASN1 formatted signatures
+          // while JWS uses it's own format (R+S), while this will be true
+          // for all JWS, it may not be true for COSE keys
+          if (!JWS.isASN1(expected)) {
+            expected = JWS.toASN1(expected);
           }
-          if (expected.length < len) {
-            // need to adapt the expectation to make the RSA? engine happy
-            byte[] normalized = new byte[len];
-            System.arraycopy(expected, 0, normalized, 0, expected.length);
-            return signature.verify(normalized);
-          } else {
-            return signature.verify(expected);
-          }
-        }
-      } catch (SignatureException | InvalidKeyException e) {
+          break;
+      }
+
+      if (expected.length < len) {
+        // need to adapt the expectation to make the RSA? engine happy
+        byte[] normalized = new byte[len];
+        System.arraycopy(expected, 0, normalized, 0, expected.length);
+        expected = normalized;
+      }
+
+      try {
+        final Signature signature = verifiers.acquire();
+        signature.update(payload, offset, length);
+        final boolean verified = signature.verify(expected);
+        // verify() resets the engine to the initialized state
+        verifiers.release(signature);
+        return verified;
+      } catch (SignatureException e) {
         throw new RuntimeException(e);
       }
     }
   }
 
+  /**
+   * @return the pool of signing engines, {@code null} when the key cannot sign or is a MAC key.
+   */
+  public EnginePool<Signature> signers() {
+    return signers;
+  }
+
+  /**
+   * @return the pool of verifying engines, {@code null} when the key cannot verify or is a MAC key.
+   */
+  public EnginePool<Signature> verifiers() {
+    return verifiers;
+  }
+
+  /**
+   * @return the pool of MAC engines, {@code null} when the key isn't a MAC key or the provider does not support
+   * cloning.
+   */
+  public EnginePool<Mac> macs() {
+    return macs;
+  }
+
+  private static boolean cloneable(JWK jwk) {
+    synchronized (jwk) {
+      try {
+        jwk.mac().clone();
+        return true;
+      } catch (CloneNotSupportedException e) {
+        LOG.debug("MAC provider does not support cloning, JWS operations will be serialized: " + jwk.mac().getProvider());
+        return false;
+      }
+    }
+  }
+
+  private static Mac cloneMac(JWK jwk) {
+    // cloning reads the shared instance state, which is only safe while no operation is using it
+    synchronized (jwk) {
+      try {
+        return (Mac) jwk.mac().clone();
+      } catch (CloneNotSupportedException e) {
+        // already asserted on construction
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
   public JWK jwk() {
     return jwk;
   }
@@ -23,6 +23,8 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.JWTOptions;
 import io.vertx.ext.auth.NoSuchKeyIdException;
 import io.vertx.ext.auth.impl.CertificateHelper;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -51,11 +53,59 @@ public final class JWT {
 
   private boolean allowEmbeddedKey = false;
   private X509Certificate rootCA;
-  private MessageDigest nonceDigest;
+  private volatile EnginePool<MessageDigest> nonceDigests;
+  private volatile Set<String> eagerClaims = LazyClaims.REGISTERED_CLAIMS;
 
   // keep 2 maps (1 for sing, 1 for verify) this simplifies the lookups
+  // the values are never modified, on change they are replaced (copy-on-write) so lookups do not need to lock
   private final Map<String, List<JWS>> SIGN = new ConcurrentHashMap<>();
-  private final Map<String, List<JWS>> VERIFY = new ConcurrentHashMap<>();
+  private final Map<String, Verifiers> VERIFY = new ConcurrentHashMap<>();
+
+  /**
+   * The verifiers of a single algorithm, indexed by key id.
+   */
+  private static final class Verifiers {
+    // all verifiers, in insertion order
+    private final List<JWS> all;
+    // the verifiers without a key id, these can verify any token
+    private final List<JWS> anonymous;
+    // for each key id, the verifiers with that id followed by the anonymous ones
+    private final Map<String, List<JWS>> byKid;
+
+    private Verifiers(List<JWS> all) {
+      this.all = Collections.unmodifiableList(all);
+
+      final List<JWS> anonymous = new ArrayList<>();
+      final Map<String, List<JWS>> byKid = new HashMap<>();
+
+      for (JWS jws : all) {
+        final String id = jws.jwk().getId();
+        if (id == null) {
+          anonymous.add(jws);
+        } else if (!byKid.containsKey(id)) {
+          // keep the same order a linear scan of all verifiers would use
+          final List<JWS> candidates = new ArrayList<>();
+          for (JWS candidate : all) {
+            if (candidate.jwk().getId() == null || id.equals(candidate.jwk().getId())) {
+              candidates.add(candidate);
+            }
+          }
+          byKid.put(id, Collections.unmodifiableList(candidates));
+        }
+      }
+
+      this.anonymous = Collections.unmodifiableList(anonymous);
+      this.byKid = byKid;
+    }
+
+    private List<JWS> candidates(String kid) {
+      if (kid == null) {
+        return all;
+      }
+      final List<JWS> candidates = byKid.get(kid);
+      return candidates == null ? anonymous : candidates;
+    }
+  }
 
   /**
    * Adds a JSON Web Key (rfc7517) to the signature maps.
@@ -66,15 +116,14 @@ public final class JWT {
   public JWT addJWK(JWK jwk) {
 
     if (jwk.use() == null || "sig".equals(jwk.use())) {
-      List<JWS> current;
       synchronized (this) {
         if (jwk.mac() != null || jwk.publicKey() != null) {
-          current = VERIFY.computeIfAbsent(jwk.getAlgorithm(), k -> new ArrayList<>());
-          addJWK(current, jwk);
+          final Verifiers current = VERIFY.get(jwk.getAlgorithm());
+          VERIFY.put(jwk.getAlgorithm(), new Verifiers(addJWK(current == null ? Collections.emptyList() : current.all, jwk)));
         }
         if (jwk.mac() != null || jwk.privateKey() != null) {
-          current = SIGN.computeIfAbsent(jwk.getAlgorithm(), k -> new ArrayList<>());
-          addJWK(current, jwk);
+          final List<JWS> current = SIGN.get(jwk.getAlgorithm());
+          SIGN.put(jwk.getAlgorithm(), Collections.unmodifiableList(addJWK(current == null ? Collections.emptyList() : current, jwk)));
         }
       }
     } else {
@@ -117,19 +166,14 @@ public final class JWT {
   }
 
   public JWT nonceAlgorithm(String alg) {
-    if (alg == null) {
-      nonceDigest = null;
-    } else {
-      try {
-        nonceDigest = MessageDigest.getInstance(alg);
-      } catch (NoSuchAlgorithmException e) {
-        throw new IllegalArgumentException(e);
-      }
-    }
+    // fails with an IllegalArgumentException when the algorithm is not available
+    nonceDigests = alg == null ? null : Digests.pool(alg);
     return this;
   }
 
-  private void addJWK(List<JWS> current, JWK jwk) {
+  private static List<JWS> addJWK(List<JWS> existing, JWK jwk) {
+    // never modify the existing list, it may be in use by a lookup
+    final List<JWS> current = new ArrayList<>(existing);
     boolean replaced = false;
     for (int i = 0; i < current.size(); i++) {
       if (current.get(i).jwk().label().equals(jwk.label())) {
@@ -145,6 +189,7 @@ public final class JWT {
       // non existent, add it!
       current.add(new JWS(jwk));
     }
+    return current;
   }
 
   public static JsonObject parse(final byte[] token) {
@@ -182,25 +227,89 @@ public final class JWT {
   }
 
   public JsonObject decode(final String token, boolean full, List<X509CRL> crls) {
-    // lock the secure state
-    String[] segments = token.split("\\.");
+    final Decoded decoded = decodeToken(token, crls);
+    return full ? new JsonObject().put("header", decoded.header).put("payload", decoded.claims.json()) : decoded.claims.json();
+  }
+
+  /**
+   * Decodes and verifies a token like {@link #decode(String, List)}, however the payload is returned as
+   * {@link LazyClaims}, where only the registered claims and the claims configured with {@link #eagerClaim(String)}
+   * are parsed upfront.
+   *
+   * @param token the token
+   * @param crls  optional certificate revocation lists
+   * @return the token claims
+   */
+  public LazyClaims decodeClaims(final String token, List<X509CRL> crls) {
+    return decodeToken(token, crls).claims;
+  }
+
+  /**
+   * Adds a claim to be parsed upfront when decoding the token payload, the registered claims (iss, sub, aud, exp,
+   * nbf, iat, jti) are always parsed upfront.
+   *
+   * @param claim the top level claim name
+   * @return fluent self
+   */
+  public JWT eagerClaim(String claim) {
+    final Set<String> claims = new HashSet<>(eagerClaims);
+    claims.add(claim);
+    eagerClaims = Collections.unmodifiableSet(claims);
+    return this;
+  }
+
+  /**
+   * @return the claims that are parsed upfront when decoding a token.
+   */
+  public Set<String> eagerClaims() {
+    return eagerClaims;
+  }
+
+  private static final class Decoded {
+    private final JsonObject header;
+    private final LazyClaims claims;
+
+    private Decoded(JsonObject header, LazyClaims claims) {
+      this.header = header;
+      this.claims = claims;
+    }
+  }
+
+  private Decoded decodeToken(final String token, List<X509CRL> crls) {
+    // a token is plain ASCII, the raw bytes are used both for the base64 decoding
+    // and as the signing input, so no intermediate strings are needed
+    final byte[] raw = token.getBytes(StandardCharsets.US_ASCII);
 
-    if (segments.length < 2) {
+    // locate the segments boundaries in a single scan
+    final int headerEnd = indexOf(raw, '.', 0);
+
+    if (headerEnd == -1 || onlySeparators(raw, headerEnd)) {
       throw new IllegalStateException("Invalid format for JWT");
     }
 
-    // All segment should be base64
-    String headerSeg = segments[0];
-    String payloadSeg = segments[1];
-    String signatureSeg = segments.length == 3 ? segments[2] : null;
+    final int payloadEnd = indexOf(raw, '.', headerEnd + 1);
+    final int signatureEnd;
 
-    // empty signature is never allowed
-    if ("".equals(signatureSeg)) {
-      throw new IllegalStateException("Signature is required");
+    // trailing separators are not considered segments
+    final boolean signed = payloadEnd != -1 && !onlySeparators(raw, payloadEnd);
+
+    if (signed) {
+      final int next = indexOf(raw, '.', payloadEnd + 1);
+      // a token has at most 3 segments, anything after the signature would not be verified
+      if (next != -1 && !onlySeparators(raw, next)) {
+        throw new IllegalStateException("Invalid format for JWT");
+      }
+      signatureEnd = next == -1 ? raw.length : next;
+      // empty signature is never allowed
+      if (signatureEnd == payloadEnd + 1) {
+        throw new IllegalStateException("Signature is required");
+      }
+    } else {
+      signatureEnd = -1;
     }
 
     // base64 decode and parse JSON
-    JsonObject header = new JsonObject(Buffer.buffer(base64UrlDecode(headerSeg)));
+    JsonObject header = new JsonObject(Buffer.buffer(base64UrlDecode(raw, 0, headerEnd)));
 
     final boolean unsecure = isUnsecure();
     if (unsecure) {
@@ -208,16 +317,19 @@ public final class JWT {
       // unsecure mode validation. In this case the number of segments must be 2
       // if there is a certificate chain, we allow it to proceed and later we will assert
       // against this chain
-      if (!allowEmbeddedKey && segments.length != 2) {
+      if (!allowEmbeddedKey && signed) {
         throw new IllegalStateException("JWT is in unsecured mode but token is signed.");
       }
     } else {
-      if (!allowEmbeddedKey && segments.length != 3) {
+      if (!allowEmbeddedKey && !signed) {
         throw new IllegalStateException("JWT is in secure mode but token is not signed.");
       }
     }
 
-    JsonObject payload = new JsonObject(Buffer.buffer(base64UrlDecode(payloadSeg)));
+    final int signingInputLength = payloadEnd == -1 ? raw.length : payloadEnd;
+
+    // only the claims required for validation are parsed, the rest is parsed on demand
+    final LazyClaims payload = new LazyClaims(base64UrlDecode(raw, headerEnd + 1, signingInputLength - headerEnd - 1), eagerClaims);
 
     String alg = header.getString("alg");
 
@@ -228,8 +340,8 @@ public final class JWT {
 
     // handle the x5c case, only in allowEmbeddedKey mode
     if (allowEmbeddedKey && header.containsKey("x5c")) {
-      // if signatureSeg is null fail
-      if (signatureSeg == null) {
+      // if signature is null fail
+      if (!signed) {
         throw new IllegalStateException("missing signature segment");
       }
 
@@ -257,9 +369,9 @@ public final class JWT {
           CertificateHelper.checkValidity(certChain, false, crls);
         }
 
-        if (JWS.verifySignature(alg, certChain.get(0), base64UrlDecode(signatureSeg), (headerSeg + "." + payloadSeg).getBytes(UTF8))) {
+        if (JWS.verifySignature(alg, certChain.get(0), base64UrlDecode(raw, payloadEnd + 1, signatureEnd - payloadEnd - 1), Arrays.copyOf(raw, signingInputLength))) {
           // ok
-          return full ? new JsonObject().put("header", header).put("payload", payload) : payload;
+          return new Decoded(header, payload);
         } else {
           throw new RuntimeException("Signature verification failed");
         }
@@ -270,52 +382,72 @@ public final class JWT {
 
     // verify signature. `sign` will return base64 string.
     if (!unsecure) {
-      List<JWS> signatures = VERIFY.get(alg);
+      final Verifiers verifiers = VERIFY.get(alg);
 
-      if (signatures == null || signatures.size() == 0) {
+      if (verifiers == null || verifiers.all.size() == 0) {
         throw new NoSuchKeyIdException(alg);
       }
 
-      // if signatureSeg is null fail
-      if (signatureSeg == null) {
+      // if signature is null fail
+      if (!signed) {
         throw new IllegalStateException("missing signature segment");
       }
-      byte[] payloadInput = base64UrlDecode(signatureSeg);
-      if (nonceDigest != null && header.containsKey("nonce")) {
+      byte[] payloadInput = base64UrlDecode(raw, payloadEnd + 1, signatureEnd - payloadEnd - 1);
+      byte[] signingInput = raw;
+      int signingInputEnd = signingInputLength;
+
+      final EnginePool<MessageDigest> nonceDigests = this.nonceDigests;
+      if (nonceDigests != null && header.containsKey("nonce")) {
         // this is an Azure Graph extension, a nonce is added to the token
         // after the serialization. The original value is the digest of the
         // post value.
-        synchronized (this) {
-          nonceDigest.reset();
-          header.put("nonce", base64UrlEncode(nonceDigest.digest(header.getString("nonce").getBytes(StandardCharsets.UTF_8))));
-          headerSeg = base64UrlEncode(header.encode().getBytes(StandardCharsets.UTF_8));
-        }
+        header.put("nonce", base64UrlEncode(Digests.digest(nonceDigests, header.getString("nonce").getBytes(StandardCharsets.UTF_8))));
+        final String headerSeg = base64UrlEncode(header.encode().getBytes(StandardCharsets.UTF_8));
+        // the signing input is the re-encoded header + the original payload
+        final byte[] headerBytes = headerSeg.getBytes(StandardCharsets.US_ASCII);
+        signingInputEnd = headerBytes.length + signingInputLength - headerEnd;
+        signingInput = new byte[signingInputEnd];
+        System.arraycopy(headerBytes, 0, signingInput, 0, headerBytes.length);
+        System.arraycopy(raw, headerEnd, signingInput, headerBytes.length, signingInputLength - headerEnd);
       }
-      byte[] signingInput = (headerSeg + "." + payloadSeg).getBytes(UTF8);
 
       String kid = header.getString("kid");
-      boolean hasKey = false;
+      // if a token has a kid only the keys with the same id (or without id) are candidates
+      final List<JWS> candidates = verifiers.candidates(kid);
 
-      for (JWS jws : signatures) {
-        // if a token has a kid and it doesn't match the crypto id skip it
-        if (kid != null && jws.jwk().getId() != null && !kid.equals(jws.jwk().getId())) {
-          continue;
-        }
-        // signal that this object crypto's list has the required key
-        hasKey = true;
-        if (jws.verify(payloadInput, signingInput)) {
-          return full ? new JsonObject().put("header", header).put("payload", payload) : payload;
+      for (JWS jws : candidates) {
+        if (jws.verify(payloadInput, signingInput, 0, signingInputEnd)) {
+          return new Decoded(header, payload);
         }
       }
 
-      if (hasKey) {
+      // the required key was present, but the signature didn't match
+      if (candidates.size() > 0) {
         throw new RuntimeException("Signature verification failed");
       } else {
         throw new NoSuchKeyIdException(alg, kid);
       }
     }
 
-    return full ? new JsonObject().put("header", header).put("payload", payload) : payload;
+    return new Decoded(header, payload);
+  }
+
+  private static int indexOf(byte[] bytes, char c, int from) {
+    for (int i = from; i < bytes.length; i++) {
+      if (bytes[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean onlySeparators(byte[] bytes, int from) {
+    for (int i = from; i < bytes.length; i++) {
+      if (bytes[i] != '.') {
+        return false;
+      }
+    }
+    return true;
   }
 
   public String sign(JsonObject payload, JWTOptions options) {
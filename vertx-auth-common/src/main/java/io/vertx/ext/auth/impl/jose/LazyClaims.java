@@ -0,0 +1,300 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl.jose;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.JacksonCodec;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A view over the decoded (JSON) payload of a token that only materializes what is read.
+ * <p>
+ * On creation the payload is scanned once: the field names are recorded and only the values of the {@code eager}
+ * claims (usually the registered claims used for validation) are parsed. All other values are skipped without
+ * being decoded. The full payload is parsed the first time a non eager value is read, iterated or modified.
+ * <p>
+ * The views returned by {@link #json()} are regular {@link JsonObject}s backed by a lazy map, so this is transparent
+ * to users of the payload. All views of the same claims share the same parsed values, like values copied from one
+ * {@link JsonObject} to another would.
+ */
+public final class LazyClaims {
+
+  /**
+   * The registered claims that are required to validate a token.
+   */
+  public static final Set<String> REGISTERED_CLAIMS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+    "iss", "sub", "aud", "exp", "nbf", "iat", "jti")));
+
+  private final byte[] payload;
+  // all top level field names, in document order
+  private final Set<String> names;
+  // the parsed values of the eager claims
+  private final Map<String, Object> eager;
+  // the fully parsed payload, only when required
+  private volatile Map<String, Object> parsed;
+
+  public LazyClaims(byte[] payload) {
+    this(payload, REGISTERED_CLAIMS);
+  }
+
+  public LazyClaims(byte[] payload, Set<String> eagerClaims) {
+    this.payload = Objects.requireNonNull(payload);
+    this.names = new LinkedHashSet<>();
+    this.eager = new HashMap<>();
+
+    try (JsonParser parser = JacksonCodec.createParser(Buffer.buffer(payload))) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new DecodeException("JSON payload is not an object");
+      }
+      String name;
+      while ((name = parser.nextFieldName()) != null) {
+        final JsonToken token = parser.nextToken();
+        names.add(name);
+        if (eagerClaims.contains(name)) {
+          eager.put(name, readValue(parser, token));
+        } else {
+          // still validates the JSON structure, but doesn't decode anything
+          parser.skipChildren();
+        }
+      }
+      if (parser.nextToken() != null) {
+        throw new DecodeException("Unexpected trailing token");
+      }
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return the raw (JSON) payload.
+   */
+  public byte[] bytes() {
+    return payload;
+  }
+
+  /**
+   * @return {@code true} if the top level object contains the given claim.
+   */
+  public boolean containsKey(String claim) {
+    return names.contains(claim);
+  }
+
+  /**
+   * Get the value of a claim, reading a non eager claim will parse the whole payload.
+   *
+   * @param claim the claim name
+   * @return the raw value (Map, List, String, Number, Boolean) or {@code null}
+   */
+  public Object get(String claim) {
+    if (!names.contains(claim)) {
+      return null;
+    }
+    if (eager.containsKey(claim)) {
+      return eager.get(claim);
+    }
+    return parsed().get(claim);
+  }
+
+  /**
+   * @return {@code true} once the full payload has been parsed.
+   */
+  public boolean isParsed() {
+    return parsed != null;
+  }
+
+  /**
+   * @return a {@link JsonObject} view of the whole payload.
+   */
+  public JsonObject json() {
+    return new JsonObject(new ClaimsMap(this, Collections.emptyMap(), Collections.emptySet()));
+  }
+
+  /**
+   * Create a {@link JsonObject} view that starts with the {@code extra} entries, followed by all claims except the
+   * {@code excluded} ones.
+   *
+   * @param extra    entries to prepend (these take precedence over the claims)
+   * @param excluded claims not to be visible in the view
+   * @return the view
+   */
+  public JsonObject json(Map<String, Object> extra, Set<String> excluded) {
+    return new JsonObject(new ClaimsMap(this, extra, excluded));
+  }
+
+  Map<String, Object> parsed() {
+    Map<String, Object> result = parsed;
+    if (result == null) {
+      synchronized (this) {
+        result = parsed;
+        if (result == null) {
+          result = new LinkedHashMap<>();
+          try (JsonParser parser = JacksonCodec.createParser(Buffer.buffer(payload))) {
+            // the structure has already been validated
+            parser.nextToken();
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+              final JsonToken token = parser.nextToken();
+              if (eager.containsKey(name)) {
+                // keep the same instances, they may have been handed out already
+                parser.skipChildren();
+                result.put(name, eager.get(name));
+              } else {
+                result.put(name, readValue(parser, token));
+              }
+            }
+          } catch (IOException e) {
+            throw new DecodeException("Failed to decode:" + e.getMessage(), e);
+          }
+          parsed = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+    switch (token) {
+      case START_OBJECT:
+        final Map<String, Object> object = new LinkedHashMap<>();
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+          object.put(name, readValue(parser, parser.nextToken()));
+        }
+        return object;
+      case START_ARRAY:
+        final List<Object> array = new ArrayList<>();
+        JsonToken next;
+        while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+          array.add(readValue(parser, next));
+        }
+        return array;
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new DecodeException("Unexpected token");
+    }
+  }
+
+  /**
+   * The backing map of a view. Lookups are answered from the eager claims, any other access copies the parsed claims
+   * into a map owned by this view, so modifications do not affect other views.
+   */
+  private static final class ClaimsMap extends AbstractMap<String, Object> {
+
+    private final LazyClaims claims;
+    private final Map<String, Object> extra;
+    private final Set<String> excluded;
+
+    private Map<String, Object> delegate;
+
+    private ClaimsMap(LazyClaims claims, Map<String, Object> extra, Set<String> excluded) {
+      this.claims = claims;
+      this.extra = extra;
+      this.excluded = excluded;
+    }
+
+    private Map<String, Object> delegate() {
+      if (delegate == null) {
+        final Map<String, Object> map = new LinkedHashMap<>(extra);
+        for (Map.Entry<String, Object> kv : claims.parsed().entrySet()) {
+          if (!excluded.contains(kv.getKey()) && !map.containsKey(kv.getKey())) {
+            map.put(kv.getKey(), kv.getValue());
+          }
+        }
+        delegate = map;
+      }
+      return delegate;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      if (delegate != null) {
+        return delegate.containsKey(key);
+      }
+      return extra.containsKey(key) || (!excluded.contains(key) && key instanceof String && claims.containsKey((String) key));
+    }
+
+    @Override
+    public Object get(Object key) {
+      if (delegate != null) {
+        return delegate.get(key);
+      }
+      if (extra.containsKey(key)) {
+        return extra.get(key);
+      }
+      if (excluded.contains(key) || !(key instanceof String)) {
+        return null;
+      }
+      return claims.get((String) key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      if (delegate != null) {
+        return delegate.isEmpty();
+      }
+      if (!extra.isEmpty()) {
+        return false;
+      }
+      for (String name : claims.names) {
+        if (!excluded.contains(name)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+      return delegate().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+      return delegate().remove(key);
+    }
+
+    @Override
+    public void clear() {
+      delegate().clear();
+    }
+
+    @Override
+    public int size() {
+      return delegate().size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return delegate().entrySet();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package io.vertx.ext.auth;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authorization.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AuthorizationsIndexTest {
+
+  private static final List<Authorization> GRANTS = Arrays.asList(
+    RoleBasedAuthorization.create("admin"),
+    RoleBasedAuthorization.create("editor").setResource("news"),
+    PermissionBasedAuthorization.create("read"),
+    PermissionBasedAuthorization.create("write").setResource("doc1"),
+    WildcardPermissionBasedAuthorization.create("printer:print,query"),
+    WildcardPermissionBasedAuthorization.create("scanner:*:color"),
+    WildcardPermissionBasedAuthorization.create("newsletter:edit:*").setResource("n1"),
+    WildcardPermissionBasedAuthorization.create("*:view"),
+    OrAuthorization.create().addAuthorization(RoleBasedAuthorization.create("legacy")));
+
+  private static final List<Authorization> REQUIRED = Arrays.asList(
+    RoleBasedAuthorization.create("admin"),
+    RoleBasedAuthorization.create("admin").setResource("x"),
+    RoleBasedAuthorization.create("editor"),
+    RoleBasedAuthorization.create("editor").setResource("news"),
+    RoleBasedAuthorization.create("legacy"),
+    RoleBasedAuthorization.create("unknown"),
+    PermissionBasedAuthorization.create("read"),
+    PermissionBasedAuthorization.create("read").setResource("doc1"),
+    PermissionBasedAuthorization.create("write"),
+    PermissionBasedAuthorization.create("write").setResource("doc1"),
+    PermissionBasedAuthorization.create("printer:print"),
+    PermissionBasedAuthorization.create("printer:query:lp0"),
+    PermissionBasedAuthorization.create("printer:manage"),
+    PermissionBasedAuthorization.create("scanner:a4:color"),
+    PermissionBasedAuthorization.create("scanner:a4:mono"),
+    PermissionBasedAuthorization.create("scanner:a4"),
+    PermissionBasedAuthorization.create("anything:view"),
+    WildcardPermissionBasedAuthorization.create("read"),
+    WildcardPermissionBasedAuthorization.create("printer:print,query"),
+    WildcardPermissionBasedAuthorization.create("printer:print,manage"),
+    WildcardPermissionBasedAuthorization.create("printer"),
+    WildcardPermissionBasedAuthorization.create("newsletter:edit:123"),
+    WildcardPermissionBasedAuthorization.create("newsletter:edit:123").setResource("n1"),
+    WildcardPermissionBasedAuthorization.create("newsletter:edit").setResource("n1"),
+    WildcardPermissionBasedAuthorization.create("newsletter:edit:123").setResource("n2"),
+    WildcardPermissionBasedAuthorization.create("scanner:*:color"));
+
+  private static User user() {
+    final User user = User.create(new JsonObject().put("username", "paulo"));
+    for (int i = 0; i < GRANTS.size(); i++) {
+      user.authorizations().add("provider" + (i % 2), GRANTS.get(i));
+    }
+    return user;
+  }
+
+  @Test
+  public void testIndexMatchesLinearScan() {
+    final User user = user();
+
+    for (Authorization required : REQUIRED) {
+      boolean expected = false;
+      for (Authorization grant : GRANTS) {
+        if (grant.verify(required)) {
+          expected = true;
+          break;
+        }
+      }
+      assertEquals(required.toString(), expected, required.match(user));
+    }
+  }
+
+  @Test
+  public void testIndexIsUpdated() {
+    final User user = user();
+    final Authorization required = RoleBasedAuthorization.create("auditor");
+
+    assertFalse(required.match(user));
+    user.authorizations().add("provider0", RoleBasedAuthorization.create("auditor"));
+    assertTrue(required.match(user));
+    // changes through the returned sets are visible too
+    user.authorizations().get("provider0").remove(RoleBasedAuthorization.create("auditor"));
+    assertFalse(required.match(user));
+    user.authorizations().get("provider1").add(RoleBasedAuthorization.create("auditor"));
+    assertTrue(required.match(user));
+    user.authorizations().clear("provider1");
+    assertFalse(required.match(user));
+  }
+
+  @Test
+  public void testIndexSeesGrantChanges() {
+    final User user = user();
+    final RoleBasedAuthorization role = RoleBasedAuthorization.create("auditor");
+    final PermissionBasedAuthorization permission = PermissionBasedAuthorization.create("delete");
+    final WildcardPermissionBasedAuthorization wildcard = WildcardPermissionBasedAuthorization.create("archive:*");
+    user.authorizations()
+      .add("provider0", role)
+      .add("provider0", permission)
+      .add("provider1", wildcard);
+
+    assertTrue(RoleBasedAuthorization.create("auditor").match(user));
+    assertTrue(PermissionBasedAuthorization.create("delete").match(user));
+    assertTrue(PermissionBasedAuthorization.create("archive:read").match(user));
+
+    // the grants change after the index was built
+    role.setResource("r1");
+    permission.setResource("d1");
+    wildcard.setResource("a1");
+
+    assertFalse(RoleBasedAuthorization.create("auditor").match(user));
+    assertTrue(RoleBasedAuthorization.create("auditor").setResource("r1").match(user));
+    assertFalse(PermissionBasedAuthorization.create("delete").match(user));
+    assertTrue(PermissionBasedAuthorization.create("delete").setResource("d1").match(user));
+    assertFalse(PermissionBasedAuthorization.create("archive:read").match(user));
+    assertTrue(PermissionBasedAuthorization.create("archive:read").setResource("a1").match(user));
+  }
+
+  @Test
+  public void testSharedGrantChanges() {
+    final User user1 = user();
+    final User user2 = user();
+    final RoleBasedAuthorization role = RoleBasedAuthorization.create("auditor");
+    user1.authorizations().add("provider0", role);
+    user2.authorizations().add("provider1", role);
+
+    assertTrue(RoleBasedAuthorization.create("auditor").match(user1));
+    assertTrue(RoleBasedAuthorization.create("auditor").match(user2));
+
+    // both indexes contain the grant
+    role.setResource("r1");
+
+    assertFalse(RoleBasedAuthorization.create("auditor").match(user1));
+    assertFalse(RoleBasedAuthorization.create("auditor").match(user2));
+    assertTrue(RoleBasedAuthorization.create("auditor").setResource("r1").match(user1));
+    assertTrue(RoleBasedAuthorization.create("auditor").setResource("r1").match(user2));
+
+    // the rebuilt indexes are notified too
+    role.setResource("r2");
+
+    assertFalse(RoleBasedAuthorization.create("auditor").setResource("r1").match(user1));
+    assertTrue(RoleBasedAuthorization.create("auditor").setResource("r2").match(user2));
+  }
+
+  @Test
+  public void testVariables() {
+    final User user = user();
+    user.authorizations().add("provider0", PermissionBasedAuthorization.create("write").setResource("doc2"));
+
+    final AuthorizationContext ctx = AuthorizationContext.create(user);
+    ctx.variables().add("id", "doc2");
+
+    assertTrue(PermissionBasedAuthorization.create("write").setResource("{id}").match(ctx));
+    assertFalse(PermissionBasedAuthorization.create("write").setResource("{id}").match(user));
+    ctx.variables().set("id", "doc3");
+    assertFalse(PermissionBasedAuthorization.create("write").setResource("{id}").match(ctx));
+    ctx.variables().set("id", "n1");
+    assertTrue(WildcardPermissionBasedAuthorization.create("newsletter:edit:1").setResource("{id}").match(ctx));
+  }
+}
@@ -0,0 +1,174 @@
+package io.vertx.ext.auth;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authorization.*;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class CachingAuthorizationProviderTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicBoolean fail = new AtomicBoolean();
+
+  // a slow provider that grants a role named after the user
+  private final AuthorizationProvider provider = new AuthorizationProvider() {
+    @Override
+    public String getId() {
+      return "slow";
+    }
+
+    @Override
+    public void getAuthorizations(User user, Handler<AsyncResult<Void>> handler) {
+      calls.incrementAndGet();
+      rule.vertx().setTimer(50, t -> {
+        if (fail.get()) {
+          handler.handle(Future.failedFuture("boom"));
+        } else {
+          user.authorizations().add(getId(), RoleBasedAuthorization.create("role-" + user.principal().getString("username")));
+          handler.handle(Future.succeededFuture());
+        }
+      });
+    }
+  };
+
+  private static User user(String username) {
+    return User.create(new JsonObject().put("username", username));
+  }
+
+  @Test
+  public void testSingleFlightAndCache(TestContext should) {
+    final Async test = should.async();
+    final CachingAuthorizationProvider cache = CachingAuthorizationProvider.create(provider);
+
+    final User u1 = user("paulo");
+    final User u2 = user("paulo");
+
+    CompositeFuture.all(cache.getAuthorizations(u1), cache.getAuthorizations(u2))
+      .compose(v -> {
+        should.assertEquals(1, calls.get());
+        should.assertTrue(RoleBasedAuthorization.create("role-paulo").match(u1));
+        should.assertTrue(RoleBasedAuthorization.create("role-paulo").match(u2));
+        // served from the cache
+        final User u3 = user("paulo");
+        return cache.getAuthorizations(u3).map(u3);
+      })
+      .onFailure(should::fail)
+      .onSuccess(u3 -> {
+        should.assertEquals(1, calls.get());
+        should.assertTrue(RoleBasedAuthorization.create("role-paulo").match(u3));
+        // the authorizations are added with the wrapped provider id
+        should.assertNotNull(u3.authorizations().get("slow"));
+
+        JsonObject metrics = cache.metrics();
+        should.assertEquals(1, metrics.getInteger("size"));
+        should.assertEquals(1L, metrics.getLong("loads"));
+        should.assertEquals(1L, metrics.getLong("hits"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testInvalidate(TestContext should) {
+    final Async test = should.async();
+    final CachingAuthorizationProvider cache = CachingAuthorizationProvider.create(provider);
+
+    cache.getAuthorizations(user("paulo"))
+      .compose(v -> cache.getAuthorizations(user("julien")))
+      .compose(v -> {
+        should.assertEquals(2, calls.get());
+        cache.invalidate("paulo");
+        return cache.getAuthorizations(user("paulo"));
+      })
+      .compose(v -> cache.getAuthorizations(user("julien")))
+      .compose(v -> {
+        should.assertEquals(3, calls.get());
+        cache.invalidateAll();
+        return cache.getAuthorizations(user("julien"));
+      })
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertEquals(4, calls.get());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testTtlAndMaxSize(TestContext should) {
+    final Async test = should.async();
+    final CachingAuthorizationProvider cache = CachingAuthorizationProvider.create(provider, new AuthorizationCacheOptions()
+      .setMaxSize(1)
+      .setTtl(100));
+
+    cache.getAuthorizations(user("paulo"))
+      // evicts paulo
+      .compose(v -> cache.getAuthorizations(user("julien")))
+      .compose(v -> cache.getAuthorizations(user("paulo")))
+      .compose(v -> {
+        should.assertEquals(3, calls.get());
+        final Promise<Void> wait = Promise.promise();
+        rule.vertx().setTimer(150, t -> wait.complete());
+        return wait.future();
+      })
+      // expired
+      .compose(v -> cache.getAuthorizations(user("paulo")))
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertEquals(4, calls.get());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testFailuresAreNotCached(TestContext should) {
+    final Async test = should.async();
+    final CachingAuthorizationProvider cache = CachingAuthorizationProvider.create(provider);
+
+    fail.set(true);
+    cache.getAuthorizations(user("paulo"))
+      .onSuccess(v -> should.fail("Should have failed"))
+      .onFailure(err -> {
+        fail.set(false);
+        final User user = user("paulo");
+        cache.getAuthorizations(user)
+          .onFailure(should::fail)
+          .onSuccess(v -> {
+            should.assertEquals(2, calls.get());
+            should.assertEquals(1L, cache.metrics().getLong("loadFailures"));
+            should.assertTrue(RoleBasedAuthorization.create("role-paulo").match(user));
+            test.complete();
+          });
+      });
+  }
+
+  @Test
+  public void testNoUsername(TestContext should) {
+    final Async test = should.async();
+    final CachingAuthorizationProvider cache = CachingAuthorizationProvider.create(provider);
+
+    cache.getAuthorizations(User.create(new JsonObject()))
+      .compose(v -> cache.getAuthorizations(User.create(new JsonObject())))
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertEquals(2, calls.get());
+        should.assertEquals(0, cache.metrics().getInteger("size"));
+        test.complete();
+      });
+  }
+}
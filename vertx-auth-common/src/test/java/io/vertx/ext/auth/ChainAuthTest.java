@@ -8,7 +8,10 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import org.junit.runner.RunWith;
 
 @RunWith(VertxUnitRunner.class)
@@ -220,4 +223,178 @@ public class ChainAuthTest {
       }
     });
   }
+
+  @Test
+  public void parallelAnyTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.create(rule.vertx(), new ChainAuthOptions().setParallel(true));
+
+    auth.add((authInfo, res) -> {
+      // never completes, the chain doesn't wait for it
+    });
+    auth.add((authInfo, res) -> res.handle(Future.failedFuture("not here")));
+    auth.add((authInfo, res) -> res.handle(Future.succeededFuture(createUser(new JsonObject().put("provider", 3)))));
+
+    auth.authenticate(new JsonObject())
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        should.assertEquals(3, user.principal().getInteger("provider"));
+        final JsonArray metrics = auth.metrics().getJsonArray("providers");
+        should.assertEquals(1L, metrics.getJsonObject(0).getLong("calls"));
+        should.assertEquals(0L, metrics.getJsonObject(0).getLong("successes"));
+        should.assertEquals(1L, metrics.getJsonObject(1).getLong("failures"));
+        should.assertEquals(1L, metrics.getJsonObject(2).getLong("successes"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void parallelAnyFailureTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.create(rule.vertx(), new ChainAuthOptions().setParallel(true));
+
+    auth.add((authInfo, res) -> res.handle(Future.failedFuture("not here")));
+    auth.add((authInfo, res) -> res.handle(Future.failedFuture("not here either")));
+
+    auth.authenticate(new JsonObject())
+      .onSuccess(user -> should.fail())
+      .onFailure(err -> test.complete());
+  }
+
+  @Test
+  public void parallelAllTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.create(rule.vertx(), new ChainAuthOptions().setAll(true).setParallel(true));
+
+    auth.add((authInfo, res) -> rule.vertx().setTimer(50, t -> res.handle(Future.succeededFuture(createUser(new JsonObject().put("provider", 1).put("first", true))))));
+    auth.add((authInfo, res) -> res.handle(Future.succeededFuture(createUser(new JsonObject().put("provider", 2)))));
+
+    auth.authenticate(new JsonObject())
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        // merged in the chain order, not the completion order
+        should.assertEquals(2, user.principal().getInteger("provider"));
+        should.assertTrue(user.principal().getBoolean("first"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void parallelAllFailureTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.create(rule.vertx(), new ChainAuthOptions().setAll(true).setParallel(true));
+
+    auth.add((authInfo, res) -> {
+      // never completes, the first failure is enough
+    });
+    auth.add((authInfo, res) -> res.handle(Future.failedFuture("not here")));
+
+    auth.authenticate(new JsonObject())
+      .onSuccess(user -> should.fail())
+      .onFailure(err -> {
+        should.assertEquals("not here", err.getMessage());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void timeoutTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.create(rule.vertx(), new ChainAuthOptions().setTimeout(100));
+
+    auth.add((authInfo, res) -> {
+      // never completes
+    });
+    auth.add((authInfo, res) -> res.handle(Future.succeededFuture(createUser(new JsonObject().put("provider", 2)))));
+
+    auth.authenticate(new JsonObject())
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        should.assertEquals(2, user.principal().getInteger("provider"));
+        final JsonObject metrics = auth.metrics().getJsonArray("providers").getJsonObject(0);
+        should.assertEquals(1L, metrics.getLong("timeouts"));
+        should.assertEquals(0L, metrics.getLong("failures"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void credentialsTypeTest(TestContext should) {
+    final Async test = should.async();
+    ChainAuth auth = ChainAuth.any();
+
+    auth.add((authInfo, res) -> {
+      should.fail("Tokens must not reach a password provider");
+      res.handle(Future.failedFuture("not a password"));
+    }, UsernamePasswordCredentials.class);
+    auth.add((authInfo, res) -> res.handle(Future.succeededFuture(createUser(new JsonObject().put("token", authInfo.getString("token"))))));
+
+    auth.authenticate(new TokenCredentials("abc"))
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        should.assertEquals("abc", user.principal().getString("token"));
+        final JsonObject metrics = auth.metrics().getJsonArray("providers").getJsonObject(0);
+        should.assertEquals(0L, metrics.getLong("calls"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void credentialsTypeAllTest(TestContext should) {
+    final Async test = should.async();
+
+    for (ChainAuthOptions options : new ChainAuthOptions[] {
+      new ChainAuthOptions().setAll(true),
+      new ChainAuthOptions().setAll(true).setParallel(true) }) {
+
+      final Async mode = should.async();
+      ChainAuth auth = ChainAuth.create(rule.vertx(), options);
+      auth.add((authInfo, res) -> res.handle(Future.succeededFuture(createUser(new JsonObject().put("token", authInfo.getString("token"))))));
+      // this provider can't check tokens, so the chain can't succeed
+      auth.add((authInfo, res) -> {
+        should.fail("Tokens must not reach a password provider");
+        res.handle(Future.failedFuture("not a password"));
+      }, UsernamePasswordCredentials.class);
+
+      auth.authenticate(new TokenCredentials("abc"))
+        .onSuccess(user -> should.fail("Should have failed"))
+        .onFailure(err -> {
+          should.assertEquals("Not all providers in the auth chain handle these credentials.", err.getMessage());
+          final JsonObject metrics = auth.metrics().getJsonArray("providers").getJsonObject(0);
+          should.assertEquals(0L, metrics.getLong("calls"));
+          mode.complete();
+        });
+    }
+
+    test.complete();
+  }
+
+  @Test
+  public void credentialsTypeNoProviderTest(TestContext should) {
+    final Async test = should.async();
+
+    for (ChainAuthOptions options : new ChainAuthOptions[] {
+      new ChainAuthOptions(),
+      new ChainAuthOptions().setParallel(true),
+      new ChainAuthOptions().setAll(true),
+      new ChainAuthOptions().setAll(true).setParallel(true) }) {
+
+      final Async mode = should.async();
+      ChainAuth auth = ChainAuth.create(rule.vertx(), options);
+      // all providers are pinned to another credentials type
+      auth.add((authInfo, res) -> {
+        should.fail("Tokens must not reach a password provider");
+        res.handle(Future.failedFuture("not a password"));
+      }, UsernamePasswordCredentials.class);
+
+      auth.authenticate(new TokenCredentials("abc"))
+        .onSuccess(user -> should.fail("Should have failed"))
+        .onFailure(err -> {
+          should.assertEquals("No more providers in the auth chain.", err.getMessage());
+          mode.complete();
+        });
+    }
+
+    test.complete();
+  }
 }
@@ -1,6 +1,14 @@
 package io.vertx.ext.auth;
 
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.impl.Codec;
+import io.vertx.ext.auth.impl.HashingWorker;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.Rule;
@@ -8,7 +16,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -89,4 +99,86 @@ public class HashingStrategyTest {
     // should be valid
     assertTrue(strategy.verify(hash, "SuperSecret$!"));
   }
+
+  @Test
+  public void testAsyncVerify(TestContext should) {
+    final Async test = should.async();
+    final HashingStrategy strategy = HashingStrategy.load();
+    final Thread eventLoop = Thread.currentThread();
+
+    strategy.hash(rule.vertx(), "pbkdf2", null, salt, "SuperSecret$!")
+      .compose(hash -> {
+        should.assertEquals(eventLoop, Thread.currentThread());
+        return CompositeFuture.all(
+          strategy.verify(rule.vertx(), hash, "SuperSecret$!"),
+          strategy.verify(rule.vertx(), hash, "superSecret$!"));
+      })
+      .onFailure(should::fail)
+      .onSuccess(all -> {
+        should.assertEquals(eventLoop, Thread.currentThread());
+        should.assertTrue(all.resultAt(0));
+        should.assertFalse(all.resultAt(1));
+
+        JsonObject metrics = HashingStrategy.metrics(rule.vertx());
+        should.assertEquals(3L, metrics.getLong("executions"));
+        should.assertEquals(0, metrics.getInteger("pending"));
+        should.assertTrue(metrics.getLong("maxNanos") > 0);
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testAsyncVerifyBackpressure(TestContext should) {
+    final Async test = should.async();
+    final HashingStrategy strategy = HashingStrategy.load();
+    final String hash = strategy.hash("pbkdf2", null, salt, "SuperSecret$!");
+    final HashingWorker worker = new HashingWorker(rule.vertx(), 1, 2);
+
+    List<Future> verifications = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      verifications.add(worker.verify(strategy, hash, "SuperSecret$!"));
+    }
+
+    // the queue is full, the extra checks are rejected right away
+    should.assertTrue(verifications.get(2).failed());
+    should.assertTrue(verifications.get(3).failed());
+
+    CompositeFuture.all(verifications.subList(0, 2))
+      .onFailure(should::fail)
+      .onSuccess(all -> {
+        JsonObject metrics = worker.metrics();
+        should.assertEquals(2L, metrics.getLong("executions"));
+        should.assertEquals(2L, metrics.getLong("rejections"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testAsyncVerifyAfterUndeploy(TestContext should) {
+    final Async test = should.async();
+    final HashingStrategy strategy = HashingStrategy.load();
+    final String hash = strategy.hash("pbkdf2", null, salt, "SuperSecret$!");
+
+    // the first use of the worker happens in a verticle
+    rule.vertx()
+      .deployVerticle(new AbstractVerticle() {
+        @Override
+        public void start(Promise<Void> startPromise) {
+          strategy.verify(vertx, hash, "SuperSecret$!")
+            .onFailure(startPromise::fail)
+            .onSuccess(valid -> {
+              should.assertTrue(valid);
+              startPromise.complete();
+            });
+        }
+      })
+      .compose(rule.vertx()::undeploy)
+      // the worker outlives the verticle
+      .compose(v -> strategy.verify(rule.vertx(), hash, "SuperSecret$!"))
+      .onFailure(should::fail)
+      .onSuccess(valid -> {
+        should.assertTrue(valid);
+        test.complete();
+      });
+  }
 }
@@ -118,6 +118,25 @@ public class JWTTest {
     assertTrue(jwt.decode(token).containsKey("test"));
   }
 
+  @Test
+  public void testTooManySegments() {
+    JWT jwt = new JWT()
+      .addJWK(new JWK(new PubSecKeyOptions().setAlgorithm("HS256").setBuffer("qnscAdgRlkIhAUPY44oiexBKtQbGY0orf7OV1I50")));
+
+    String token = jwt.sign(new JsonObject().put("test", "test"), new JWTOptions());
+    // trailing separators are not segments
+    assertNotNull(jwt.decode(token + "."));
+
+    for (String tampered : new String[] { token + ".garbage", token + "..x" }) {
+      try {
+        jwt.decode(tampered);
+        fail("4 segments should not verify: " + tampered);
+      } catch (IllegalStateException e) {
+        // expected
+      }
+    }
+  }
+
   @Test
   public void testECKeyPair() {
     JWT vk = new JWT()
@@ -155,6 +174,51 @@ public class JWTTest {
     JsonObject decoded = vk.decode(signed);
   }
 
+  @Test
+  public void testKidIndex() {
+    JWT verifier = new JWT();
+    for (int i = 0; i < 32; i++) {
+      verifier.addJWK(new JWK(new PubSecKeyOptions().setId("k" + i).setAlgorithm("HS256").setBuffer("secret-" + i)));
+    }
+
+    for (int i : new int[] {0, 17, 31}) {
+      String token = new JWT()
+        .addJWK(new JWK(new PubSecKeyOptions().setId("k" + i).setAlgorithm("HS256").setBuffer("secret-" + i)))
+        .sign(new JsonObject().put("key", i), new JWTOptions());
+      assertEquals(i, verifier.decode(token).getInteger("key").intValue());
+    }
+
+    // unknown kid
+    String unknown = new JWT()
+      .addJWK(new JWK(new PubSecKeyOptions().setId("k32").setAlgorithm("HS256").setBuffer("secret-32")))
+      .sign(new JsonObject(), new JWTOptions());
+    try {
+      verifier.decode(unknown);
+      fail("unknown kid should not verify");
+    } catch (NoSuchKeyIdException e) {
+      // expected
+    }
+
+    // known kid, wrong key
+    String wrong = new JWT()
+      .addJWK(new JWK(new PubSecKeyOptions().setId("k1").setAlgorithm("HS256").setBuffer("secret-2")))
+      .sign(new JsonObject(), new JWTOptions());
+    try {
+      verifier.decode(wrong);
+      fail("wrong key should not verify");
+    } catch (RuntimeException e) {
+      assertFalse(e instanceof NoSuchKeyIdException);
+    }
+
+    // keys without id are candidates for any kid
+    verifier.addJWK(new JWK(new PubSecKeyOptions().setAlgorithm("HS256").setBuffer("secret-32")));
+    assertNotNull(verifier.decode(unknown));
+
+    // replacing a key (same label) is visible to lookups
+    verifier.addJWK(new JWK(new PubSecKeyOptions().setId("k1").setAlgorithm("HS256").setBuffer("secret-2")));
+    assertNotNull(verifier.decode(wrong));
+  }
+
   @Test
   public void testGoogleCerts() {
     JWT jwt = new JWT();
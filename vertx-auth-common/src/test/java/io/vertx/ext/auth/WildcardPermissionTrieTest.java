@@ -0,0 +1,129 @@
+package io.vertx.ext.auth;
+
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.impl.WildcardPermissionTrie;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WildcardPermissionTrieTest {
+
+  private static final List<String> GRANTS = Arrays.asList(
+    "printer:print,query",
+    "printer:*:lp7",
+    "scanner:*",
+    "newsletter:edit,view,delete:12,13",
+    "*:audit",
+    "a::b",
+    ":c",
+    "d:e,*",
+    " f:g ",
+    "h,i:j");
+
+  private static final List<String> REQUIRED = Arrays.asList(
+    "printer",
+    "printer:print",
+    "printer:query:lp0",
+    "printer:print,query",
+    "printer:print,print",
+    "printer:print,manage",
+    "printer:manage:lp7",
+    "printer:manage:lp8",
+    "printer:manage",
+    "printer:print:",
+    "printer:print,query,,",
+    "scanner",
+    "scanner:a4:color",
+    "newsletter:edit:12",
+    "newsletter:edit,delete:13",
+    "newsletter:edit,delete:12,13",
+    "newsletter:edit,publish:12",
+    "newsletter:edit",
+    "anything:audit",
+    "anything:audit:log",
+    "anything",
+    "a::b",
+    "a::c",
+    "a:x:b",
+    ":c",
+    "c",
+    "d:anything",
+    "d",
+    "f:g",
+    "  f:g",
+    "h:j",
+    "i:j",
+    "h,i:j",
+    ",h:j",
+    "h:j,");
+
+  @Test
+  public void testImpliesString() {
+    // the in place scan must give the same result as parsing the candidate
+    for (String grant : GRANTS) {
+      for (String required : REQUIRED) {
+        assertEquals(
+          grant + " -> " + required,
+          WildcardPermissionBasedAuthorization.create(grant).verify(WildcardPermissionBasedAuthorization.create(required)),
+          WildcardPermissionBasedAuthorization.create(grant).verify(PermissionBasedAuthorization.create(required)));
+      }
+    }
+  }
+
+  @Test
+  public void testTrieMatchesLinearScan() {
+    final WildcardPermissionTrie trie = new WildcardPermissionTrie();
+    for (String grant : GRANTS) {
+      trie.add(grant, null);
+    }
+    assertEquals(GRANTS.size(), trie.size());
+
+    for (String required : REQUIRED) {
+      boolean expected = false;
+      for (String grant : GRANTS) {
+        if (WildcardPermissionBasedAuthorization.create(grant).verify(WildcardPermissionBasedAuthorization.create(required))) {
+          expected = true;
+          break;
+        }
+      }
+      assertEquals(required, expected, trie.implies(required, null));
+    }
+  }
+
+  @Test
+  public void testResources() {
+    final WildcardPermissionTrie trie = new WildcardPermissionTrie()
+      .add("printer:print", "lp0")
+      .add("printer:query", null);
+
+    assertTrue(trie.implies("printer:print", "lp0"));
+    assertFalse(trie.implies("printer:print", "lp1"));
+    assertFalse(trie.implies("printer:print", null));
+    assertTrue(trie.implies("printer:query", "lp1"));
+    assertTrue(trie.implies("printer:query", null));
+  }
+
+  @Test
+  public void testInvalid() {
+    final WildcardPermissionTrie trie = new WildcardPermissionTrie().add("printer", null);
+
+    for (String invalid : Arrays.asList("", "  ", ":::", "printer:,:x")) {
+      try {
+        trie.implies(invalid, null);
+        fail("Should have failed: " + invalid);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+      try {
+        WildcardPermissionBasedAuthorization.create("printer:x").verify(PermissionBasedAuthorization.create(invalid));
+        fail("Should have failed: " + invalid);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class BloomUsernameFilterTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private static Future<Void> load(List<String> usernames, Handler<String> sink) {
+    usernames.forEach(sink::handle);
+    return Future.succeededFuture();
+  }
+
+  private static List<String> usernames(String prefix, int count) {
+    List<String> usernames = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      usernames.add(prefix + i);
+    }
+    return usernames;
+  }
+
+  @Test
+  public void testFalsePositiveRate(TestContext should) {
+    final Async test = should.async();
+    final List<String> known = usernames("user", 10_000);
+
+    UsernameFilter filter = UsernameFilter.create(
+      rule.vertx(),
+      new UsernameFilterOptions().setExpectedUsernames(10_000).setFalsePositiveRate(0.01),
+      sink -> load(known, sink));
+
+    filter.rebuild()
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        // no false negatives
+        for (String username : known) {
+          should.assertTrue(filter.mightContain(username));
+        }
+
+        int falsePositives = 0;
+        for (String username : usernames("attacker", 100_000)) {
+          if (filter.mightContain(username)) {
+            falsePositives++;
+          }
+        }
+        // 1% expected, with some margin
+        should.assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+
+        JsonObject metrics = filter.metrics();
+        should.assertTrue(metrics.getBoolean("ready"));
+        should.assertEquals(7, metrics.getInteger("hashFunctions"));
+        // ~1.2 bytes per username
+        should.assertTrue(metrics.getLong("memoryBytes") < 12_500L);
+        should.assertEquals(100_000L - falsePositives, metrics.getLong("rejections"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testNotReady(TestContext should) {
+    final Promise<Void> loaded = Promise.promise();
+    UsernameFilter filter = UsernameFilter.create(rule.vertx(), new UsernameFilterOptions(), sink -> loaded.future());
+
+    // everything is looked up until the filter is loaded
+    should.assertTrue(filter.mightContain("unknown"));
+    should.assertFalse(filter.metrics().getBoolean("ready"));
+
+    loaded.complete();
+    should.assertFalse(filter.mightContain("unknown"));
+  }
+
+  @Test
+  public void testAddDuringRebuild(TestContext should) {
+    final List<String> store = new ArrayList<>(usernames("user", 10));
+    final List<Promise<Void>> loads = new ArrayList<>();
+
+    UsernameFilter filter = UsernameFilter.create(rule.vertx(), new UsernameFilterOptions(), sink -> {
+      store.forEach(sink::handle);
+      Promise<Void> promise = Promise.promise();
+      loads.add(promise);
+      return promise.future();
+    });
+    loads.get(0).complete();
+
+    final Future<Void> rebuild = filter.rebuild();
+    // concurrent rebuilds are shared
+    should.assertTrue(rebuild == filter.rebuild());
+    should.assertEquals(2, loads.size());
+
+    // created while the store was being read
+    filter.add("lopus");
+    should.assertTrue(filter.mightContain("lopus"));
+
+    loads.get(1).complete();
+    should.assertTrue(rebuild.succeeded());
+    should.assertTrue(filter.mightContain("lopus"));
+    should.assertTrue(filter.mightContain("user9"));
+    should.assertEquals(2L, filter.metrics().getLong("rebuilds"));
+  }
+
+  @Test
+  public void testFailedRebuild(TestContext should) {
+    final List<String> store = usernames("user", 10);
+    final boolean[] fail = { false };
+
+    UsernameFilter filter = UsernameFilter.create(rule.vertx(), new UsernameFilterOptions(), sink -> {
+      if (fail[0]) {
+        throw new IllegalStateException("connection refused");
+      }
+      return load(store, sink);
+    });
+
+    fail[0] = true;
+    Future<Void> rebuild = filter.rebuild();
+    should.assertTrue(rebuild.failed());
+    // the previous filter is kept
+    should.assertTrue(filter.mightContain("user1"));
+    should.assertFalse(filter.mightContain("unknown"));
+    should.assertEquals(1L, filter.metrics().getLong("rebuildFailures"));
+  }
+
+  @Test
+  public void testPeriodicRebuild(TestContext should) {
+    final Async test = should.async();
+    final List<String> store = new ArrayList<>(usernames("user", 10));
+
+    UsernameFilter filter = UsernameFilter.create(
+      rule.vertx(),
+      new UsernameFilterOptions().setRebuildInterval(10),
+      sink -> load(store, sink));
+
+    should.assertFalse(filter.mightContain("created-elsewhere"));
+    store.add("created-elsewhere");
+
+    rule.vertx().setPeriodic(5, t -> {
+      if (filter.mightContain("created-elsewhere")) {
+        rule.vertx().cancelTimer(t);
+        filter.close();
+        test.complete();
+      }
+    });
+  }
+
+  @Test
+  public void testCaseInsensitive(TestContext should) {
+    final Async test = should.async();
+    final List<String> store = new ArrayList<>();
+    store.add("Paulo");
+
+    UsernameFilter sensitive = UsernameFilter.create(rule.vertx(), new UsernameFilterOptions(), sink -> load(store, sink));
+    UsernameFilter insensitive = UsernameFilter.create(
+      rule.vertx(),
+      new UsernameFilterOptions().setCaseInsensitive(true),
+      sink -> load(store, sink));
+
+    should.assertTrue(sensitive.mightContain("Paulo"));
+    should.assertFalse(sensitive.mightContain("PAULO"));
+
+    insensitive.add("Tim");
+    should.assertTrue(insensitive.mightContain("PAULO"));
+    should.assertTrue(insensitive.mightContain("paulo"));
+    should.assertTrue(insensitive.mightContain("tIM"));
+    test.complete();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFalsePositiveRate() {
+    new UsernameFilterOptions().setFalsePositiveRate(1);
+  }
+}
@@ -27,4 +27,22 @@ public class CodecTest {
       Codec.base16Decode(Codec.base16Encode(source))
     );
   }
+
+  @Test
+  public void testBase64UrlSlice() {
+    for (String source : new String[] {"", "f", "fo", "foo", "foob", "fooba", "foobar", "\u00ff\u00fe?>"}) {
+      byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+      byte[] encoded = ("." + Codec.base64UrlEncode(bytes) + ".").getBytes(StandardCharsets.US_ASCII);
+      assertArrayEquals(bytes, Codec.base64UrlDecode(encoded, 1, encoded.length - 2));
+    }
+    // padding is optional
+    byte[] padded = "Zm9vYg==".getBytes(StandardCharsets.US_ASCII);
+    assertArrayEquals("foob".getBytes(StandardCharsets.UTF_8), Codec.base64UrlDecode(padded, 0, padded.length));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBase64UrlSliceInvalid() {
+    byte[] invalid = "Zm9v+g".getBytes(StandardCharsets.US_ASCII);
+    Codec.base64UrlDecode(invalid, 0, invalid.length);
+  }
 }
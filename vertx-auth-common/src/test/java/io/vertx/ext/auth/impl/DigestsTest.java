@@ -0,0 +1,56 @@
+package io.vertx.ext.auth.impl;
+
+import io.vertx.ext.auth.HashingStrategy;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class DigestsTest {
+
+  @Test
+  public void testDigest() throws Exception {
+    final byte[] data = "The quick brown fox jumps over the lazy dog.".getBytes(StandardCharsets.UTF_8);
+
+    assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), Digests.digest("SHA-256", data));
+    // the pools are shared
+    assertSame(Digests.pool("SHA-256"), Digests.pool("SHA-256"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownAlgorithm() {
+    Digests.pool("SHA-0");
+  }
+
+  @Test
+  public void testConcurrentHashing() throws Exception {
+    final HashingStrategy strategy = HashingStrategy.load();
+    final String expected = strategy.hash("sha512", null, null, "password");
+
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> {
+          for (int j = 0; j < 1000; j++) {
+            // a digest shared without a pool would mix the inputs of the threads
+            if (!expected.equals(strategy.hash("sha512", null, null, "password"))) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
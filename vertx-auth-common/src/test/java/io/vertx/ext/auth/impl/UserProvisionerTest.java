@@ -0,0 +1,193 @@
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.HashingStrategy;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class UserProvisionerTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private final HashingStrategy strategy = HashingStrategy.load();
+
+  /**
+   * Emits the items synchronously, as long as it isn't paused.
+   */
+  private static final class ListStream implements ReadStream<JsonObject> {
+
+    private final List<JsonObject> items;
+    private int index;
+    private boolean paused;
+    private Handler<JsonObject> handler;
+    private Handler<Void> endHandler;
+
+    ListStream(List<JsonObject> items) {
+      this.items = items;
+    }
+
+    @Override
+    public ReadStream<JsonObject> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> handler(Handler<JsonObject> handler) {
+      this.handler = handler;
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> pause() {
+      paused = true;
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> resume() {
+      paused = false;
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> fetch(long amount) {
+      return resume();
+    }
+
+    @Override
+    public ReadStream<JsonObject> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+
+    private void emit() {
+      while (!paused && handler != null && index < items.size()) {
+        handler.handle(items.get(index++));
+      }
+      if (!paused && handler != null && index == items.size()) {
+        // only once
+        index++;
+        endHandler.handle(null);
+      }
+    }
+  }
+
+  private static List<JsonObject> users(int count) {
+    List<JsonObject> users = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      users.add(new JsonObject()
+        .put("username", "user" + i)
+        .put("hash", "$sha512$$hash" + i));
+    }
+    return users;
+  }
+
+  @Test
+  public void testProvision(TestContext should) {
+    final Async test = should.async();
+
+    final List<JsonObject> users = users(1050);
+    final JsonObject withPassword = new JsonObject().put("username", "paulo").put("password", "secret");
+    users.set(512, withPassword);
+
+    final List<List<JsonObject>> chunks = new ArrayList<>();
+    final List<JsonObject> progress = new ArrayList<>();
+
+    new UserProvisioner(strategy, new SecureRandom(), 100, chunk -> {
+      chunks.add(chunk);
+      return Future.succeededFuture();
+    }, progress::add)
+      .provision(new ListStream(users))
+      .onFailure(should::fail)
+      .onSuccess(result -> {
+        should.assertEquals(1050L, result.getLong("items"));
+        should.assertEquals(11L, result.getLong("chunks"));
+        should.assertEquals(11, chunks.size());
+        should.assertEquals(100, chunks.get(0).size());
+        should.assertEquals(50, chunks.get(10).size());
+        should.assertEquals(11, progress.size());
+        should.assertEquals(200L, progress.get(1).getLong("items"));
+
+        // the password was replaced by its hash, in the same position
+        final JsonObject hashed = chunks.get(5).get(12);
+        should.assertEquals("paulo", hashed.getString("username"));
+        should.assertNull(hashed.getString("password"));
+        should.assertTrue(strategy.verify(hashed.getString("hash"), "secret"));
+        // the item of the caller is left as is
+        should.assertEquals("secret", withPassword.getString("password"));
+        // items with a hash are not copied
+        should.assertTrue(users.get(0) == chunks.get(0).get(0));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testBackpressure(TestContext should) {
+    final Async test = should.async();
+
+    final List<JsonObject> users = users(1000);
+    final ListStream stream = new ListStream(users);
+
+    new UserProvisioner(strategy, new SecureRandom(), 10, chunk -> {
+      // the stream stays paused until the chunk is written
+      should.assertTrue(stream.paused || stream.index > users.size());
+      final Promise<Void> written = Promise.promise();
+      rule.vertx().setTimer(1, t -> written.complete());
+      return written.future();
+    }, null)
+      .provision(stream)
+      .onFailure(should::fail)
+      .onSuccess(result -> {
+        should.assertEquals(1000L, result.getLong("items"));
+        should.assertEquals(100L, result.getLong("chunks"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testWriteFailure(TestContext should) {
+    final Async test = should.async();
+
+    final List<JsonObject> users = users(100);
+    final ListStream stream = new ListStream(users);
+    final List<JsonObject> progress = new ArrayList<>();
+
+    new UserProvisioner(strategy, new SecureRandom(), 10, chunk -> {
+      if (chunk.get(0).getString("username").equals("user20")) {
+        return Future.failedFuture("duplicate key");
+      }
+      return Future.succeededFuture();
+    }, progress::add)
+      .provision(stream)
+      .onSuccess(result -> should.fail("should fail"))
+      .onFailure(err -> {
+        should.assertEquals("duplicate key", err.getMessage());
+        // the 2 first chunks were written, no more items were read
+        should.assertEquals(2, progress.size());
+        should.assertEquals(30, stream.index);
+        test.complete();
+      });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidChunkSize() {
+    new UserProvisioner(strategy, new SecureRandom(), 0, chunk -> Future.succeededFuture(), null);
+  }
+}
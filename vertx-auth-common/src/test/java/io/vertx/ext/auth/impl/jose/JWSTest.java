@@ -0,0 +1,90 @@
+package io.vertx.ext.auth.impl.jose;
+
+import io.vertx.ext.auth.PubSecKeyOptions;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class JWSTest {
+
+  private static String pem(String kind, byte[] der) {
+    return
+      "-----BEGIN " + kind + "-----\n" +
+        Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(der) +
+        "\n-----END " + kind + "-----\n";
+  }
+
+  private static void assertConcurrentSignVerify(JWS signer, JWS verifier) throws Exception {
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < threads * 16; i++) {
+        final byte[] payload = ("payload-" + i).getBytes(StandardCharsets.UTF_8);
+        results.add(executor.submit(() -> verifier.verify(signer.sign(payload), payload)));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testHMACPool() throws Exception {
+    JWS jws = new JWS(new JWK(new PubSecKeyOptions().setAlgorithm("HS256").setBuffer("qnscAdgRlkIhAUPY44oiexBKtQbGY0orf7OV1I50")), 4);
+
+    assertNull(jws.signers());
+    assertNull(jws.verifiers());
+    assertNotNull(jws.macs());
+
+    assertConcurrentSignVerify(jws, jws);
+
+    // the pool never retains more than the configured engines
+    assertTrue(jws.macs().idle() <= 4);
+    assertTrue(jws.macs().created() >= 1);
+    // tampered payloads are still rejected
+    assertFalse(jws.verify(jws.sign("a".getBytes(StandardCharsets.UTF_8)), "b".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testECPool() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+    kpg.initialize(256);
+    KeyPair keyPair = kpg.generateKeyPair();
+
+    JWS signer = new JWS(new JWK(new PubSecKeyOptions().setAlgorithm("ES256").setBuffer(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()))));
+    JWS verifier = new JWS(new JWK(new PubSecKeyOptions().setAlgorithm("ES256").setBuffer(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()))));
+
+    assertNotNull(signer.signers());
+    assertNull(signer.verifiers());
+    assertNull(verifier.signers());
+    assertNotNull(verifier.verifiers());
+
+    assertConcurrentSignVerify(signer, verifier);
+
+    // engines are reused instead of being created per call
+    assertTrue(verifier.verifiers().created() < verifier.verifiers().acquired());
+  }
+
+  @Test
+  public void testRSAPool() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(2048);
+    KeyPair keyPair = kpg.generateKeyPair();
+
+    JWS signer = new JWS(new JWK(new PubSecKeyOptions().setAlgorithm("RS256").setBuffer(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()))));
+    JWS verifier = new JWS(new JWK(new PubSecKeyOptions().setAlgorithm("RS256").setBuffer(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()))));
+
+    assertConcurrentSignVerify(signer, verifier);
+  }
+}
@@ -0,0 +1,89 @@
+package io.vertx.ext.auth.impl.jose;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class LazyClaimsTest {
+
+  private static final JsonObject PAYLOAD = new JsonObject()
+    .put("sub", "paulo")
+    .put("exp", 1700000000L)
+    .put("aud", new JsonArray().add("a").add("b"))
+    .put("permissions", new JsonArray().add("read").add("write"))
+    .put("profile", new JsonObject().put("name", "Paulo").put("age", 40).put("admin", true).put("nothing", (Object) null));
+
+  private static byte[] bytes(JsonObject json) {
+    return json.encode().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testRegisteredClaimsDoNotParse() {
+    LazyClaims claims = new LazyClaims(bytes(PAYLOAD));
+    JsonObject json = claims.json();
+
+    assertEquals("paulo", json.getString("sub"));
+    assertEquals(1700000000L, json.getLong("exp").longValue());
+    assertEquals(new JsonArray().add("a").add("b"), json.getJsonArray("aud"));
+    assertTrue(json.containsKey("profile"));
+    assertFalse(json.containsKey("iss"));
+    assertNull(json.getString("iss"));
+    assertFalse(claims.isParsed());
+
+    // reading a non eager claim parses the rest
+    assertEquals("Paulo", json.getJsonObject("profile").getString("name"));
+    assertTrue(claims.isParsed());
+  }
+
+  @Test
+  public void testEagerClaims() {
+    LazyClaims claims = new LazyClaims(bytes(PAYLOAD), Collections.singleton("permissions"));
+
+    assertEquals(new JsonArray().add("read").add("write"), claims.json().getJsonArray("permissions"));
+    assertFalse(claims.isParsed());
+  }
+
+  @Test
+  public void testSameAsEager() {
+    LazyClaims claims = new LazyClaims(bytes(PAYLOAD));
+
+    assertEquals(PAYLOAD, claims.json());
+    assertEquals(PAYLOAD.encode(), claims.json().encode());
+    assertEquals(PAYLOAD.fieldNames(), claims.json().fieldNames());
+  }
+
+  @Test
+  public void testViewsAreIndependent() {
+    LazyClaims claims = new LazyClaims(bytes(PAYLOAD));
+
+    JsonObject view = claims.json(Collections.singletonMap("access_token", "token"), Collections.singleton("exp"));
+    assertEquals("token", view.getString("access_token"));
+    assertFalse(view.containsKey("exp"));
+    assertFalse(claims.isParsed());
+
+    view.put("extra", 1);
+    view.remove("sub");
+
+    JsonObject other = claims.json();
+    assertFalse(other.containsKey("extra"));
+    assertEquals("paulo", other.getString("sub"));
+    // access_token, aud, permissions, profile, extra
+    assertEquals(5, view.size());
+  }
+
+  @Test(expected = DecodeException.class)
+  public void testNotAnObject() {
+    new LazyClaims("[1, 2]".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test(expected = DecodeException.class)
+  public void testInvalidSkippedValue() {
+    new LazyClaims("{\"sub\": \"a\", \"other\": {\"x\": }}".getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -18,6 +18,7 @@ package io.vertx.ext.auth.htdigest;
 
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.*;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.htdigest.impl.HtdigestAuthImpl;
 
@@ -54,9 +55,30 @@ public interface HtdigestAuth extends AuthenticationProvider {
   }
 
   /**
-   * Return the currently used realm
+   * Creates an instance of HtdigestAuth by using the given htfile file, reloading it when it changes. The file is
+   * checked for changes at most once per interval, when the provider is used, and reloaded in the background.
+   *
+   * @param htfile the existing htfile.
+   * @param reloadInterval the minimum time between checks for changes in milliseconds, {@code 0} to never reload
+   * @return the created instance of {@link HtdigestAuth}s
+   */
+  static HtdigestAuth create(Vertx vertx, String htfile, long reloadInterval) {
+    return new HtdigestAuthImpl(vertx, htfile, reloadInterval);
+  }
+
+  /**
+   * Return the currently used realm. If the file isn't loaded yet this method blocks: off an event loop it waits for
+   * the pending load, on an event loop the file is read on the calling thread.
    *
    * @return the realm
    */
   String realm();
+
+  /**
+   * A snapshot of the user table metrics: {@code entries}, {@code loads}, {@code loadFailures}, {@code lastLoadTime}
+   * and {@code lastLoadDuration}.
+   *
+   * @return the metrics
+   */
+  JsonObject metrics();
 }
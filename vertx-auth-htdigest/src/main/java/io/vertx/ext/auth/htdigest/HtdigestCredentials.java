@@ -19,10 +19,11 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -299,69 +300,71 @@ public class HtdigestCredentials extends UsernamePasswordCredentials implements
   public String toHttpAuthorization() {
     // start assembling the response
 
-    final MessageDigest MD5;
-
+    final EnginePool<MessageDigest> pool = Digests.pool("MD5");
+    final MessageDigest MD5 = pool.acquire();
     try {
-      MD5 = MessageDigest.getInstance("MD5");
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
-    }
+      byte[] ha1 = MD5.digest(String.join(":", getUsername(), realm, getPassword()).getBytes(StandardCharsets.UTF_8));
+
+      if ("MD5-sess".equals(algorithm)) {
+        ha1 = MD5.digest(
+          Buffer.buffer()
+            .appendBytes(ha1)
+            .appendByte((byte) ':')
+            .appendString(nonce)
+            .appendByte((byte) ':')
+            .appendString(cnonce)
+            .getBytes());
+      }
 
-    byte[] ha1 = MD5.digest(String.join(":", getUsername(), realm, getPassword()).getBytes(StandardCharsets.UTF_8));
+      byte[] ha2 = MD5.digest(String.join(":", method, uri).getBytes(StandardCharsets.UTF_8));
+
+      // Generate response hash
+      Buffer response = Buffer.buffer()
+        .appendString(base16Encode(ha1))
+        .appendByte((byte) ':')
+        .appendString(nonce);
 
-    if ("MD5-sess".equals(algorithm)) {
-      ha1 = MD5.digest(
-        Buffer.buffer()
-          .appendBytes(ha1)
+      if (qop != null) {
+        response
           .appendByte((byte) ':')
-          .appendString(nonce)
+          .appendString(nc)
           .appendByte((byte) ':')
           .appendString(cnonce)
-          .getBytes());
-    }
-
-    byte[] ha2 = MD5.digest(String.join(":", method, uri).getBytes(StandardCharsets.UTF_8));
-
-    // Generate response hash
-    Buffer response = Buffer.buffer()
-      .appendString(base16Encode(ha1))
-      .appendByte((byte) ':')
-      .appendString(nonce);
+          .appendByte((byte) ':')
+          .appendString(qop);
+      }
 
-    if (qop != null) {
       response
         .appendByte((byte) ':')
-        .appendString(nc)
-        .appendByte((byte) ':')
-        .appendString(cnonce)
-        .appendByte((byte) ':')
-        .appendString(qop);
-    }
+        .appendString(base16Encode(ha2));
 
-    response
-      .appendByte((byte) ':')
-      .appendString(base16Encode(ha2));
+      Buffer header = Buffer.buffer("Digest ");
 
-    Buffer header = Buffer.buffer("Digest ");
+      header
+        .appendString("username=\"").appendString(getUsername().replaceAll("\"", "\\\""))
+        .appendString("\", realm=\"").appendString(realm)
+        .appendString("\", nonce=\"").appendString(nonce)
+        .appendString("\", uri=\"").appendString(uri);
 
-    header
-      .appendString("username=\"").appendString(getUsername().replaceAll("\"", "\\\""))
-      .appendString("\", realm=\"").appendString(realm)
-      .appendString("\", nonce=\"").appendString(nonce)
-      .appendString("\", uri=\"").appendString(uri);
+      if (qop != null) {
+        header
+          .appendString("\", qop=").appendString(qop)
+          .appendString(", nc=").appendString(nc)
+          .appendString(", cnonce=\"").appendString(cnonce.replaceAll("\"", "\\\""));
+      }
 
-    if (qop != null) {
       header
-        .appendString("\", qop=").appendString(qop)
-        .appendString(", nc=").appendString(nc)
-        .appendString(", cnonce=\"").appendString(cnonce.replaceAll("\"", "\\\""));
+        .appendString("\", response=\"").appendString(base16Encode(MD5.digest(response.getBytes())))
+        .appendString("\", opaque=\"").appendString(opaque)
+        .appendString("\"");
+
+      return header.toString();
+    } catch (RuntimeException e) {
+      // e.g. a missing nonce, the digest can always be reset to a known state
+      MD5.reset();
+      throw e;
+    } finally {
+      pool.release(MD5);
     }
-
-    header
-      .appendString("\", response=\"").appendString(base16Encode(MD5.digest(response.getBytes())))
-      .appendString("\", opaque=\"").appendString(opaque)
-      .appendString("\"");
-
-    return header.toString();
   }
 }
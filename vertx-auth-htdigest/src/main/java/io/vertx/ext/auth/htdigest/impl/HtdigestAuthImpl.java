@@ -25,11 +25,11 @@ import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.htdigest.HtdigestAuth;
 import io.vertx.ext.auth.htdigest.HtdigestCredentials;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.FileUserTable;
 import io.vertx.ext.auth.impl.UserImpl;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -42,8 +42,6 @@ import static io.vertx.ext.auth.impl.Codec.base16Encode;
  */
 public class HtdigestAuthImpl implements HtdigestAuth {
 
-  private static final MessageDigest MD5;
-
   private static class Digest {
     final String username;
     final String realm;
@@ -57,41 +55,62 @@ public class HtdigestAuthImpl implements HtdigestAuth {
     }
   }
 
-  static {
-    try {
-      MD5 = MessageDigest.getInstance("MD5");
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  private final Map<String, Digest> htdigest = new HashMap<>();
-  private final String realm;
+  private final FileUserTable<Digest> htdigest;
 
   /**
    * Creates a new instance
    */
   public HtdigestAuthImpl(Vertx vertx, String htdigestFile) {
-    String realm = null;
-    // load the file into memory
-    for (String line : vertx.fileSystem().readFileBlocking(htdigestFile).toString().split("\\r?\\n")) {
-      String[] parts = line.split(":");
-      if (realm == null) {
-        realm = parts[1];
-      } else {
-        if (!realm.equals(parts[1])) {
-          throw new RuntimeException("multiple realms in htdigest file not allowed.");
-        }
-      }
-      htdigest.put(parts[0], new Digest(parts[0], parts[1], parts[2]));
-    }
+    this(vertx, htdigestFile, 0L);
+  }
+
+  public HtdigestAuthImpl(Vertx vertx, String htdigestFile, long reloadInterval) {
+    this.htdigest = new FileUserTable<>(vertx, htdigestFile, reloadInterval, HtdigestAuthImpl::parse);
+    // start loading right away, so the first request doesn't have to wait
+    htdigest.reload();
+  }
 
-    this.realm = realm;
+  /**
+   * Parse the lines {@code username:realm:ha1}, ignoring blank lines and comments.
+   */
+  static Map<String, Digest> parse(String content) {
+    final Map<String, Digest> digests = new HashMap<>();
+    final String[] fileRealm = new String[1];
+    FileUserTable.forEachLine(content, (line, start, end) -> {
+      if (start == end || line.charAt(start) == '#') {
+        return;
+      }
+      final int c1 = line.indexOf(':', start);
+      final int c2 = c1 == -1 || c1 >= end ? -1 : line.indexOf(':', c1 + 1);
+      if (c2 == -1 || c2 >= end) {
+        throw new IllegalArgumentException("invalid htdigest line, expected username:realm:ha1");
+      }
+      int c3 = line.indexOf(':', c2 + 1);
+      if (c3 == -1 || c3 >= end) {
+        c3 = end;
+      }
+      final String realm = line.substring(c1 + 1, c2);
+      if (fileRealm[0] == null) {
+        fileRealm[0] = realm;
+      } else if (!fileRealm[0].equals(realm)) {
+        throw new IllegalArgumentException("multiple realms in htdigest file not allowed.");
+      }
+      final String username = line.substring(start, c1);
+      digests.put(username, new Digest(username, realm, line.substring(c2 + 1, c3)));
+    });
+    return digests;
   }
 
   @Override
   public String realm() {
-    return realm;
+    // the realm is needed before any request is authenticated, so this blocks if the file isn't loaded yet
+    final Map<String, Digest> digests = htdigest.entriesBlocking();
+    return digests.isEmpty() ? null : digests.values().iterator().next().realm;
+  }
+
+  @Override
+  public JsonObject metrics() {
+    return htdigest.metrics();
   }
 
   @Override
@@ -105,13 +124,21 @@ public class HtdigestAuthImpl implements HtdigestAuth {
       HtdigestCredentials authInfo = (HtdigestCredentials) credentials;
       authInfo.checkValid(null);
 
-      if (!htdigest.containsKey(authInfo.getUsername())) {
+      htdigest.entries()
+        .onFailure(err -> resultHandler.handle(Future.failedFuture(err)))
+        .onSuccess(digests -> authenticate(digests.get(authInfo.getUsername()), authInfo, resultHandler));
+    } catch (RuntimeException e) {
+      resultHandler.handle(Future.failedFuture(e));
+    }
+  }
+
+  private void authenticate(Digest credential, HtdigestCredentials authInfo, Handler<AsyncResult<User>> resultHandler) {
+    try {
+      if (credential == null) {
         resultHandler.handle((Future.failedFuture("Unknown username.")));
         return;
       }
 
-      final Digest credential = htdigest.get(authInfo.getUsername());
-
       if (!credential.realm.equals(authInfo.getRealm())) {
         resultHandler.handle((Future.failedFuture("Invalid realm.")));
         return;
@@ -156,8 +183,7 @@ public class HtdigestAuthImpl implements HtdigestAuth {
     }
   }
 
-  private static synchronized String md5(String payload) {
-    MD5.reset();
-    return base16Encode(MD5.digest(payload.getBytes(StandardCharsets.UTF_8)));
+  private static String md5(String payload) {
+    return base16Encode(Digests.digest("MD5", payload.getBytes(StandardCharsets.UTF_8)));
   }
 }
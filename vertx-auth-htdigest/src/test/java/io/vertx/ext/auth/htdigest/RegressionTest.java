@@ -2,6 +2,8 @@ package io.vertx.ext.auth.htdigest;
 
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
@@ -10,6 +12,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.security.MessageDigest;
+
 @RunWith(VertxUnitRunner.class)
 public class RegressionTest {
 
@@ -38,4 +42,45 @@ public class RegressionTest {
     });
   }
 
+  @Test
+  public void realmAndMetricsTest(TestContext should) {
+    final Async test = should.async();
+    HtdigestAuth authProvider = HtdigestAuth.create(rule.vertx(), "regression.htdigest");
+    // the realm is available right away, even if the file is loaded asynchronously
+    should.assertEquals("jcrealm@host.com", authProvider.realm());
+    rule.vertx().setTimer(100, t -> {
+      JsonObject metrics = authProvider.metrics();
+      should.assertTrue(metrics.getInteger("entries") > 0);
+      should.assertTrue(metrics.getLong("lastLoadTime") > 0);
+      should.assertEquals(0L, metrics.getLong("loadFailures"));
+      test.complete();
+    });
+  }
+
+  @Test
+  public void incompleteChallengeTest(TestContext should) {
+    final EnginePool<MessageDigest> pool = Digests.pool("MD5");
+    final HtdigestCredentials credentials = new HtdigestCredentials("usain", "secret")
+      .setRealm("jcrealm@host.com")
+      .setMethod("GET")
+      .setUri("/private/private_page.html")
+      .setOpaque("5ccc069c403ebaf9f0171e9517f40e41");
+
+    // warm up the pool
+    credentials.setNonce("28ee8d494b645014eefcd66ac3ddcade").toHttpAuthorization();
+    final long created = pool.created();
+
+    credentials.setNonce(null);
+    for (int i = 0; i < 2 * pool.maxIdle() + 1; i++) {
+      try {
+        credentials.toHttpAuthorization();
+        should.fail("a missing nonce should fail");
+      } catch (NullPointerException e) {
+        // expected
+      }
+    }
+    // the failed calls returned their engine to the pool
+    should.assertEquals(created, pool.created());
+    should.assertNotNull(credentials.setNonce("28ee8d494b645014eefcd66ac3ddcade").toHttpAuthorization());
+  }
 }
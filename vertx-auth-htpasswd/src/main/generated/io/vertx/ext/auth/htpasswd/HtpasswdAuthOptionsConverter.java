@@ -30,6 +30,11 @@ public class HtpasswdAuthOptionsConverter {
             obj.setPlainTextEnabled((Boolean)member.getValue());
           }
           break;
+        case "reloadInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setReloadInterval(((Number)member.getValue()).longValue());
+          }
+          break;
       }
     }
   }
@@ -43,5 +48,6 @@ public class HtpasswdAuthOptionsConverter {
       json.put("htpasswdFile", obj.getHtpasswdFile());
     }
     json.put("plainTextEnabled", obj.isPlainTextEnabled());
+    json.put("reloadInterval", obj.getReloadInterval());
   }
 }
@@ -17,6 +17,7 @@ package io.vertx.ext.auth.htpasswd;
 
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
 import io.vertx.ext.auth.htpasswd.impl.HtpasswdAuthImpl;
 
@@ -35,4 +36,12 @@ public interface HtpasswdAuth extends AuthenticationProvider {
   static HtpasswdAuth create(Vertx vertx, HtpasswdAuthOptions htpasswdAuthOptions) {
     return new HtpasswdAuthImpl(vertx, htpasswdAuthOptions);
   }
+
+  /**
+   * A snapshot of the user table metrics: {@code entries}, {@code loads}, {@code loadFailures}, {@code lastLoadTime}
+   * and {@code lastLoadDuration}.
+   *
+   * @return the metrics
+   */
+  JsonObject metrics();
 }
@@ -28,10 +28,12 @@ public class HtpasswdAuthOptions {
 
   private String htpasswdFile;
   private boolean plainTextEnabled;
+  private long reloadInterval;
 
   public HtpasswdAuthOptions() {
     htpasswdFile = ".htpasswd";
     plainTextEnabled = false;
+    reloadInterval = 0L;
   }
 
   public HtpasswdAuthOptions(JsonObject json) {
@@ -43,6 +45,7 @@ public class HtpasswdAuthOptions {
     this();
     this.htpasswdFile = that.htpasswdFile;
     this.plainTextEnabled = that.plainTextEnabled;
+    this.reloadInterval = that.reloadInterval;
   }
 
   public HtpasswdAuthOptions setPlainTextEnabled(boolean plainTextEnabled) {
@@ -62,4 +65,23 @@ public class HtpasswdAuthOptions {
     this.htpasswdFile = htpasswdFile;
     return this;
   }
+
+  public long getReloadInterval() {
+    return reloadInterval;
+  }
+
+  /**
+   * Reload the htpasswd file when it changes. The file is checked for changes at most once per interval, when the
+   * provider is used, and reloaded in the background. The default {@code 0} never reloads the file.
+   *
+   * @param reloadInterval the minimum time between checks for changes in milliseconds
+   * @return fluent self
+   */
+  public HtpasswdAuthOptions setReloadInterval(long reloadInterval) {
+    if (reloadInterval < 0) {
+      throw new IllegalArgumentException("reloadInterval must be >= 0");
+    }
+    this.reloadInterval = reloadInterval;
+    return this;
+  }
 }
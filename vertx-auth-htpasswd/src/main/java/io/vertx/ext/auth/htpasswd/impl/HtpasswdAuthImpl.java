@@ -17,14 +17,13 @@ package io.vertx.ext.auth.htpasswd.impl;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.impl.FileUserTable;
 import io.vertx.ext.auth.HashingStrategy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
@@ -43,20 +42,14 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
 
   private final HashingStrategy strategy = HashingStrategy.load();
 
-  private final Map<String, String> htUsers = new HashMap<>();
+  private final FileUserTable<String> htUsers;
+  private final Vertx vertx;
 
   public HtpasswdAuthImpl(Vertx vertx, HtpasswdAuthOptions options) {
-    for (String line : vertx.fileSystem().readFileBlocking(options.getHtpasswdFile()).toString().split("\\r?\\n")) {
-      line = line.trim();
-
-      if (line.isEmpty() || line.startsWith("#")) continue;
-
-      Pattern entry = Pattern.compile("^([^:]+):(.+)");
-      Matcher m = entry.matcher(line);
-      if (m.matches()) {
-        htUsers.put(m.group(1), m.group(2));
-      }
-    }
+    this.vertx = vertx;
+    this.htUsers = new FileUserTable<>(vertx, options.getHtpasswdFile(), options.getReloadInterval(), HtpasswdAuthImpl::parse);
+    // start loading right away, so the first request doesn't have to wait
+    htUsers.reload();
 
     // handle the plain text vs crypt
     if (options.isPlainTextEnabled()) {
@@ -65,6 +58,36 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
     }
   }
 
+  /**
+   * Parse the lines {@code username:hash}, ignoring blank lines and comments.
+   */
+  static Map<String, String> parse(String content) {
+    final Map<String, String> users = new HashMap<>();
+    FileUserTable.forEachLine(content, (line, start, end) -> {
+      // trim
+      while (start < end && line.charAt(start) <= ' ') {
+        start++;
+      }
+      while (end > start && line.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      if (start == end || line.charAt(start) == '#') {
+        return;
+      }
+      final int colon = line.indexOf(':', start);
+      // both the username and the hash must not be empty
+      if (colon > start && colon < end - 1) {
+        users.put(line.substring(start, colon), line.substring(colon + 1, end));
+      }
+    });
+    return users;
+  }
+
+  @Override
+  public JsonObject metrics() {
+    return htUsers.metrics();
+  }
+
   @Override
   public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
     authenticate(new UsernamePasswordCredentials(authInfo), resultHandler);
@@ -77,16 +100,22 @@ public class HtpasswdAuthImpl implements HtpasswdAuth {
       UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credential;
       authInfo.checkValid(null);
 
-      if (!htUsers.containsKey(authInfo.getUsername())) {
-        resultHandler.handle((Future.failedFuture("Unknown username.")));
-        return;
-      }
-
-      if (strategy.verify(htUsers.get(authInfo.getUsername()), authInfo.getPassword())) {
-        resultHandler.handle(Future.succeededFuture(User.create(new JsonObject().put("username", authInfo.getUsername()))));
-      } else {
-        resultHandler.handle(Future.failedFuture("Bad response"));
-      }
+      htUsers.entries()
+        .compose(users -> {
+          final String hash = users.get(authInfo.getUsername());
+          if (hash == null) {
+            return Future.failedFuture("Unknown username.");
+          }
+          return strategy.verify(vertx, hash, authInfo.getPassword());
+        })
+        .<User>compose(valid -> {
+          if (valid) {
+            return Future.succeededFuture(User.create(new JsonObject().put("username", authInfo.getUsername())));
+          } else {
+            return Future.failedFuture("Bad response");
+          }
+        })
+        .onComplete(resultHandler);
     } catch (RuntimeException e) {
       resultHandler.handle(Future.failedFuture(e));
     }
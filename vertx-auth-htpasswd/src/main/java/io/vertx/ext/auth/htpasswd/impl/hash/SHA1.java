@@ -17,10 +17,11 @@ package io.vertx.ext.auth.htpasswd.impl.hash;
 
 import io.vertx.ext.auth.HashString;
 import io.vertx.ext.auth.HashingAlgorithm;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base64Encode;
 
@@ -31,14 +32,10 @@ import static io.vertx.ext.auth.impl.Codec.base64Encode;
  */
 public class SHA1 implements HashingAlgorithm {
 
-  private final MessageDigest md;
+  private final EnginePool<MessageDigest> md;
 
   public SHA1() {
-    try {
-      md = MessageDigest.getInstance("SHA1");
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException("SHA1 is not available", nsae);
-    }
+    md = Digests.pool("SHA1");
   }
 
   @Override
@@ -48,7 +45,7 @@ public class SHA1 implements HashingAlgorithm {
 
   @Override
   public String hash(HashString hashString, String password) {
-    return base64Encode(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    return base64Encode(Digests.digest(md, password.getBytes(StandardCharsets.UTF_8)));
   }
 
   @Override
@@ -1,5 +1,8 @@
 package io.vertx.ext.auth.htpasswd;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.unit.Async;
@@ -12,6 +15,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 /**
  * @author Neven Radovanović
  */
@@ -113,4 +120,46 @@ public class HtpasswdAuthTest {
         test.complete();
       });
   }
+
+  @Test
+  public void testReload(TestContext should) throws Exception {
+    final Async test = should.async();
+    final File file = File.createTempFile("auth", ".htpasswd");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "# users\npaulo:secret\r\n".getBytes(StandardCharsets.UTF_8));
+
+    final HtpasswdAuth provider = HtpasswdAuth.create(rule.vertx(), new HtpasswdAuthOptions()
+      .setHtpasswdFile(file.getAbsolutePath())
+      .setPlainTextEnabled(true)
+      .setReloadInterval(50));
+
+    provider.authenticate(new UsernamePasswordCredentials("paulo", "secret"))
+      .compose(user -> {
+        should.assertEquals(1, provider.metrics().getInteger("entries"));
+        try {
+          Files.write(file.toPath(), "paulo:secret\njulien:other\n".getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+          return Future.failedFuture(e);
+        }
+        return retry(provider, new UsernamePasswordCredentials("julien", "other"), 20);
+      })
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        should.assertEquals(2, provider.metrics().getInteger("entries"));
+        should.assertTrue(provider.metrics().getLong("loads") >= 2);
+        test.complete();
+      });
+  }
+
+  private Future<User> retry(HtpasswdAuth provider, UsernamePasswordCredentials credentials, int attempts) {
+    return provider.authenticate(credentials)
+      .recover(err -> {
+        if (attempts == 0) {
+          return Future.failedFuture(err);
+        }
+        final Promise<Void> wait = Promise.promise();
+        rule.vertx().setTimer(50, t -> wait.complete());
+        return wait.future().compose(v -> retry(provider, credentials, attempts - 1));
+      });
+  }
 }
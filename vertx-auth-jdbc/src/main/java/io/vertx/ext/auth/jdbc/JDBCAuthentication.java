@@ -17,7 +17,10 @@
 package io.vertx.ext.auth.jdbc;
 
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.jdbc.impl.JDBCAuthenticationImpl;
 import io.vertx.ext.jdbc.JDBCClient;
 
@@ -60,6 +63,33 @@ public interface JDBCAuthentication extends AuthenticationProvider {
     return new JDBCAuthenticationImpl(client, options);
   }
 
+  /**
+   * Create a JDBC auth provider implementation that rejects the usernames unknown to a filter without querying the
+   * database.
+   *
+   * @param client  the JDBC client instance
+   * @param options authentication options
+   * @param filter  the known usernames, see {@link #createUsernameFilter(Vertx, JDBCClient, String, UsernameFilterOptions)}
+   * @return  the auth provider
+   */
+  static JDBCAuthentication create(JDBCClient client, JDBCAuthenticationOptions options, UsernameFilter filter) {
+    return new JDBCAuthenticationImpl(client, options, filter);
+  }
+
+  /**
+   * Create a filter of the known usernames, loaded with a query returning all the usernames in the first column, e.g.:
+   * {@code SELECT USERNAME FROM USER}. The rows are streamed into the filter.
+   *
+   * @param vertx   the vertx instance
+   * @param client  the JDBC client instance
+   * @param usernamesQuery the query of all the usernames
+   * @param options the filter options
+   * @return the filter
+   */
+  static UsernameFilter createUsernameFilter(Vertx vertx, JDBCClient client, String usernamesQuery, UsernameFilterOptions options) {
+    return JDBCAuthenticationImpl.createUsernameFilter(vertx, client, usernamesQuery, options);
+  }
+
   /**
    * Hashes a password to be stored.
    *
@@ -16,11 +16,15 @@
 package io.vertx.ext.auth.jdbc;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.authentication.UsernameFilter;
 import io.vertx.ext.auth.jdbc.impl.JDBCUserUtilImpl;
 import io.vertx.ext.jdbc.JDBCClient;
 
@@ -34,6 +38,11 @@ import java.util.Map;
 @VertxGen
 public interface JDBCUserUtil {
 
+  /**
+   * The default number of items inserted at once by {@link #createUsers(ReadStream)}.
+   */
+  int DEFAULT_CHUNK_SIZE = 500;
+
   /**
    * Create an instance of the user helper.
    * @param client the client with write rights to the database.
@@ -52,6 +61,16 @@ public interface JDBCUserUtil {
     return new JDBCUserUtilImpl(client, insertUserSQL, insertUserRoleSQL, insertRolePermissionSQL);
   }
 
+  /**
+   * Set the filter of known usernames to update with the usernames of the created users, so they can authenticate
+   * right away.
+   *
+   * @param filter the filter, or {@code null}
+   * @return fluent self
+   */
+  @Fluent
+  JDBCUserUtil setUsernameFilter(@Nullable UsernameFilter filter);
+
   /**
    * Insert a user into a database.
    *
@@ -143,4 +162,29 @@ public interface JDBCUserUtil {
     createRolePermission(role, permission, promise);
     return promise.future();
   }
+
+  /**
+   * Insert users, their roles and role permissions in bulk, e.g.: to migrate the accounts of another system.
+   * <p>
+   * Each item of the stream is either a user: {@code {"username": "...", "password": "...", "roles": [...]}}, where
+   * a {@code hash} can be given instead of the clear text {@code password}, or a role:
+   * {@code {"role": "...", "permissions": [...]}}. The passwords are hashed in parallel off the event loop and the
+   * items are inserted with one batch per query and chunk. The stream is paused while a chunk is written.
+   * <p>
+   * The chunks are not written in a transaction.
+   *
+   * @param items the users and roles
+   * @param chunkSize the number of items inserted at once
+   * @param progressHandler called after each chunk with the number of {@code items} and {@code chunks} written and the
+   *                        {@code elapsed} milliseconds
+   * @return a future with the final progress
+   */
+  Future<JsonObject> createUsers(ReadStream<JsonObject> items, int chunkSize, @Nullable Handler<JsonObject> progressHandler);
+
+  /**
+   * @see #createUsers(ReadStream, int, Handler)
+   */
+  default Future<JsonObject> createUsers(ReadStream<JsonObject> items) {
+    return createUsers(items, DEFAULT_CHUNK_SIZE, null);
+  }
 }
@@ -22,12 +22,17 @@ import java.util.Objects;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.HashingStrategy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.impl.HashingWorker;
 import io.vertx.ext.auth.impl.UserImpl;
 import io.vertx.ext.auth.jdbc.JDBCAuthentication;
 import io.vertx.ext.auth.jdbc.JDBCAuthenticationOptions;
@@ -35,6 +40,7 @@ import io.vertx.ext.auth.jdbc.JDBCHashStrategy;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLConnection;
+import io.vertx.ext.sql.SQLRowStream;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -46,6 +52,7 @@ public class JDBCAuthenticationImpl implements JDBCAuthentication {
   private final JDBCClient client;
   private JDBCHashStrategy legacyStrategy;
   private final JDBCAuthenticationOptions options;
+  private UsernameFilter filter;
 
   public JDBCAuthenticationImpl(JDBCClient client, JDBCHashStrategy hashStrategy, JDBCAuthenticationOptions options) {
     this.client = Objects.requireNonNull(client);
@@ -58,6 +65,47 @@ public class JDBCAuthenticationImpl implements JDBCAuthentication {
     this.options = Objects.requireNonNull(options);
   }
 
+  public JDBCAuthenticationImpl(JDBCClient client, JDBCAuthenticationOptions options, UsernameFilter filter) {
+    this(client, options);
+    this.filter = Objects.requireNonNull(filter);
+  }
+
+  public static UsernameFilter createUsernameFilter(Vertx vertx, JDBCClient client, String usernamesQuery, UsernameFilterOptions options) {
+    Objects.requireNonNull(client);
+    Objects.requireNonNull(usernamesQuery);
+
+    return UsernameFilter.create(vertx, options, sink -> {
+      final Promise<SQLConnection> connection = Promise.promise();
+      client.getConnection(connection);
+
+      return connection.future()
+        .compose(conn -> {
+          final Promise<SQLRowStream> query = Promise.promise();
+          conn.queryStream(usernamesQuery, query);
+
+          return query.future()
+            .<Void>compose(stream -> {
+              final Promise<Void> loaded = Promise.promise();
+              stream
+                .exceptionHandler(loaded::tryFail)
+                .endHandler(v -> loaded.tryComplete())
+                .handler(row -> {
+                  final String username = row.getString(0);
+                  if (username != null) {
+                    sink.handle(username);
+                  }
+                });
+              return loaded.future();
+            })
+            .eventually(v -> {
+              final Promise<Void> close = Promise.promise();
+              conn.close(close);
+              return close.future();
+            });
+        });
+    });
+  }
+
   @Override
   public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
     authenticate(new UsernamePasswordCredentials(authInfo), resultHandler);
@@ -70,6 +118,12 @@ public class JDBCAuthenticationImpl implements JDBCAuthentication {
       UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
       authInfo.checkValid(null);
 
+      if (filter != null && !filter.mightContain(authInfo.getUsername())) {
+        // Unknown user, no need to ask the database
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
+        return;
+      }
+
       executeQuery(options.getAuthenticationQuery(), new JsonArray().add(authInfo.getUsername()), queryResponse -> {
         if (queryResponse.succeeded()) {
           ResultSet rs = queryResponse.result();
@@ -82,12 +136,15 @@ public class JDBCAuthenticationImpl implements JDBCAuthentication {
             case 1: {
               JsonArray row = rs.getResults().get(0);
               try {
-                if (verify(row, authInfo.getPassword())) {
-                  User user = User.create(new JsonObject().put("username", authInfo.getUsername()));
-                  resultHandler.handle(Future.succeededFuture(user));
-                } else {
-                  resultHandler.handle(Future.failedFuture("Invalid username/password"));
-                }
+                verify(row, authInfo.getPassword())
+                  .<User>compose(valid -> {
+                    if (valid) {
+                      return Future.succeededFuture(User.create(new JsonObject().put("username", authInfo.getUsername())));
+                    } else {
+                      return Future.failedFuture("Invalid username/password");
+                    }
+                  })
+                  .onComplete(resultHandler);
               } catch (RuntimeException e) {
                 resultHandler.handle(Future.failedFuture(e));
               }
@@ -109,12 +166,16 @@ public class JDBCAuthenticationImpl implements JDBCAuthentication {
     }
   }
 
-  private boolean verify(JsonArray row, String password) {
+  private Future<Boolean> verify(JsonArray row, String password) {
     String hash = row.getString(0);
+    if (hash == null || hash.isEmpty()) {
+      // the user has no password, it can't be authenticated this way
+      return Future.failedFuture("Invalid username/password");
+    }
     if (hash.charAt(0) != '$') {
       // this isn't a phc-string, it's legacy
       if (legacyStrategy == null) {
-        throw new IllegalStateException("JDBC Authentication cannot handle legacy hashes without a JDBCStrategy");
+        return Future.failedFuture(new IllegalStateException("JDBC Authentication cannot handle legacy hashes without a JDBCStrategy"));
       }
       String salt = row.getString(1);
       // extract the version (-1 means no version)
@@ -125,12 +186,18 @@ public class JDBCAuthenticationImpl implements JDBCAuthentication {
           version = Integer.parseInt(hash.substring(sep + 1));
         } catch (NumberFormatException e) {
           // the nonce version is not a number
-          throw new IllegalStateException("Invalid nonce version: " + version);
+          return Future.failedFuture(new IllegalStateException("Invalid nonce version: " + version));
         }
       }
-      return JDBCHashStrategy.isEqual(hash, legacyStrategy.computeHash(password, salt, version));
+      // legacy hashes are a single digest, cheap enough to compute inline
+      try {
+        return Future.succeededFuture(JDBCHashStrategy.isEqual(hash, legacyStrategy.computeHash(password, salt, version)));
+      } catch (RuntimeException e) {
+        return Future.failedFuture(e);
+      }
     } else {
-      return strategy.verify(hash, password);
+      // verify off the event loop
+      return HashingWorker.verifyOnContext(strategy, hash, password);
     }
   }
 
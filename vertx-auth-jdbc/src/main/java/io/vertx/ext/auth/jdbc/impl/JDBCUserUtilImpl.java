@@ -18,12 +18,20 @@ package io.vertx.ext.auth.jdbc.impl;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.HashingStrategy;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.impl.UserProvisioner;
 import io.vertx.ext.auth.jdbc.JDBCUserUtil;
 import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.ext.sql.SQLConnection;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.vertx.ext.auth.impl.Codec.base64Encode;
 
@@ -41,6 +49,8 @@ public class JDBCUserUtilImpl implements JDBCUserUtil {
   private final String insertUserRole;
   private final String insertRolePermission;
 
+  private volatile UsernameFilter filter;
+
   public JDBCUserUtilImpl(JDBCClient client) {
     this(client, INSERT_USER, INSERT_USER_ROLE, INSERT_ROLE_PERMISSION);
   }
@@ -52,6 +62,12 @@ public class JDBCUserUtilImpl implements JDBCUserUtil {
     this.insertRolePermission = insertRolePermission;
   }
 
+  @Override
+  public JDBCUserUtil setUsernameFilter(UsernameFilter filter) {
+    this.filter = filter;
+    return this;
+  }
+
   @Override
   public JDBCUserUtil createUser(String username, String password, Handler<AsyncResult<Void>> resultHandler) {
     if (username == null || password == null) {
@@ -79,6 +95,9 @@ public class JDBCUserUtilImpl implements JDBCUserUtil {
       return this;
     }
 
+    // before the insert, so the user can authenticate as soon as it exists
+    addToFilter(username);
+
     client.updateWithParams(insertUser, new JsonArray().add(username).add(hash), insert -> {
       if (insert.succeeded()) {
         resultHandler.handle(Future.succeededFuture());
@@ -122,4 +141,82 @@ public class JDBCUserUtilImpl implements JDBCUserUtil {
     });
     return this;
   }
+
+  @Override
+  public Future<JsonObject> createUsers(ReadStream<JsonObject> items, int chunkSize, Handler<JsonObject> progressHandler) {
+    try {
+      return new UserProvisioner(strategy, random, chunkSize, this::insertChunk, progressHandler)
+        .provision(items);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Void> insertChunk(List<JsonObject> chunk) {
+    final List<JsonArray> users = new ArrayList<>(chunk.size());
+    final List<JsonArray> userRoles = new ArrayList<>();
+    final List<JsonArray> rolePermissions = new ArrayList<>();
+
+    for (JsonObject item : chunk) {
+      final String username = item.getString("username");
+      if (username != null) {
+        final String hash = item.getString("hash");
+        if (hash == null) {
+          return Future.failedFuture("username or password hash are null");
+        }
+        users.add(new JsonArray().add(username).add(hash));
+        addToFilter(username);
+        final JsonArray roles = item.getJsonArray("roles");
+        if (roles != null) {
+          for (int i = 0; i < roles.size(); i++) {
+            userRoles.add(new JsonArray().add(username).add(roles.getString(i)));
+          }
+        }
+      } else {
+        final String role = item.getString("role");
+        if (role == null) {
+          return Future.failedFuture("username or role are null");
+        }
+        final JsonArray permissions = item.getJsonArray("permissions");
+        if (permissions != null) {
+          for (int i = 0; i < permissions.size(); i++) {
+            rolePermissions.add(new JsonArray().add(role).add(permissions.getString(i)));
+          }
+        }
+      }
+    }
+
+    final Promise<SQLConnection> connection = Promise.promise();
+    client.getConnection(connection);
+
+    return connection.future()
+      .compose(conn -> {
+        // users first, their roles may reference them
+        final Future<Void> insert = insertBatch(conn, insertUser, users)
+          .compose(v -> insertBatch(conn, insertUserRole, userRoles))
+          .compose(v -> insertBatch(conn, insertRolePermission, rolePermissions));
+
+        return insert.eventually(v -> {
+          final Promise<Void> close = Promise.promise();
+          conn.close(close);
+          return close.future();
+        });
+      });
+  }
+
+  private static Future<Void> insertBatch(SQLConnection conn, String sql, List<JsonArray> batch) {
+    if (batch.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    final Promise<List<Integer>> promise = Promise.promise();
+    conn.batchWithParams(sql, batch, promise);
+    return promise.future().mapEmpty();
+  }
+
+  private void addToFilter(String username) {
+    final UsernameFilter filter = this.filter;
+    if (filter != null) {
+      filter.add(username);
+    }
+  }
 }
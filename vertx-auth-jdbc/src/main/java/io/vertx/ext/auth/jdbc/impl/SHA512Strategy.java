@@ -2,27 +2,23 @@ package io.vertx.ext.auth.jdbc.impl;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 import io.vertx.ext.auth.jdbc.JDBCHashStrategy;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base16Encode;
 
 @Deprecated
 public class SHA512Strategy extends AbstractHashingStrategy implements JDBCHashStrategy {
 
-  private final MessageDigest md;
+  private final EnginePool<MessageDigest> md;
 
   public SHA512Strategy(Vertx vertx) {
     super(vertx);
-
-    try {
-      md = MessageDigest.getInstance("SHA-512");
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException("SHA-512 is not available", nsae);
-    }
+    md = Digests.pool("SHA-512");
   }
 
   @Override
@@ -42,7 +38,7 @@ public class SHA512Strategy extends AbstractHashingStrategy implements JDBCHashS
       }
     }
 
-    byte[] bHash = md.digest(concat.getBytes(StandardCharsets.UTF_8));
+    byte[] bHash = Digests.digest(md, concat.getBytes(StandardCharsets.UTF_8));
     if (version >= 0) {
       return base16Encode(bHash).toUpperCase() + '$' + version;
     } else {
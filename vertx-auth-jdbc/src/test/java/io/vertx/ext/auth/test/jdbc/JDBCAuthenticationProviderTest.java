@@ -64,6 +64,10 @@ public class JDBCAuthenticationProviderTest {
     SQL.add(
       "insert into user values ('lopus', '$pbkdf2$1drH02tXcgS5ipJIf8v/AlL/qm3CjAgAp7Qt3hyJx/c$/lONU4cTa3ayMRJbHIup47nX/1HhysyzDA0dpoFpsf727LoGH2OZ+SyFCGtv/pIEZK3mQtJv+yjzD+W0quF6xg', null);");
 
+    // users without a password
+    SQL.add("insert into user values ('nopwd', null, null);");
+    SQL.add("insert into user values ('emptypwd', '', null);");
+
     // and a second set of tables with slight differences
 
     SQL.add("drop table if exists user2;");
@@ -181,6 +185,34 @@ public class JDBCAuthenticationProviderTest {
       });
   }
 
+  @Test
+  public void testAuthenticateFailNullPwd(TestContext should) {
+    final Async test = should.async();
+
+    UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("nopwd", "whatever");
+    getAuthenticationProvider()
+      .authenticate(credentials)
+      .onSuccess(user -> should.fail("This test should have failed"))
+      .onFailure(err -> {
+        should.assertEquals("Invalid username/password", err.getMessage());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testAuthenticateFailEmptyPwd(TestContext should) {
+    final Async test = should.async();
+
+    UsernamePasswordCredentials credentials = new UsernamePasswordCredentials("emptypwd", "whatever");
+    getPHCAuthenticationProvider()
+      .authenticate(credentials)
+      .onSuccess(user -> should.fail("This test should have failed"))
+      .onFailure(err -> {
+        should.assertEquals("Invalid username/password", err.getMessage());
+        test.complete();
+      });
+  }
+
   @Test
   public void testAuthenticateWithNonce(TestContext should) {
     final Async test = should.async();
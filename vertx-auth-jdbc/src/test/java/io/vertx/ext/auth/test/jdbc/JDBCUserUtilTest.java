@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test.jdbc;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
+import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.jdbc.JDBCAuthentication;
+import io.vertx.ext.auth.jdbc.JDBCAuthenticationOptions;
+import io.vertx.ext.auth.jdbc.JDBCUserUtil;
+import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class JDBCUserUtilTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private static final String[] SQL = {
+    "drop table if exists user;",
+    "drop table if exists user_roles;",
+    "drop table if exists roles_perms;",
+    "create table user (username varchar(255) primary key, password varchar(255), password_salt varchar(255));",
+    "create table user_roles (username varchar(255), role varchar(255));",
+    "create table roles_perms (role varchar(255), permission varchar(255));"
+  };
+
+  private static JsonObject config() {
+    return new JsonObject()
+      .put("url", "jdbc:hsqldb:mem:bulk?shutdown=true")
+      .put("driver_class", "org.hsqldb.jdbcDriver");
+  }
+
+  /**
+   * Emits the items of a list, as long as it isn't paused.
+   */
+  private static final class ListStream implements ReadStream<JsonObject> {
+
+    private final List<JsonObject> items;
+    private int index;
+    private boolean paused;
+    private Handler<JsonObject> handler;
+    private Handler<Void> endHandler;
+
+    ListStream(List<JsonObject> items) {
+      this.items = items;
+    }
+
+    @Override
+    public ReadStream<JsonObject> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> handler(Handler<JsonObject> handler) {
+      this.handler = handler;
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> pause() {
+      paused = true;
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> resume() {
+      paused = false;
+      emit();
+      return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> fetch(long amount) {
+      return resume();
+    }
+
+    @Override
+    public ReadStream<JsonObject> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+
+    private void emit() {
+      while (!paused && handler != null && index < items.size()) {
+        handler.handle(items.get(index++));
+      }
+      if (!paused && handler != null && index == items.size()) {
+        index++;
+        endHandler.handle(null);
+      }
+    }
+  }
+
+  private JDBCClient client;
+
+  @Before
+  public void createDb() throws Exception {
+    try (Connection conn = DriverManager.getConnection(config().getString("url"))) {
+      for (String sql : SQL) {
+        conn.createStatement().execute(sql);
+      }
+    }
+    client = JDBCClient.create(rule.vertx(), config());
+  }
+
+  @After
+  public void tearDown() {
+    client.close();
+  }
+
+  @Test
+  public void testCreateUsers(TestContext should) {
+    final Async test = should.async();
+
+    final String hash = JDBCAuthentication.create(client, new JDBCAuthenticationOptions())
+      .hash("pbkdf2", "somesalt", "sausages");
+
+    List<JsonObject> items = new ArrayList<>();
+    items.add(new JsonObject()
+      .put("role", "dev")
+      .put("permissions", new JsonArray().add("commit_code").add("merge_pr")));
+    items.add(new JsonObject()
+      .put("username", "lopus")
+      .put("password", "secret")
+      .put("roles", new JsonArray().add("dev")));
+    for (int i = 0; i < 23; i++) {
+      items.add(new JsonObject()
+        .put("username", "user" + i)
+        .put("hash", hash)
+        .put("roles", new JsonArray().add("dev").add("ops")));
+    }
+
+    final List<JsonObject> progress = new ArrayList<>();
+
+    JDBCUserUtil.create(client)
+      .createUsers(new ListStream(items), 10, progress::add)
+      .onFailure(should::fail)
+      .onSuccess(result -> {
+        should.assertEquals(25L, result.getLong("items"));
+        should.assertEquals(3L, result.getLong("chunks"));
+        should.assertEquals(3, progress.size());
+
+        client.querySingle("SELECT COUNT(*) FROM user_roles", count -> {
+          should.assertTrue(count.succeeded());
+          should.assertEquals(1 + 23 * 2, count.result().getInteger(0));
+
+          JDBCAuthentication authn = JDBCAuthentication.create(client, new JDBCAuthenticationOptions());
+          authn.authenticate(new UsernamePasswordCredentials("lopus", "secret"))
+            .compose(user -> authn.authenticate(new UsernamePasswordCredentials("user22", "sausages")))
+            .onFailure(should::fail)
+            .onSuccess(user -> test.complete());
+        });
+      });
+  }
+
+  @Test
+  public void testCreateUsersWithoutPassword(TestContext should) {
+    final Async test = should.async();
+
+    List<JsonObject> items = new ArrayList<>();
+    items.add(new JsonObject().put("username", "lopus"));
+
+    JDBCUserUtil.create(client)
+      .createUsers(new ListStream(items))
+      .onSuccess(result -> should.fail("should fail"))
+      .onFailure(err -> {
+        should.assertEquals("username or password hash are null", err.getMessage());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testUsernameFilter(TestContext should) {
+    final Async test = should.async();
+
+    final JDBCUserUtil userUtil = JDBCUserUtil.create(client);
+    final String hash = JDBCAuthentication.create(client, new JDBCAuthenticationOptions())
+      .hash("pbkdf2", "somesalt", "secret");
+
+    userUtil.createUser("lopus", "secret")
+      .compose(v -> {
+        UsernameFilter filter = JDBCAuthentication.createUsernameFilter(rule.vertx(), client, "SELECT USERNAME FROM USER", new UsernameFilterOptions());
+        return filter.rebuild().map(filter);
+      })
+      .onFailure(should::fail)
+      .onSuccess(filter -> {
+        JDBCAuthentication authn = JDBCAuthentication.create(client, new JDBCAuthenticationOptions(), filter);
+
+        // created without the utility, after the filter was loaded
+        Promise<Void> insert = Promise.promise();
+        client.updateWithParams("INSERT INTO user (username, password) VALUES (?, ?)", new JsonArray().add("paulo").add(hash), res -> insert.handle(res.mapEmpty()));
+
+        insert.future()
+          .compose(v -> authn.authenticate(new UsernamePasswordCredentials("lopus", "secret")))
+          .compose(user -> authn.authenticate(new UsernamePasswordCredentials("paulo", "secret"))
+            .<Void>transform(res -> {
+              // rejected without asking the database
+              should.assertTrue(res.failed());
+              should.assertEquals("Invalid username/password", res.cause().getMessage());
+              should.assertEquals(1L, filter.metrics().getLong("rejections"));
+              return userUtil.setUsernameFilter(filter).createUser("tim", "sausages");
+            }))
+          .compose(v -> authn.authenticate(new UsernamePasswordCredentials("tim", "sausages")))
+          .onFailure(should::fail)
+          .onSuccess(user -> test.complete());
+      });
+  }
+
+  @Test
+  public void testUsernameFilterSkipsNulls(TestContext should) {
+    final Async test = should.async();
+
+    JDBCUserUtil.create(client).createUser("lopus", "secret")
+      .compose(v -> {
+        UsernameFilter filter = JDBCAuthentication.createUsernameFilter(rule.vertx(), client, "SELECT CAST(NULL AS VARCHAR(255)) FROM USER UNION ALL SELECT USERNAME FROM USER", new UsernameFilterOptions());
+        return filter.rebuild().map(filter);
+      })
+      .onFailure(should::fail)
+      .onSuccess(filter -> {
+        // the null rows are not loaded
+        should.assertTrue(filter.mightContain("lopus"));
+        should.assertEquals(1L, filter.metrics().getLong("usernames"));
+        test.complete();
+      });
+  }
+}
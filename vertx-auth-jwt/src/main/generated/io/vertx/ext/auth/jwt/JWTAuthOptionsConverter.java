@@ -55,6 +55,11 @@ public class JWTAuthOptionsConverter {
             obj.setPubSecKeys(list);
           }
           break;
+        case "tokenCacheSize":
+          if (member.getValue() instanceof Number) {
+            obj.setTokenCacheSize(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -80,5 +85,6 @@ public class JWTAuthOptionsConverter {
       obj.getPubSecKeys().forEach(item -> array.add(item.toJson()));
       json.put("pubSecKeys", array);
     }
+    json.put("tokenCacheSize", obj.getTokenCacheSize());
   }
 }
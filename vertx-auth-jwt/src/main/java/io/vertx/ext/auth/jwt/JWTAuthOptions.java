@@ -35,12 +35,14 @@ public class JWTAuthOptions {
   // Defaults
   private static final String PERMISSIONS_CLAIM_KEY = "permissions";
   private static final JWTOptions JWT_OPTIONS = new JWTOptions();
+  private static final int TOKEN_CACHE_SIZE = 0;
 
   private String permissionsClaimKey;
   private KeyStoreOptions keyStore;
   private List<PubSecKeyOptions> pubSecKeys;
   private JWTOptions jwtOptions;
   private List<JsonObject> jwks;
+  private int tokenCacheSize;
 
   /**
    * Default constructor
@@ -60,11 +62,13 @@ public class JWTAuthOptions {
     pubSecKeys = other.getPubSecKeys();
     jwtOptions = other.getJWTOptions();
     jwks = other.getJwks();
+    tokenCacheSize = other.getTokenCacheSize();
   }
 
   private void init() {
     permissionsClaimKey = PERMISSIONS_CLAIM_KEY;
     jwtOptions = JWT_OPTIONS;
+    tokenCacheSize = TOKEN_CACHE_SIZE;
   }
 
   /**
@@ -148,4 +152,25 @@ public class JWTAuthOptions {
     this.jwks.add(jwk);
     return this;
   }
+
+  public int getTokenCacheSize() {
+    return tokenCacheSize;
+  }
+
+  /**
+   * Enable a cache of verified tokens. Tokens are cached by a digest of their raw value, so repeated authentications
+   * of the same token skip the base64 decoding, JSON parsing and signature verification. The audience, issuer and
+   * expiration checks are still performed on every call. Entries are kept until the token expires or until they are
+   * evicted (least recently used first) once the cache is full.
+   *
+   * @param tokenCacheSize the max number of cached tokens, {@code 0} (the default) disables the cache.
+   * @return fluent self
+   */
+  public JWTAuthOptions setTokenCacheSize(int tokenCacheSize) {
+    if (tokenCacheSize < 0) {
+      throw new IllegalArgumentException("tokenCacheSize must be >= 0");
+    }
+    this.tokenCacheSize = tokenCacheSize;
+    return this;
+  }
 }
@@ -32,6 +32,10 @@ import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
+import io.vertx.ext.auth.impl.LRUCache;
+import io.vertx.ext.auth.impl.jose.LazyClaims;
 import io.vertx.ext.auth.impl.jose.JWK;
 import io.vertx.ext.auth.impl.jose.JWT;
 import io.vertx.ext.auth.jwt.JWTAuth;
@@ -40,15 +44,16 @@ import io.vertx.ext.auth.jwt.JWTAuthOptions;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.cert.CertificateException;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 
 /**
  * @author Paulo Lopes
@@ -62,9 +67,25 @@ public class JWTAuthProviderImpl implements JWTAuth {
   private final String permissionsClaimKey;
   private final JWTOptions jwtOptions;
 
+  // verified token payloads, keyed by the digest of the raw token (optional)
+  private final LRUCache<String, byte[]> tokenCache;
+  private final EnginePool<MessageDigest> tokenDigests;
+
   public JWTAuthProviderImpl(Vertx vertx, JWTAuthOptions config) {
     this.permissionsClaimKey = config.getPermissionsClaimKey();
     this.jwtOptions = config.getJWTOptions();
+    // the permissions are always read, so they are parsed with the registered claims
+    if (permissionsClaimKey != null) {
+      jwt.eagerClaim(permissionsClaimKey.split("/")[0]);
+    }
+
+    if (config.getTokenCacheSize() > 0) {
+      this.tokenCache = new LRUCache<>(config.getTokenCacheSize());
+      this.tokenDigests = Digests.pool("SHA-256");
+    } else {
+      this.tokenCache = null;
+      this.tokenDigests = null;
+    }
     // set the nonce algorithm
     jwt.nonceAlgorithm(jwtOptions.getNonceAlgorithm());
 
@@ -134,7 +155,8 @@ public class JWTAuthProviderImpl implements JWTAuth {
       // check
       authInfo.checkValid(null);
 
-      final JsonObject payload = jwt.decode(authInfo.getToken());
+      final LazyClaims claims = decode(authInfo.getToken());
+      final JsonObject payload = claims.json();
 
       if (jwtOptions.getAudience() != null) {
         JsonArray target;
@@ -157,7 +179,7 @@ public class JWTAuthProviderImpl implements JWTAuth {
         }
       }
 
-      final User user = createUser(authInfo.getToken(), payload, permissionsClaimKey);
+      final User user = createUser(authInfo.getToken(), claims, permissionsClaimKey);
 
       if (user.expired(jwtOptions.getLeeway())) {
         if (!jwtOptions.isIgnoreExpiration()) {
@@ -173,6 +195,49 @@ public class JWTAuthProviderImpl implements JWTAuth {
     }
   }
 
+  /**
+   * @return the verified token cache, {@code null} when the cache is disabled.
+   */
+  public LRUCache<String, byte[]> tokenCache() {
+    return tokenCache;
+  }
+
+  private LazyClaims decode(String token) {
+    if (tokenCache == null) {
+      return jwt.decodeClaims(token, null);
+    }
+
+    final String key = digest(token);
+    final byte[] payload = tokenCache.get(key);
+
+    if (payload != null) {
+      // the user object will hold (and may modify) the claims, never share them between authentications
+      return new LazyClaims(payload, jwt.eagerClaims());
+    }
+
+    // only successfully verified tokens are cached
+    final LazyClaims claims = jwt.decodeClaims(token, null);
+    tokenCache.put(key, claims.bytes(), cacheExpiresAt(claims));
+    return claims;
+  }
+
+  private String digest(String token) {
+    return base64UrlEncode(Digests.digest(tokenDigests, token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private long cacheExpiresAt(LazyClaims claims) {
+    if (jwtOptions.isIgnoreExpiration()) {
+      // expired tokens are still valid, keep them until evicted
+      return 0L;
+    }
+    final Object exp = claims.get("exp");
+    if (exp instanceof Number) {
+      // after this point the expiration check will always reject the token
+      return (((Number) exp).longValue() + jwtOptions.getLeeway()) * 1000L;
+    }
+    return 0L;
+  }
+
   @Override
   public String generateToken(JsonObject claims, final JWTOptions options) {
     final JsonObject _claims = claims.copy();
@@ -197,7 +262,7 @@ public class JWTAuthProviderImpl implements JWTAuth {
     return jwtToken.getJsonArray(permissionsClaimKey, null);
   }
 
-  private static final Collection<String> SPECIAL_KEYS = Arrays.asList("access_token", "exp", "iat", "nbf");
+  private static final Set<String> SPECIAL_KEYS = new HashSet<>(Arrays.asList("access_token", "exp", "iat", "nbf"));
 
   /**
    * @deprecated This method is deprecated as it introduces an exception to the internal representation of {@link User}
@@ -205,8 +270,12 @@ public class JWTAuthProviderImpl implements JWTAuth {
    * In the future a simple call to User.create() should be used
    */
   @Deprecated
-  private User createUser(String accessToken, JsonObject jwtToken, String permissionsClaimKey) {
-    User result = User.fromToken(accessToken);
+  private User createUser(String accessToken, LazyClaims claims, String permissionsClaimKey) {
+    // as the token is immutable, the decoded values will be added to the principal
+    // with the exception of the special keys, the claims are only parsed when read
+    User result = User.create(claims.json(Collections.singletonMap("access_token", accessToken), SPECIAL_KEYS));
+
+    final JsonObject jwtToken = claims.json();
 
     // update the attributes
     result.attributes()
@@ -214,13 +283,6 @@ public class JWTAuthProviderImpl implements JWTAuth {
 
     // copy the expiration check properties + sub to the attributes root
     copyProperties(jwtToken, result.attributes(), "exp", "iat", "nbf", "sub");
-    // as the token is immutable, the decoded values will be added to the principal
-    // with the exception of the above ones
-    for (String key : jwtToken.fieldNames()) {
-      if (!SPECIAL_KEYS.contains(key)) {
-        result.principal().put(key, jwtToken.getValue(key));
-      }
-    }
 
     // root claim meta data for JWT AuthZ
     result.attributes()
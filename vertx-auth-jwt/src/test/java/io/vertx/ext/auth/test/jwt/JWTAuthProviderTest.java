@@ -25,6 +25,7 @@ import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.auth.jwt.JWTAuthOptions;
 import io.vertx.ext.auth.jwt.authorization.JWTAuthorization;
+import io.vertx.ext.auth.jwt.impl.JWTAuthProviderImpl;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
@@ -674,4 +675,48 @@ public class JWTAuthProviderTest {
       });
   }
 
+  @Test
+  public void testTokenCache(TestContext should) {
+    final Async test = should.async();
+
+    final JWTAuthProviderImpl cached = (JWTAuthProviderImpl) JWTAuth.create(rule.vertx(), getConfig().setTokenCacheSize(2));
+    final String token = cached.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions().setExpiresInSeconds(60));
+
+    cached.authenticate(new TokenCredentials(token))
+      .onFailure(should::fail)
+      .onSuccess(user0 -> {
+        should.assertEquals(0L, cached.tokenCache().hits());
+        should.assertEquals(1, cached.tokenCache().size());
+        // the user must not be able to modify the cached payload
+        user0.principal().put("sub", "Mallory");
+        cached.authenticate(new TokenCredentials(token))
+          .onFailure(should::fail)
+          .onSuccess(user1 -> {
+            should.assertEquals(1L, cached.tokenCache().hits());
+            should.assertEquals("Paulo", user1.principal().getString("sub"));
+            test.complete();
+          });
+      });
+  }
+
+  @Test
+  public void testTokenCacheStillValidatesClaims(TestContext should) {
+    final Async test = should.async();
+
+    final JWTAuthOptions config = getConfig().setTokenCacheSize(2);
+    final JWTAuth issuer = JWTAuth.create(rule.vertx(), config);
+    final JWTAuth cached = JWTAuth.create(rule.vertx(), new JWTAuthOptions(config).setJWTOptions(new JWTOptions().setIssuer("vertx")));
+
+    // the token is valid, yet it does not have the expected issuer
+    final String token = issuer.generateToken(new JsonObject().put("sub", "Paulo"));
+
+    cached.authenticate(new TokenCredentials(token))
+      .onSuccess(user -> should.fail("Should have failed"))
+      .onFailure(err -> cached.authenticate(new TokenCredentials(token))
+        .onSuccess(user -> should.fail("Should have failed on a cache hit"))
+        .onFailure(err2 -> {
+          should.assertEquals(1L, ((JWTAuthProviderImpl) cached).tokenCache().hits());
+          test.complete();
+        }));
+  }
 }
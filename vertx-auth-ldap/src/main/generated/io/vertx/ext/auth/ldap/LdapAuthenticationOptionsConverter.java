@@ -30,11 +30,36 @@ public class LdapAuthenticationOptionsConverter {
             obj.setAuthenticationQuery((String)member.getValue());
           }
           break;
+        case "bindDn":
+          if (member.getValue() instanceof String) {
+            obj.setBindDn((String)member.getValue());
+          }
+          break;
+        case "bindPassword":
+          if (member.getValue() instanceof String) {
+            obj.setBindPassword((String)member.getValue());
+          }
+          break;
+        case "poolSize":
+          if (member.getValue() instanceof Number) {
+            obj.setPoolSize(((Number)member.getValue()).intValue());
+          }
+          break;
         case "referral":
           if (member.getValue() instanceof String) {
             obj.setReferral((String)member.getValue());
           }
           break;
+        case "searchBase":
+          if (member.getValue() instanceof String) {
+            obj.setSearchBase((String)member.getValue());
+          }
+          break;
+        case "searchFilter":
+          if (member.getValue() instanceof String) {
+            obj.setSearchFilter((String)member.getValue());
+          }
+          break;
         case "url":
           if (member.getValue() instanceof String) {
             obj.setUrl((String)member.getValue());
@@ -55,9 +80,22 @@ public class LdapAuthenticationOptionsConverter {
     if (obj.getAuthenticationQuery() != null) {
       json.put("authenticationQuery", obj.getAuthenticationQuery());
     }
+    if (obj.getBindDn() != null) {
+      json.put("bindDn", obj.getBindDn());
+    }
+    if (obj.getBindPassword() != null) {
+      json.put("bindPassword", obj.getBindPassword());
+    }
+    json.put("poolSize", obj.getPoolSize());
     if (obj.getReferral() != null) {
       json.put("referral", obj.getReferral());
     }
+    if (obj.getSearchBase() != null) {
+      json.put("searchBase", obj.getSearchBase());
+    }
+    if (obj.getSearchFilter() != null) {
+      json.put("searchFilter", obj.getSearchFilter());
+    }
     if (obj.getUrl() != null) {
       json.put("url", obj.getUrl());
     }
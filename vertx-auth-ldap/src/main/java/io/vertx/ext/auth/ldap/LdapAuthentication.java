@@ -14,7 +14,9 @@ package io.vertx.ext.auth.ldap;
 
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.UsernameFilter;
 import io.vertx.ext.auth.ldap.impl.LdapAuthenticationImpl;
 
 /**
@@ -35,4 +37,33 @@ public interface LdapAuthentication extends AuthenticationProvider {
   static LdapAuthentication create(Vertx vertx, LdapAuthenticationOptions options) {
     return new LdapAuthenticationImpl(vertx, options);
   }
+
+  /**
+   * Create a LDAP authentication provider that rejects the usernames unknown to a filter without connecting to the
+   * directory. A directory can't be listed in a generic way, so the filter is created with
+   * {@link UsernameFilter#create} and a loader that lists the users of the directory.
+   *
+   * @param vertx  the Vert.x instance
+   * @param options  the ldap options
+   * @param filter  the known usernames
+   * @return  the authentication provider
+   */
+  static LdapAuthentication create(Vertx vertx, LdapAuthenticationOptions options, UsernameFilter filter) {
+    return new LdapAuthenticationImpl(vertx, options, filter);
+  }
+
+  /**
+   * A snapshot of the provider metrics: the user binds ({@code binds}, {@code bindFailures}) and, when users are
+   * searched, the search connection pool ({@code maxIdle}, {@code idle}, {@code created}, {@code acquired},
+   * {@code closed}).
+   *
+   * @return the metrics
+   */
+  JsonObject metrics();
+
+  /**
+   * Close the provider: logins in progress complete, the next ones fail. The worker threads and the search
+   * connections are released. A provider is also closed when Vert.x is closed.
+   */
+  void close();
 }
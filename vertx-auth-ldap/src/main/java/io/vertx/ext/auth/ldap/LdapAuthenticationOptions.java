@@ -23,12 +23,21 @@ import io.vertx.core.json.JsonObject;
 @DataObject(generateConverter = true)
 public class LdapAuthenticationOptions {
 
+  // Defaults
+  private static final int DEFAULT_POOL_SIZE = 4;
+
   private String authenticationMechanism;
   private String referral;
   private String url;
   private String authenticationQuery;
+  private String searchBase;
+  private String searchFilter;
+  private String bindDn;
+  private String bindPassword;
+  private int poolSize;
 
   public LdapAuthenticationOptions() {
+    poolSize = DEFAULT_POOL_SIZE;
   }
 
   public LdapAuthenticationOptions(JsonObject json) {
@@ -100,4 +109,85 @@ public class LdapAuthenticationOptions {
     return this;
   }
 
+  public String getSearchBase() {
+    return searchBase;
+  }
+
+  /**
+   * Set the base of the user search, for example `ou=users,dc=foo,dc=com`. Only used with a search filter.
+   *
+   * @param searchBase the search base
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setSearchBase(String searchBase) {
+    this.searchBase = searchBase;
+    return this;
+  }
+
+  public String getSearchFilter() {
+    return searchFilter;
+  }
+
+  /**
+   * Set the filter used to find the user to authenticate, for example `(uid={0})` - Note that the element `{0}` is
+   * substituted with the escaped user id. When set, the distinguished name of the user is looked up using a pool of
+   * connections bound with the {@link #setBindDn(String) bind DN} and the authentication query is not used.
+   *
+   * @param searchFilter the search filter
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setSearchFilter(String searchFilter) {
+    this.searchFilter = searchFilter;
+    return this;
+  }
+
+  public String getBindDn() {
+    return bindDn;
+  }
+
+  /**
+   * Set the distinguished name of the service account used to search users. Searches are anonymous if not set.
+   *
+   * @param bindDn the service account distinguished name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setBindDn(String bindDn) {
+    this.bindDn = bindDn;
+    return this;
+  }
+
+  public String getBindPassword() {
+    return bindPassword;
+  }
+
+  /**
+   * Set the password of the service account used to search users.
+   *
+   * @param bindPassword the service account password
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setBindPassword(String bindPassword) {
+    this.bindPassword = bindPassword;
+    return this;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  /**
+   * Set the size of the worker pool running the blocking LDAP operations, which is also the max number of search
+   * connections kept open. Default to 4.
+   *
+   * @param poolSize the pool size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LdapAuthenticationOptions setPoolSize(int poolSize) {
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("poolSize must be > 0");
+    }
+    this.poolSize = poolSize;
+    return this;
+  }
+
 }
@@ -14,18 +14,34 @@ package io.vertx.ext.auth.ldap.impl;
 
 import java.util.Hashtable;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import javax.naming.CommunicationException;
 import javax.naming.Context;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.SizeLimitExceededException;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
 import javax.naming.ldap.InitialLdapContext;
 import javax.naming.ldap.LdapContext;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Closeable;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernameFilter;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.ldap.LdapAuthentication;
 import io.vertx.ext.auth.ldap.LdapAuthenticationOptions;
@@ -34,16 +50,48 @@ import io.vertx.ext.auth.ldap.LdapAuthenticationOptions;
  *
  * @author <a href="mail://stephane.bastian.dev@gmail.com">Stephane Bastian</a>
  */
-public class LdapAuthenticationImpl implements LdapAuthentication {
+public class LdapAuthenticationImpl implements LdapAuthentication, Closeable {
   private static final String SIMPLE_AUTHENTICATION_MECHANISM = "simple";
   private static final String FOLLOW_REFERRAL = "follow";
 
-  private final Vertx vertx;
+  private static final AtomicInteger THREADS = new AtomicInteger();
+
+  private final VertxInternal vertx;
   private final LdapAuthenticationOptions authenticationOptions;
+  // blocking operations run unordered on threads of the provider, so logins don't wait for each other and the
+  // provider keeps working when the deployment that created it is undeployed
+  private final ExecutorService executor;
+  // service account connections, only when users are searched
+  private final LdapContextPool searchPool;
+  // known usernames, optional
+  private final UsernameFilter filter;
+
+  private final LongAdder binds = new LongAdder();
+  private final LongAdder bindFailures = new LongAdder();
 
   public LdapAuthenticationImpl(Vertx vertx, LdapAuthenticationOptions authenticationOptions) {
-    this.vertx = Objects.requireNonNull(vertx);
+    this(vertx, authenticationOptions, null);
+  }
+
+  public LdapAuthenticationImpl(Vertx vertx, LdapAuthenticationOptions authenticationOptions, UsernameFilter filter) {
+    this.vertx = (VertxInternal) Objects.requireNonNull(vertx);
+    this.filter = filter;
     this.authenticationOptions = Objects.requireNonNull(authenticationOptions);
+    this.executor = Executors.newFixedThreadPool(authenticationOptions.getPoolSize(), runnable -> {
+      final Thread thread = new Thread(runnable, "vertx-auth-ldap-" + THREADS.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    if (authenticationOptions.getSearchFilter() != null) {
+      searchPool = new LdapContextPool(
+        createEnvironment(authenticationOptions.getBindDn(), authenticationOptions.getBindPassword()),
+        authenticationOptions.getPoolSize());
+    } else {
+      searchPool = null;
+    }
+    // the threads and connections are released when Vert.x is closed, if not before
+    this.vertx.addCloseHook(this);
   }
 
   @Override
@@ -57,21 +105,62 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
       UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
       authInfo.checkValid(null);
 
-      String ldapPrincipal = getLdapPrincipal(authInfo.getUsername());
-      createLdapContext(ldapPrincipal, authInfo.getPassword(), contextResponse -> {
-        if (contextResponse.succeeded()) {
-          User user = User.fromName(authInfo.getUsername());
-          resultHandler.handle(Future.succeededFuture(user));
-        } else {
-          resultHandler.handle(Future.failedFuture(contextResponse.cause()));
+      if (filter != null && !filter.mightContain(authInfo.getUsername())) {
+        // Unknown user, no need to bind
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
+        return;
+      }
+
+      final Promise<User> promise = vertx.promise();
+      promise.future().onComplete(resultHandler);
+      executor.execute(() -> {
+        try {
+          String ldapPrincipal = searchPool != null ?
+            searchLdapPrincipal(authInfo.getUsername()) :
+            getLdapPrincipal(authInfo.getUsername());
+
+          bind(ldapPrincipal, authInfo.getPassword());
+          promise.complete(User.fromName(authInfo.getUsername()));
+        } catch (Throwable t) {
+          promise.fail(t);
         }
       });
+    } catch (RejectedExecutionException e) {
+      resultHandler.handle(Future.failedFuture("LDAP authentication provider is closed"));
     } catch (RuntimeException e) {
       resultHandler.handle(Future.failedFuture(e));
     }
   }
 
-  private void createLdapContext(String principal, String credential, Handler<AsyncResult<LdapContext>> resultHandler) {
+  @Override
+  public void close() {
+    vertx.removeCloseHook(this);
+    shutdown();
+  }
+
+  @Override
+  public void close(Promise<Void> completion) {
+    shutdown();
+    completion.complete();
+  }
+
+  private void shutdown() {
+    // running logins complete, new ones are rejected
+    executor.shutdown();
+    if (searchPool != null) {
+      searchPool.close();
+    }
+  }
+
+  @Override
+  public JsonObject metrics() {
+    JsonObject metrics = searchPool != null ? searchPool.metrics() : new JsonObject();
+    return metrics
+      .put("binds", binds.sum())
+      .put("bindFailures", bindFailures.sum());
+  }
+
+  private Hashtable<String, Object> createEnvironment(String principal, String credential) {
     Hashtable<String, Object> environment = new Hashtable<>();
     // set the initial cntext factory
     environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
@@ -90,14 +179,84 @@ public class LdapAuthenticationImpl implements LdapAuthentication {
     // referral
     environment.put(Context.REFERRAL,
         authenticationOptions.getReferral() == null ? FOLLOW_REFERRAL : authenticationOptions.getReferral());
-    vertx.executeBlocking(blockingResult -> {
+
+    return environment;
+  }
+
+  /**
+   * Bind as the user on a short-lived connection, the connection is always closed. This method blocks.
+   */
+  private void bind(String principal, String credential) throws NamingException {
+    binds.increment();
+    LdapContext context;
+    try {
+      context = new InitialLdapContext(createEnvironment(principal, credential), null);
+    } catch (NamingException e) {
+      bindFailures.increment();
+      throw e;
+    }
+    context.close();
+  }
+
+  /**
+   * Find the distinguished name of the user using a pooled service account connection. A pooled connection may have
+   * been closed by the server since it was last used, in that case the search is retried once on a new connection.
+   * This method blocks.
+   */
+  private String searchLdapPrincipal(String username) throws NamingException {
+    try {
+      return searchLdapPrincipal(username, searchPool.acquire());
+    } catch (CommunicationException | ServiceUnavailableException e) {
+      return searchLdapPrincipal(username, searchPool.connect());
+    }
+  }
+
+  private String searchLdapPrincipal(String username, LdapContext context) throws NamingException {
+    final SearchControls controls = new SearchControls();
+    controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+    controls.setReturningAttributes(new String[0]);
+    // 2 is enough to detect duplicates
+    controls.setCountLimit(2);
+
+    String dn = null;
+    int found = 0;
+    try {
+      // the filter arguments are escaped by the context
+      NamingEnumeration<SearchResult> results = context.search(
+        authenticationOptions.getSearchBase() == null ? "" : authenticationOptions.getSearchBase(),
+        authenticationOptions.getSearchFilter(),
+        new Object[] { username },
+        controls);
+
       try {
-        LdapContext context = new InitialLdapContext(environment, null);
-        blockingResult.complete(context);
-      } catch (Throwable t) {
-        blockingResult.fail(t);
+        while (results.hasMore()) {
+          SearchResult result = results.next();
+          if (found++ == 0) {
+            dn = result.getNameInNamespace();
+          }
+        }
+      } catch (SizeLimitExceededException e) {
+        // more results than the count limit
+        found++;
+      } finally {
+        results.close();
       }
-    }, resultHandler);
+    } catch (NamingException | RuntimeException e) {
+      // the connection may be broken
+      searchPool.discard(context);
+      throw e;
+    }
+
+    searchPool.release(context);
+
+    switch (found) {
+      case 0:
+        throw new NamingException("Invalid username/password");
+      case 1:
+        return dn;
+      default:
+        throw new NamingException("More than one user found for [" + username + "]");
+    }
   }
 
   private String getLdapPrincipal(String principal) {
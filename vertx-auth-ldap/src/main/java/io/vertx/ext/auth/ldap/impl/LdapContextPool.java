@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.ldap.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import javax.naming.NamingException;
+import javax.naming.ldap.InitialLdapContext;
+import javax.naming.ldap.LdapContext;
+import java.util.Hashtable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of LDAP contexts bound with the same identity. Contexts are only used from worker threads, the number of
+ * contexts in use is bounded by the size of the worker pool and at most {@code maxIdle} contexts are kept open between
+ * operations. Contexts that failed an operation must be discarded, as the underlying connection may be broken.
+ */
+final class LdapContextPool {
+
+  private final Hashtable<String, Object> environment;
+  private final int maxIdle;
+
+  private final ConcurrentLinkedQueue<LdapContext> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private volatile boolean closing;
+
+  // metrics
+  private final LongAdder created = new LongAdder();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder closed = new LongAdder();
+
+  LdapContextPool(Hashtable<String, Object> environment, int maxIdle) {
+    this.environment = environment;
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Borrow a context from the pool, connecting a new one if none is idle. This method blocks.
+   */
+  LdapContext acquire() throws NamingException {
+    acquired.increment();
+    LdapContext context = idle.poll();
+    if (context != null) {
+      idleCount.decrementAndGet();
+      return context;
+    }
+    return connect();
+  }
+
+  /**
+   * Connect a new context, regardless of the idle ones. This method blocks.
+   */
+  LdapContext connect() throws NamingException {
+    // the environment is copied by the context
+    final LdapContext context = new InitialLdapContext(environment, null);
+    created.increment();
+    return context;
+  }
+
+  /**
+   * Return a context after a successful operation. If the pool is already full the context is closed.
+   */
+  void release(LdapContext context) {
+    if (closing) {
+      discard(context);
+      return;
+    }
+    if (idleCount.incrementAndGet() <= maxIdle) {
+      idle.offer(context);
+      if (closing) {
+        // closed concurrently
+        close();
+      }
+    } else {
+      idleCount.decrementAndGet();
+      discard(context);
+    }
+  }
+
+  /**
+   * Close a context instead of returning it to the pool.
+   */
+  void discard(LdapContext context) {
+    closed.increment();
+    try {
+      context.close();
+    } catch (NamingException e) {
+      // the connection is already unusable
+    }
+  }
+
+  /**
+   * Close the idle contexts, contexts in use are closed when they are released.
+   */
+  void close() {
+    closing = true;
+    LdapContext context;
+    while ((context = idle.poll()) != null) {
+      idleCount.decrementAndGet();
+      discard(context);
+    }
+  }
+
+  JsonObject metrics() {
+    return new JsonObject()
+      .put("maxIdle", maxIdle)
+      .put("idle", idleCount.get())
+      .put("created", created.sum())
+      .put("acquired", acquired.sum())
+      .put("closed", closed.sum());
+  }
+}
@@ -12,6 +12,7 @@
  ********************************************************************************/
 package io.vertx.ext.auth.ldap;
 
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
@@ -81,6 +82,87 @@ public class LdapAuthenticationTest {
       });
   }
 
+  @Test
+  public void testSearchAuthenticate(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthentication searchProvider = LdapAuthentication.create(rule.vertx(), searchOptions());
+
+    searchProvider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))
+      .compose(user -> searchProvider.authenticate(new UsernamePasswordCredentials("tim", "sausages")))
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        should.assertEquals("tim", user.principal().getString("username"));
+        JsonObject metrics = searchProvider.metrics();
+        // the search connection is reused
+        should.assertEquals(1L, metrics.getLong("created"));
+        should.assertEquals(2L, metrics.getLong("acquired"));
+        should.assertEquals(1, metrics.getInteger("idle"));
+        should.assertEquals(2L, metrics.getLong("binds"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testSearchAuthenticateFail(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthentication searchProvider = LdapAuthentication.create(rule.vertx(), searchOptions());
+
+    searchProvider.authenticate(new UsernamePasswordCredentials("frank", "sausages"))
+      .onSuccess(user -> should.fail("Should have failed"))
+      .recover(err -> searchProvider.authenticate(new UsernamePasswordCredentials("tim", "wrongpassword")))
+      .onSuccess(user -> should.fail("Should have failed"))
+      .onFailure(err -> {
+        JsonObject metrics = searchProvider.metrics();
+        // unknown users are never bound
+        should.assertEquals(1L, metrics.getLong("binds"));
+        should.assertEquals(1L, metrics.getLong("bindFailures"));
+        // a failed login doesn't close the search connection
+        should.assertEquals(1L, metrics.getLong("created"));
+        should.assertEquals(0L, metrics.getLong("closed"));
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testSearchAuthenticateStaleConnection(TestContext should) {
+    final Async test = should.async();
+
+    LdapAuthentication searchProvider = LdapAuthentication.create(rule.vertx(), searchOptions());
+
+    searchProvider.authenticate(new UsernamePasswordCredentials("tim", "sausages"))
+      // the server drops the idle search connection
+      .compose(user -> rule.vertx().<Void>executeBlocking(restart -> {
+        try {
+          serverRule.getLdapServer().stop();
+          serverRule.getLdapServer().start();
+          restart.complete();
+        } catch (Exception e) {
+          restart.fail(e);
+        }
+      }))
+      .compose(v -> searchProvider.authenticate(new UsernamePasswordCredentials("tim", "sausages")))
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        JsonObject metrics = searchProvider.metrics();
+        // the stale connection was replaced
+        should.assertEquals(2L, metrics.getLong("created"));
+        should.assertEquals(1L, metrics.getLong("closed"));
+        searchProvider.close();
+        should.assertEquals(0, searchProvider.metrics().getInteger("idle"));
+        test.complete();
+      });
+  }
+
+  private static LdapAuthenticationOptions searchOptions() {
+    return new LdapAuthenticationOptions().setUrl("ldap://localhost:" + serverRule.getLdapServer().getPort())
+      .setSearchBase("ou=Users,dc=myorg,dc=com")
+      .setSearchFilter("(uid={0})")
+      .setBindDn("uid=admin,ou=system")
+      .setBindPassword("secret");
+  }
+
   @Before
   public void setUp() throws Exception {
     LdapAuthenticationOptions ldapOptions = new LdapAuthenticationOptions().setUrl("ldap://localhost:" + serverRule.getLdapServer().getPort())
@@ -35,6 +35,16 @@ public class MongoAuthenticationOptionsConverter {
             obj.setPasswordField((String)member.getValue());
           }
           break;
+        case "principalFields":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.String> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setPrincipalFields(list);
+          }
+          break;
         case "usernameCredentialField":
           if (member.getValue() instanceof String) {
             obj.setUsernameCredentialField((String)member.getValue());
@@ -63,6 +73,11 @@ public class MongoAuthenticationOptionsConverter {
     if (obj.getPasswordField() != null) {
       json.put("passwordField", obj.getPasswordField());
     }
+    if (obj.getPrincipalFields() != null) {
+      JsonArray array = new JsonArray();
+      obj.getPrincipalFields().forEach(item -> array.add(item));
+      json.put("principalFields", array);
+    }
     if (obj.getUsernameCredentialField() != null) {
       json.put("usernameCredentialField", obj.getUsernameCredentialField());
     }
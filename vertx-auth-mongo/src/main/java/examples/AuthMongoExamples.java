@@ -24,8 +24,11 @@ import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.mongo.MongoAuthentication;
 import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
 import io.vertx.ext.auth.mongo.MongoAuthorization;
+import io.vertx.ext.auth.mongo.MongoAuthorizationOptions;
 import io.vertx.ext.mongo.MongoClient;
 
+import java.util.Arrays;
+
 /**
  * @author mremme
  */
@@ -68,4 +71,24 @@ public class AuthMongoExamples {
         }
       });
   }
+
+  public void example5(MongoClient client) {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      // only keep these fields of the user document in the principal
+      .setPrincipalFields(Arrays.asList("email", "displayName"));
+
+    // roles and permissions are read with the password
+    MongoAuthentication authenticationProvider =
+      MongoAuthentication.create(client, options, "mongo", new MongoAuthorizationOptions());
+
+    authenticationProvider
+      .authenticate(new JsonObject()
+        .put("username", "tim")
+        .put("password", "sausages"))
+      .onSuccess(user -> {
+        if (RoleBasedAuthorization.create("manager").match(user)) {
+          // Has role!
+        }
+      });
+  }
 }
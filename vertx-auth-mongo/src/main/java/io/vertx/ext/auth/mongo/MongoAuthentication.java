@@ -18,8 +18,11 @@ package io.vertx.ext.auth.mongo;
 
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.mongo.impl.MongoAuthenticationImpl;
 import io.vertx.ext.mongo.MongoClient;
 
@@ -78,6 +81,80 @@ public interface MongoAuthentication extends AuthenticationProvider {
     return new MongoAuthenticationImpl(mongoClient, options);
   }
 
+  /**
+   * Creates an instance of MongoAuth that also reads the roles and permissions of the user, from the fields of the
+   * user document named by the authorization options, in the same query as the password. The authorizations are added
+   * to the authenticated user under the given provider id, so no {@link MongoAuthorization} round trip is needed. The
+   * collection and username field of the authorization options are not used.
+   *
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param options
+   *          the configuration object for the current instance.
+   * @param providerId
+   *          the provider ID of the authorizations
+   * @param authorizationOptions
+   *          the role and permission fields of the user document.
+   * @return the created instance of {@link MongoAuthentication}
+   */
+  static MongoAuthentication create(MongoClient mongoClient, MongoAuthenticationOptions options, String providerId, MongoAuthorizationOptions authorizationOptions) {
+    return new MongoAuthenticationImpl(mongoClient, options, providerId, authorizationOptions, null);
+  }
+
+  /**
+   * Creates an instance of MongoAuth that rejects the usernames unknown to a filter without querying the collection.
+   *
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param options
+   *          the configuration object for the current instance.
+   * @param filter
+   *          the known usernames, see {@link #createUsernameFilter(Vertx, MongoClient, MongoAuthenticationOptions, UsernameFilterOptions)}
+   * @return the created instance of {@link MongoAuthentication}
+   */
+  static MongoAuthentication create(MongoClient mongoClient, MongoAuthenticationOptions options, UsernameFilter filter) {
+    return new MongoAuthenticationImpl(mongoClient, options, null, null, filter);
+  }
+
+  /**
+   * Creates an instance of MongoAuth that reads the roles and permissions of the user in the same query as the
+   * password, see {@link #create(MongoClient, MongoAuthenticationOptions, String, MongoAuthorizationOptions)}, and
+   * rejects the usernames unknown to a filter without querying the collection.
+   *
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param options
+   *          the configuration object for the current instance.
+   * @param providerId
+   *          the provider ID of the authorizations
+   * @param authorizationOptions
+   *          the role and permission fields of the user document.
+   * @param filter
+   *          the known usernames, see {@link #createUsernameFilter(Vertx, MongoClient, MongoAuthenticationOptions, UsernameFilterOptions)}
+   * @return the created instance of {@link MongoAuthentication}
+   */
+  static MongoAuthentication create(MongoClient mongoClient, MongoAuthenticationOptions options, String providerId, MongoAuthorizationOptions authorizationOptions, UsernameFilter filter) {
+    return new MongoAuthenticationImpl(mongoClient, options, providerId, authorizationOptions, filter);
+  }
+
+  /**
+   * Creates a filter of the known usernames, loaded with the username field of all the documents of the collection.
+   * The documents are streamed into the filter.
+   *
+   * @param vertx
+   *          the vertx instance
+   * @param mongoClient
+   *          an instance of {@link MongoClient} to be used for data storage and retrival
+   * @param options
+   *          the collection and username field of the users.
+   * @param filterOptions
+   *          the filter options
+   * @return the filter
+   */
+  static UsernameFilter createUsernameFilter(Vertx vertx, MongoClient mongoClient, MongoAuthenticationOptions options, UsernameFilterOptions filterOptions) {
+    return MongoAuthenticationImpl.createUsernameFilter(vertx, mongoClient, options, filterOptions);
+  }
+
   static MongoAuthentication create(MongoClient mongoClient, HashStrategy hashStrategy, MongoAuthenticationOptions options) {
     return new MongoAuthenticationImpl(mongoClient, hashStrategy, DEFAULT_SALT_FIELD, options);
   }
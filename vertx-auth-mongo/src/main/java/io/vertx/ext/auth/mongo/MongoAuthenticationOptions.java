@@ -18,6 +18,8 @@ package io.vertx.ext.auth.mongo;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 
+import java.util.List;
+
 /**
  * Options configuring Mongo authentication.
  *
@@ -32,6 +34,7 @@ public class MongoAuthenticationOptions {
   private String passwordField;
   private String usernameCredentialField;
   private String passwordCredentialField;
+  private List<String> principalFields;
 
   public MongoAuthenticationOptions() {
     collectionName = MongoAuthentication.DEFAULT_COLLECTION_NAME;
@@ -114,4 +117,21 @@ public class MongoAuthenticationOptions {
     this.passwordCredentialField = passwordCredentialField;
     return this;
   }
+
+  public List<String> getPrincipalFields() {
+    return principalFields;
+  }
+
+  /**
+   * The fields of the user document to be kept in the principal of the authenticated user. When set, only these fields,
+   * the username and the password (and the legacy salt) are read from the collection, so large user documents are not
+   * transferred. The default {@code null} reads the whole document.
+   *
+   * @param principalFields the fields to read
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthenticationOptions setPrincipalFields(List<String> principalFields) {
+    this.principalFields = principalFields;
+    return this;
+  }
 }
@@ -18,6 +18,8 @@ package io.vertx.ext.auth.mongo.impl;
 
 import io.vertx.core.VertxException;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
 import io.vertx.ext.auth.mongo.HashAlgorithm;
 import io.vertx.ext.auth.mongo.HashSaltStyle;
 import io.vertx.ext.auth.mongo.HashStrategy;
@@ -48,7 +50,7 @@ public class DefaultHashStrategy implements HashStrategy {
   // Algorithm
   private HashAlgorithm algorithm;
   private SecretKeyFactory skf;
-  private MessageDigest md;
+  private volatile EnginePool<MessageDigest> md;
 
   /**
    *
@@ -67,13 +69,9 @@ public class DefaultHashStrategy implements HashStrategy {
     this.externalSalt = externalSalt;
   }
 
-  private synchronized void initMessageDigest() {
-    try {
-      if (md == null) {
-        md = MessageDigest.getInstance("SHA-512");
-      }
-    } catch (NoSuchAlgorithmException nsae) {
-      throw new RuntimeException("PBKDF2 is not available", nsae);
+  private void initMessageDigest() {
+    if (md == null) {
+      md = Digests.pool("SHA-512");
     }
   }
 
@@ -184,7 +182,7 @@ public class DefaultHashStrategy implements HashStrategy {
       switch (algorithm) {
         case SHA512:
           String concat = (salt == null ? "" : salt) + password;
-          return base16Encode(md.digest(concat.getBytes(StandardCharsets.UTF_8))).toUpperCase();
+          return base16Encode(Digests.digest(md, concat.getBytes(StandardCharsets.UTF_8))).toUpperCase();
         case PBKDF2:
           PBEKeySpec spec = new PBEKeySpec(
             password.toCharArray(),
@@ -19,21 +19,31 @@ package io.vertx.ext.auth.mongo.impl;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.HashingStrategy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.impl.HashingWorker;
 import io.vertx.ext.auth.impl.UserImpl;
 import io.vertx.ext.auth.mongo.*;
+import io.vertx.ext.mongo.FindOptions;
 import io.vertx.ext.mongo.MongoClient;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * An implementation of {@link MongoAuthentication}
@@ -49,6 +59,10 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
   private final MongoAuthenticationOptions options;
   private HashStrategy legacyStrategy;
   private String hashField;
+  // combined mode, roles and permissions are read with the password
+  private String providerId;
+  private MongoAuthorizationOptions authorizationOptions;
+  private UsernameFilter filter;
 
   /**
    * Creates a new instance
@@ -76,6 +90,54 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
     this.hashField = hashField;
   }
 
+  /**
+   * Creates a new instance that also loads the authorizations of the user and/or rejects the usernames unknown to a
+   * filter
+   *
+   * @param mongoClient
+   *          the {@link MongoClient} to be used
+   * @param options
+   *          the options for configuring the new instance
+   * @param providerId
+   *          the provider ID of the authorizations, {@code null} to not load the authorizations
+   * @param authorizationOptions
+   *          the role and permission fields of the user document, {@code null} to not load the authorizations
+   * @param filter
+   *          the known usernames, {@code null} to always query the collection
+   */
+  public MongoAuthenticationImpl(MongoClient mongoClient, MongoAuthenticationOptions options, String providerId, MongoAuthorizationOptions authorizationOptions, UsernameFilter filter) {
+    if ((providerId == null) != (authorizationOptions == null)) {
+      throw new IllegalArgumentException("providerId and authorizationOptions must be set together");
+    }
+    this.mongoClient = mongoClient;
+    this.options = options;
+    this.providerId = providerId;
+    this.authorizationOptions = authorizationOptions;
+    this.filter = filter;
+  }
+
+  public static UsernameFilter createUsernameFilter(Vertx vertx, MongoClient mongoClient, MongoAuthenticationOptions options, UsernameFilterOptions filterOptions) {
+    Objects.requireNonNull(mongoClient);
+    final String usernameField = options.getUsernameField();
+    // only the usernames are transferred
+    final FindOptions findOptions = new FindOptions()
+      .setFields(new JsonObject().put(usernameField, 1).put("_id", 0));
+
+    return UsernameFilter.create(vertx, filterOptions, sink -> {
+      final Promise<Void> loaded = Promise.promise();
+      mongoClient.findBatchWithOptions(options.getCollectionName(), new JsonObject(), findOptions)
+        .exceptionHandler(loaded::tryFail)
+        .endHandler(v -> loaded.tryComplete())
+        .handler(json -> {
+          final String username = json.getString(usernameField);
+          if (username != null) {
+            sink.handle(username);
+          }
+        });
+      return loaded.future();
+    });
+  }
+
   @Override
   public void authenticate(JsonObject credentials, Handler<AsyncResult<User>> resultHandler) {
     authenticate(
@@ -97,15 +159,27 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
       UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
       authInfo.checkValid(null);
 
+      if (filter != null && !filter.mightContain(authInfo.getUsername())) {
+        // Unknown user, no need to ask the database
+        resultHandler.handle(Future.failedFuture("No account found for user [" + authInfo.getUsername() + "]"));
+        return;
+      }
+
       AuthToken token = new AuthToken(authInfo.getUsername(), authInfo.getPassword());
 
       JsonObject query = createQuery(authInfo.getUsername());
-      mongoClient.find(options.getCollectionName(), query, res -> {
+      // a second user is enough to know the username isn't unique
+      FindOptions findOptions = new FindOptions()
+        .setFields(createProjection())
+        .setLimit(2);
+
+      mongoClient.findWithOptions(options.getCollectionName(), query, findOptions, res -> {
 
         try {
           if (res.succeeded()) {
-            User user = handleSelection(res, token);
-            resultHandler.handle(Future.succeededFuture(user));
+            handleSelection(res, token)
+              .onFailure(log::warn)
+              .onComplete(resultHandler);
           } else {
             resultHandler.handle(Future.failedFuture(res.cause()));
           }
@@ -130,6 +204,35 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
     return new JsonObject().put(options.getUsernameField(), username);
   }
 
+  /**
+   * The fields read from the user document. Without principal fields the whole document is read, otherwise only these
+   * and the fields needed by the provider are.
+   *
+   * @return the projection, empty for the whole document
+   */
+  private JsonObject createProjection() {
+    final List<String> principalFields = options.getPrincipalFields();
+    final JsonObject fields = new JsonObject();
+    if (principalFields == null) {
+      return fields;
+    }
+    fields
+      .put(options.getUsernameField(), 1)
+      .put(options.getPasswordField(), 1);
+    if (legacyStrategy != null && hashField != null) {
+      fields.put(hashField, 1);
+    }
+    if (authorizationOptions != null) {
+      fields
+        .put(authorizationOptions.getRoleField(), 1)
+        .put(authorizationOptions.getPermissionField(), 1);
+    }
+    for (String field : principalFields) {
+      fields.put(field, 1);
+    }
+    return fields;
+  }
+
   /**
    * Examine the selection of found users and return one, if password is fitting,
    *
@@ -137,7 +240,7 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
    * @param authToken
    * @return
    */
-  private User handleSelection(AsyncResult<List<JsonObject>> resultList, AuthToken authToken)
+  private Future<User> handleSelection(AsyncResult<List<JsonObject>> resultList, AuthToken authToken)
       throws Exception {
     switch (resultList.result().size()) {
     case 0: {
@@ -148,13 +251,16 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
     case 1: {
       JsonObject json = resultList.result().get(0);
       User user = createUser(json);
-      if (examinePassword(user, json.getString(options.getPasswordField()), authToken.password))
-        return user;
-      else {
-        String message = "Invalid username/password [" + authToken.username + "]";
-        // log.warn(message);
-        throw new Exception(message);
-      }
+      return examinePassword(user, json.getString(options.getPasswordField()), authToken.password)
+        .compose(valid -> {
+          if (valid) {
+            return Future.succeededFuture(user);
+          } else {
+            String message = "Invalid username/password [" + authToken.username + "]";
+            // log.warn(message);
+            return Future.failedFuture(new Exception(message));
+          }
+        });
     }
     default: {
       // More than one row returned!
@@ -167,15 +273,32 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
   }
 
   private User createUser(JsonObject json) {
+    JsonArray roles = null;
+    JsonArray permissions = null;
+    if (authorizationOptions != null) {
+      // the authorizations are not part of the principal
+      roles = (JsonArray) json.remove(authorizationOptions.getRoleField());
+      permissions = (JsonArray) json.remove(authorizationOptions.getPermissionField());
+    }
     User user = User.create(json);
     if (legacyStrategy != null) {
       json.put(MongoAuthImpl.PROPERTY_FIELD_SALT, hashField);
       json.put(MongoAuthImpl.PROPERTY_FIELD_PASSWORD, options.getPasswordField());
     }
+    if (roles != null) {
+      for (int i = 0; i < roles.size(); i++) {
+        user.authorizations().add(providerId, RoleBasedAuthorization.create(roles.getString(i)));
+      }
+    }
+    if (permissions != null) {
+      for (int i = 0; i < permissions.size(); i++) {
+        user.authorizations().add(providerId, PermissionBasedAuthorization.create(permissions.getString(i)));
+      }
+    }
     return user;
   }
 
-  private boolean examinePassword(User user, String hash, String password) {
+  private Future<Boolean> examinePassword(User user, String hash, String password) {
 
     if (hash.charAt(0) != '$') {
       // this isn't a phc-string, it's legacy
@@ -183,10 +306,12 @@ public class MongoAuthenticationImpl implements MongoAuthentication {
         throw new IllegalStateException("Mongo Authentication cannot handle legacy hashes without a HashStrategy");
       }
 
+      // legacy hashes are a single digest, cheap enough to compute inline
       String givenPassword = this.legacyStrategy.computeHash(password, user);
-      return MessageDigest.isEqual(hash.getBytes(StandardCharsets.UTF_8), givenPassword.getBytes(StandardCharsets.UTF_8));
+      return Future.succeededFuture(MessageDigest.isEqual(hash.getBytes(StandardCharsets.UTF_8), givenPassword.getBytes(StandardCharsets.UTF_8)));
     } else {
-      return strategy.verify(hash, password);
+      // verify off the event loop
+      return HashingWorker.verifyOnContext(strategy, hash, password);
     }
   }
 
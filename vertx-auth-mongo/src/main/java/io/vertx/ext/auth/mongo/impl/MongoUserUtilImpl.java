@@ -18,14 +18,21 @@ package io.vertx.ext.auth.mongo.impl;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.HashingStrategy;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.impl.UserProvisioner;
 import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
 import io.vertx.ext.auth.mongo.MongoAuthorizationOptions;
 import io.vertx.ext.auth.mongo.MongoUserUtil;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
 import io.vertx.ext.mongo.MongoClient;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -40,6 +47,8 @@ public class MongoUserUtilImpl implements MongoUserUtil {
   private final MongoAuthenticationOptions authnOptions;
   private final MongoAuthorizationOptions authzOptions;
 
+  private volatile UsernameFilter filter;
+
   public MongoUserUtilImpl(MongoClient client) {
     this(client, new MongoAuthenticationOptions(), new MongoAuthorizationOptions());
   }
@@ -50,6 +59,12 @@ public class MongoUserUtilImpl implements MongoUserUtil {
     this.authzOptions = authzOptions;
   }
 
+  @Override
+  public MongoUserUtil setUsernameFilter(UsernameFilter filter) {
+    this.filter = filter;
+    return this;
+  }
+
   @Override
   public MongoUserUtil createUser(String username, String password, Handler<AsyncResult<String>> resultHandler) {
     if (username == null || password == null) {
@@ -77,6 +92,9 @@ public class MongoUserUtilImpl implements MongoUserUtil {
       return this;
     }
 
+    // before the insert, so the user can authenticate as soon as it exists
+    addToFilter(username);
+
     client.save(
       authnOptions.getCollectionName(),
       new JsonObject()
@@ -103,4 +121,58 @@ public class MongoUserUtilImpl implements MongoUserUtil {
 
     return this;
   }
+
+  @Override
+  public Future<JsonObject> createUsers(ReadStream<JsonObject> items, int chunkSize, Handler<JsonObject> progressHandler) {
+    try {
+      return new UserProvisioner(strategy, random, chunkSize, this::insertChunk, progressHandler)
+        .provision(items);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Void> insertChunk(List<JsonObject> chunk) {
+    final List<BulkOperation> users = new ArrayList<>(chunk.size());
+    final List<BulkOperation> authorizations = new ArrayList<>(chunk.size());
+
+    for (JsonObject item : chunk) {
+      final String username = item.getString("username");
+      final String hash = item.getString("hash");
+      if (username == null || hash == null) {
+        return Future.failedFuture("username or password hash are null");
+      }
+      addToFilter(username);
+      users.add(BulkOperation.createInsert(
+        new JsonObject()
+          .put(authnOptions.getUsernameCredentialField(), username)
+          .put(authnOptions.getPasswordCredentialField(), hash)));
+
+      final JsonArray roles = item.getJsonArray("roles");
+      final JsonArray permissions = item.getJsonArray("permissions");
+      if (roles != null || permissions != null) {
+        authorizations.add(BulkOperation.createInsert(
+          new JsonObject()
+            .put(authzOptions.getUsernameField(), username)
+            .put(authzOptions.getRoleField(), roles == null ? new JsonArray() : roles)
+            .put(authzOptions.getPermissionField(), permissions == null ? new JsonArray() : permissions)));
+      }
+    }
+
+    // the order of the inserts doesn't matter, so the server doesn't need to apply them one by one
+    final BulkWriteOptions bulkWriteOptions = new BulkWriteOptions().setOrdered(false);
+
+    return client.bulkWriteWithOptions(authnOptions.getCollectionName(), users, bulkWriteOptions)
+      .compose(v -> authorizations.isEmpty() ?
+        Future.succeededFuture() :
+        client.bulkWriteWithOptions(authzOptions.getCollectionName(), authorizations, bulkWriteOptions))
+      .mapEmpty();
+  }
+
+  private void addToFilter(String username) {
+    final UsernameFilter filter = this.filter;
+    if (filter != null) {
+      filter.add(username);
+    }
+  }
 }
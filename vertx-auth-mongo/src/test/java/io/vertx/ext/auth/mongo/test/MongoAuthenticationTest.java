@@ -16,17 +16,26 @@
 
 package io.vertx.ext.auth.mongo.test;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.mongo.MongoAuthentication;
 import io.vertx.ext.auth.mongo.MongoAuthenticationOptions;
+import io.vertx.ext.auth.mongo.MongoAuthorizationOptions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runners.model.InitializationError;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -130,6 +139,94 @@ public class MongoAuthenticationTest extends MongoBaseTest {
     await(5, TimeUnit.SECONDS);
   }
 
+  @Test
+  public void testAuthenticateWithPrincipalFields() throws Exception {
+    MongoAuthenticationOptions options = new MongoAuthenticationOptions()
+      .setCollectionName(createCollectionName(MongoAuthentication.DEFAULT_COLLECTION_NAME))
+      .setPrincipalFields(Collections.singletonList("email"));
+
+    insertUserDocument("paulo", "secret", new JsonObject()
+      .put("email", "paulo@example.com")
+      .put("avatar", "a large blob"))
+      .compose(v -> getAuthenticationProvider(options).authenticate(new UsernamePasswordCredentials("paulo", "secret")))
+      .onSuccess(user -> {
+        assertEquals("paulo", user.principal().getString("username"));
+        assertEquals("paulo@example.com", user.principal().getString("email"));
+        assertFalse(user.principal().containsKey("avatar"));
+        testComplete();
+      })
+      .onFailure(this::fail);
+    await();
+  }
+
+  @Test
+  public void testAuthenticateWithAuthorizations() throws Exception {
+    MongoAuthentication authn = MongoAuthentication.create(
+      getMongoClient(),
+      authenticationOptions,
+      "mongo",
+      new MongoAuthorizationOptions());
+
+    insertUserDocument("paulo", "secret", new JsonObject()
+      .put("roles", new JsonArray().add("developer"))
+      .put("permissions", new JsonArray().add("commit_code"))
+      .put("avatar", "a large blob"))
+      .compose(v -> authn.authenticate(new UsernamePasswordCredentials("paulo", "secret")))
+      .onSuccess(user -> {
+        assertTrue(RoleBasedAuthorization.create("developer").match(user));
+        assertTrue(PermissionBasedAuthorization.create("commit_code").match(user));
+        assertFalse(RoleBasedAuthorization.create("manager").match(user));
+        assertEquals(Collections.singleton("mongo"), user.authorizations().getProviderIds());
+        // the authorizations are not part of the principal, the rest of the document is
+        assertFalse(user.principal().containsKey("roles"));
+        assertEquals("a large blob", user.principal().getString("avatar"));
+        testComplete();
+      })
+      .onFailure(this::fail);
+    await();
+  }
+
+  @Test
+  public void testAuthenticateWithAuthorizationsAndFilter() throws Exception {
+    UsernameFilter filter = MongoAuthentication.createUsernameFilter(
+      vertx,
+      getMongoClient(),
+      authenticationOptions,
+      new UsernameFilterOptions());
+
+    MongoAuthentication authn = MongoAuthentication.create(
+      getMongoClient(),
+      authenticationOptions,
+      "mongo",
+      new MongoAuthorizationOptions(),
+      filter);
+
+    insertUserDocument("paulo", "secret", new JsonObject()
+      .put("roles", new JsonArray().add("developer")))
+      .compose(v -> filter.rebuild())
+      .compose(v -> authn.authenticate(new UsernamePasswordCredentials("unknown", "secret"))
+        .compose(
+          user -> Future.failedFuture("an unknown user should not authenticate"),
+          err -> authn.authenticate(new UsernamePasswordCredentials("paulo", "secret"))))
+      .onSuccess(user -> {
+        assertTrue(RoleBasedAuthorization.create("developer").match(user));
+        filter.close();
+        testComplete();
+      })
+      .onFailure(this::fail);
+    await();
+  }
+
+  private Future<String> insertUserDocument(String username, String password, JsonObject extra) throws Exception {
+    JsonObject user = extra
+      .put(authenticationOptions.getUsernameField(), username)
+      .put(authenticationOptions.getPasswordField(), getAuthenticationProvider().hash("pbkdf2", "somesalt", password));
+
+    Promise<String> promise = Promise.promise();
+    getMongoClient().save(authenticationOptions.getCollectionName(), user, promise);
+    return promise.future();
+  }
+
   /*
    * ################################################## preparation methods
    * ##################################################
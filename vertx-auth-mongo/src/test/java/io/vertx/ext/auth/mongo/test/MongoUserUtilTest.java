@@ -16,15 +16,18 @@
 
 package io.vertx.ext.auth.mongo.test;
 
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.mongo.*;
+import io.vertx.ext.mongo.BulkOperation;
 import io.vertx.ext.mongo.MongoClient;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -79,4 +82,39 @@ public class MongoUserUtilTest extends MongoBaseTest {
       });
     await();
   }
+
+  @Test
+  public void createUsersTest() throws Throwable {
+    MongoClient mongoClient = this.getMongoClient();
+    MongoAuthentication authnProvider = MongoAuthentication.create(mongoClient, new MongoAuthenticationOptions());
+    MongoAuthorization authzProvider = MongoAuthorization.create("abc", mongoClient, new MongoAuthorizationOptions());
+    MongoUserUtil userUtil = MongoUserUtil.create(mongoClient);
+
+    // the accounts of another system
+    List<BulkOperation> legacy = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      legacy.add(BulkOperation.createInsert(new JsonObject()
+        .put("username", "user" + i)
+        .put("password", "secret" + i)
+        .put("roles", new JsonArray().add("a"))));
+    }
+
+    List<JsonObject> progress = new ArrayList<>();
+
+    mongoClient.bulkWrite("legacy", legacy)
+      .flatMap(v -> userUtil.createUsers(mongoClient.findBatch("legacy", new JsonObject()), 10, progress::add))
+      .flatMap(result -> {
+        assertEquals(25L, result.getLong("items").longValue());
+        assertEquals(3L, result.getLong("chunks").longValue());
+        assertEquals(3, progress.size());
+        return authnProvider.authenticate(new UsernamePasswordCredentials("user24", "secret24"));
+      })
+      .flatMap(user -> authzProvider.getAuthorizations(user).map(v -> user))
+      .onFailure(this::fail)
+      .onSuccess(user -> {
+        assertTrue(RoleBasedAuthorization.create("a").match(user));
+        this.complete();
+      });
+    await();
+  }
 }
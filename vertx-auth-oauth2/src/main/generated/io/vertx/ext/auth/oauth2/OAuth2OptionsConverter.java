@@ -70,6 +70,21 @@ public class OAuth2OptionsConverter {
             obj.setHttpClientOptions(new io.vertx.core.http.HttpClientOptions((io.vertx.core.json.JsonObject)member.getValue()));
           }
           break;
+        case "introspectionCacheNegativeTTL":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheNegativeTTL(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "introspectionCacheSize":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "introspectionCacheTTL":
+          if (member.getValue() instanceof Number) {
+            obj.setIntrospectionCacheTTL(((Number)member.getValue()).longValue());
+          }
+          break;
         case "introspectionPath":
           if (member.getValue() instanceof String) {
             obj.setIntrospectionPath((String)member.getValue());
@@ -90,6 +105,11 @@ public class OAuth2OptionsConverter {
             obj.setLogoutPath((String)member.getValue());
           }
           break;
+        case "minJWKRefreshInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setMinJWKRefreshInterval(((Number)member.getValue()).longValue());
+          }
+          break;
         case "pubSecKeys":
           if (member.getValue() instanceof JsonArray) {
             java.util.ArrayList<io.vertx.ext.auth.PubSecKeyOptions> list =  new java.util.ArrayList<>();
@@ -100,6 +120,11 @@ public class OAuth2OptionsConverter {
             obj.setPubSecKeys(list);
           }
           break;
+        case "refreshJWKsOnMissingKey":
+          if (member.getValue() instanceof Boolean) {
+            obj.setRefreshJWKsOnMissingKey((Boolean)member.getValue());
+          }
+          break;
         case "revocationPath":
           if (member.getValue() instanceof String) {
             obj.setRevocationPath((String)member.getValue());
@@ -199,6 +224,9 @@ public class OAuth2OptionsConverter {
     if (obj.getHttpClientOptions() != null) {
       json.put("httpClientOptions", obj.getHttpClientOptions().toJson());
     }
+    json.put("introspectionCacheNegativeTTL", obj.getIntrospectionCacheNegativeTTL());
+    json.put("introspectionCacheSize", obj.getIntrospectionCacheSize());
+    json.put("introspectionCacheTTL", obj.getIntrospectionCacheTTL());
     if (obj.getIntrospectionPath() != null) {
       json.put("introspectionPath", obj.getIntrospectionPath());
     }
@@ -211,11 +239,13 @@ public class OAuth2OptionsConverter {
     if (obj.getLogoutPath() != null) {
       json.put("logoutPath", obj.getLogoutPath());
     }
+    json.put("minJWKRefreshInterval", obj.getMinJWKRefreshInterval());
     if (obj.getPubSecKeys() != null) {
       JsonArray array = new JsonArray();
       obj.getPubSecKeys().forEach(item -> array.add(item.toJson()));
       json.put("pubSecKeys", array);
     }
+    json.put("refreshJWKsOnMissingKey", obj.isRefreshJWKsOnMissingKey());
     if (obj.getRevocationPath() != null) {
       json.put("revocationPath", obj.getRevocationPath());
     }
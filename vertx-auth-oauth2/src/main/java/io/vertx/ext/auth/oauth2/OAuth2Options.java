@@ -51,6 +51,11 @@ public class OAuth2Options {
   private static final String SCOPE_SEPARATOR = " ";
   private static final boolean VALIDATE_ISSUER = true;
   private static final boolean ROTATE_JWKS = true;
+  private static final boolean REFRESH_JWKS_ON_MISSING_KEY = false;
+  private static final long MIN_JWK_REFRESH_INTERVAL = 10_000L;
+  private static final int INTROSPECTION_CACHE_SIZE = 0;
+  private static final long INTROSPECTION_CACHE_TTL = 300_000L;
+  private static final long INTROSPECTION_CACHE_NEGATIVE_TTL = 10_000L;
 
   private OAuth2FlowType flow;
   private List<String> supportedGrantTypes;
@@ -66,9 +71,14 @@ public class OAuth2Options {
   private JsonObject userInfoParams;
   // introspection RFC7662
   private String introspectionPath;
+  private int introspectionCacheSize;
+  private long introspectionCacheTTL;
+  private long introspectionCacheNegativeTTL;
   // JWK path RFC7517
   private String jwkPath;
   private boolean rotateJWKs;
+  private boolean refreshJWKsOnMissingKey;
+  private long minJWKRefreshInterval;
   // OpenID non standard
   private String tenant;
 
@@ -145,6 +155,11 @@ public class OAuth2Options {
     }
     jwkPath = other.getJwkPath();
     rotateJWKs = other.isRotateJWKs();
+    refreshJWKsOnMissingKey = other.isRefreshJWKsOnMissingKey();
+    minJWKRefreshInterval = other.getMinJWKRefreshInterval();
+    introspectionCacheSize = other.getIntrospectionCacheSize();
+    introspectionCacheTTL = other.getIntrospectionCacheTTL();
+    introspectionCacheNegativeTTL = other.getIntrospectionCacheNegativeTTL();
     httpClientOptions = other.getHttpClientOptions();
     userAgent = other.getUserAgent();
     supportedGrantTypes = other.getSupportedGrantTypes();
@@ -162,6 +177,11 @@ public class OAuth2Options {
     scopeSeparator = SCOPE_SEPARATOR;
     jwtOptions = JWT_OPTIONS;
     rotateJWKs = ROTATE_JWKS;
+    refreshJWKsOnMissingKey = REFRESH_JWKS_ON_MISSING_KEY;
+    minJWKRefreshInterval = MIN_JWK_REFRESH_INTERVAL;
+    introspectionCacheSize = INTROSPECTION_CACHE_SIZE;
+    introspectionCacheTTL = INTROSPECTION_CACHE_TTL;
+    introspectionCacheNegativeTTL = INTROSPECTION_CACHE_NEGATIVE_TTL;
   }
 
   /**
@@ -541,6 +561,99 @@ public class OAuth2Options {
     return this;
   }
 
+  public boolean isRefreshJWKsOnMissingKey() {
+    return refreshJWKsOnMissingKey;
+  }
+
+  /**
+   * Enable/Disable the JWK Set refresh when a token is signed with an unknown key id. When enabled, authenticating
+   * such a token waits for the JWK Set to be fetched again and then verifies the token with the new keys. Concurrent
+   * requests share a single fetch, and these refreshes are limited by {@link #setMinJWKRefreshInterval(long)}.
+   *
+   * @param refreshJWKsOnMissingKey {@code true} to refresh the keys on unknown key ids.
+   * @return self
+   */
+  public OAuth2Options setRefreshJWKsOnMissingKey(boolean refreshJWKsOnMissingKey) {
+    this.refreshJWKsOnMissingKey = refreshJWKsOnMissingKey;
+    return this;
+  }
+
+  public long getMinJWKRefreshInterval() {
+    return minJWKRefreshInterval;
+  }
+
+  /**
+   * The minimum time between two JWK Set refreshes caused by unknown key ids. Within this interval tokens with unknown
+   * key ids fail without contacting the server. Default {@code 10000}.
+   *
+   * @param minJWKRefreshInterval interval in milliseconds.
+   * @return self
+   */
+  public OAuth2Options setMinJWKRefreshInterval(long minJWKRefreshInterval) {
+    if (minJWKRefreshInterval < 0) {
+      throw new IllegalArgumentException("minJWKRefreshInterval must be >= 0");
+    }
+    this.minJWKRefreshInterval = minJWKRefreshInterval;
+    return this;
+  }
+
+  public int getIntrospectionCacheSize() {
+    return introspectionCacheSize;
+  }
+
+  /**
+   * Enable a cache of token introspection results, so opaque tokens are not introspected on every request. Entries are
+   * evicted (least recently used first) once the cache is full, when they expire, or when the token is revoked using
+   * this provider. Concurrent introspections of the same token always share a single request.
+   *
+   * @param introspectionCacheSize the max number of cached results, {@code 0} (the default) disables the cache.
+   * @return self
+   */
+  public OAuth2Options setIntrospectionCacheSize(int introspectionCacheSize) {
+    if (introspectionCacheSize < 0) {
+      throw new IllegalArgumentException("introspectionCacheSize must be >= 0");
+    }
+    this.introspectionCacheSize = introspectionCacheSize;
+    return this;
+  }
+
+  public long getIntrospectionCacheTTL() {
+    return introspectionCacheTTL;
+  }
+
+  /**
+   * The max time an active introspection result is cached. Results are never kept after the token {@code exp}.
+   * Default {@code 300000}.
+   *
+   * @param introspectionCacheTTL time in milliseconds.
+   * @return self
+   */
+  public OAuth2Options setIntrospectionCacheTTL(long introspectionCacheTTL) {
+    if (introspectionCacheTTL <= 0) {
+      throw new IllegalArgumentException("introspectionCacheTTL must be > 0");
+    }
+    this.introspectionCacheTTL = introspectionCacheTTL;
+    return this;
+  }
+
+  public long getIntrospectionCacheNegativeTTL() {
+    return introspectionCacheNegativeTTL;
+  }
+
+  /**
+   * The time an inactive ({@code active=false}) introspection result is cached. Default {@code 10000}.
+   *
+   * @param introspectionCacheNegativeTTL time in milliseconds, {@code 0} disables caching inactive results.
+   * @return self
+   */
+  public OAuth2Options setIntrospectionCacheNegativeTTL(long introspectionCacheNegativeTTL) {
+    if (introspectionCacheNegativeTTL < 0) {
+      throw new IllegalArgumentException("introspectionCacheNegativeTTL must be >= 0");
+    }
+    this.introspectionCacheNegativeTTL = introspectionCacheNegativeTTL;
+    return this;
+  }
+
   /**
    * The provider supported grant types
    * @return the supported grant types options
@@ -18,6 +18,7 @@ package io.vertx.ext.auth.oauth2.impl;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
@@ -32,6 +33,9 @@ import io.vertx.ext.auth.authentication.CredentialValidationException;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.impl.Digests;
+import io.vertx.ext.auth.impl.EnginePool;
+import io.vertx.ext.auth.impl.LRUCache;
 import io.vertx.ext.auth.impl.jose.JWK;
 import io.vertx.ext.auth.impl.jose.JWT;
 import io.vertx.ext.auth.oauth2.OAuth2Auth;
@@ -39,7 +43,14 @@ import io.vertx.ext.auth.oauth2.OAuth2FlowType;
 import io.vertx.ext.auth.oauth2.OAuth2Options;
 import io.vertx.ext.auth.oauth2.Oauth2Credentials;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 
 /**
  * @author Paulo Lopes
@@ -56,6 +67,15 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
   // old references are still valid though
   private volatile JWT jwt = new JWT();
   private volatile long updateTimerId = -1;
+  // the JWK Set fetch in progress and the time the last forced one started (guarded by this)
+  private Future<Void> jwkRefresh;
+  private long lastForcedJwkRefresh;
+  // introspection results keyed by the digest of the token (optional)
+  private final LRUCache<String, JsonObject> introspectionCache;
+  private final Map<String, Future<JsonObject>> introspections = new HashMap<>();
+  // incremented on each revocation, results of introspections started before are not cached
+  private final AtomicLong revocations = new AtomicLong();
+  private final EnginePool<MessageDigest> tokenDigests;
   private Handler<String> missingKeyHandler;
 
   public OAuth2AuthProviderImpl(Vertx vertx, OAuth2Options config) {
@@ -67,6 +87,14 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
     this.config.replaceVariables(true);
     this.config.validate();
 
+    if (config.getIntrospectionCacheSize() > 0) {
+      this.introspectionCache = new LRUCache<>(config.getIntrospectionCacheSize());
+      this.tokenDigests = Digests.pool("SHA-256");
+    } else {
+      this.introspectionCache = null;
+      this.tokenDigests = null;
+    }
+
     // set the nonce algorithm
     jwt.nonceAlgorithm(this.config.getJWTOptions().getNonceAlgorithm());
 
@@ -96,63 +124,116 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
 
   @Override
   public OAuth2Auth jWKSet(Handler<AsyncResult<Void>> handler) {
+    refreshJWKSet(false).onComplete(handler);
+    return this;
+  }
+
+  /**
+   * Fetch the JWK Set. At most one fetch is in flight at any time, concurrent callers share its result. While the
+   * fetch runs, tokens keep being verified with the current key set, which is swapped once the new one is loaded.
+   *
+   * @param forced {@code true} when the refresh is caused by an unknown key id, these are rate limited by
+   *               {@link OAuth2Options#getMinJWKRefreshInterval()}.
+   */
+  private Future<Void> refreshJWKSet(boolean forced) {
+    final Promise<Void> promise;
+
+    synchronized (OAuth2AuthProviderImpl.this) {
+      if (jwkRefresh != null) {
+        // a fetch is already in progress, wait for it
+        return jwkRefresh;
+      }
+      if (forced) {
+        final long now = System.currentTimeMillis();
+        if (now - lastForcedJwkRefresh < config.getMinJWKRefreshInterval()) {
+          // unknown key ids could be forged, don't hammer the server
+          return Future.succeededFuture();
+        }
+        lastForcedJwkRefresh = now;
+      }
+      promise = Promise.promise();
+      jwkRefresh = promise.future();
+    }
+
     api.jwkSet(res -> {
       if (res.failed()) {
-        handler.handle(Future.failedFuture(res.cause()));
-      } else {
-        // enforce a lock to ensure state isn't corrupted
         synchronized (OAuth2AuthProviderImpl.this) {
-          if (updateTimerId != -1) {
-            // cancel any running timer to avoid multiple updates
-            // it is not important if the timer isn't active anymore
+          jwkRefresh = null;
+        }
+        // the current key set is kept
+        promise.fail(res.cause());
+        return;
+      }
 
-            // this could happen if both the user triggers the update and
-            // there's a timer already in progress
-            vertx.cancelTimer(updateTimerId);
-          }
-          final JsonObject json = res.result();
-          JWT jwt = new JWT()
-            // set the nonce algorithm
-            .nonceAlgorithm(config.getJWTOptions().getNonceAlgorithm());
+      final JsonObject json = res.result();
+      // the new key set is built without holding the lock
+      final JWT jwt = new JWT()
+        // set the nonce algorithm
+        .nonceAlgorithm(config.getJWTOptions().getNonceAlgorithm());
 
-          JsonArray keys = json.getJsonArray("keys");
-          for (Object key : keys) {
-            try {
-              jwt.addJWK(new JWK((JsonObject) key));
-            } catch (RuntimeException e) {
-              LOG.warn("Skipped unsupported JWK: " + e.getMessage());
-            }
+      try {
+        JsonArray keys = json.getJsonArray("keys");
+        if (keys == null) {
+          throw new IllegalStateException("JWK Set has no \"keys\"");
+        }
+        for (Object key : keys) {
+          try {
+            jwt.addJWK(new JWK((JsonObject) key));
+          } catch (RuntimeException e) {
+            LOG.warn("Skipped unsupported JWK: " + e.getMessage());
           }
-          // swap
-          this.jwt = jwt;
-
-          if (config.isRotateJWKs()) {
-            // compute the next update if the server told us too
-            if (json.containsKey("maxAge")) {
-              // ensure that leeway is never negative
-              int leeway = Math.max(0, config.getJWTOptions().getLeeway());
-              // delay is in ms, while cache max age is sec
-              final long delay = json.getLong("maxAge") * 1000 - leeway;
-              // salesforce (for example) sometimes disables the max-age as setting it to 0
-              // for these cases we just cancel
-              if (delay > 0) {
-                this.updateTimerId = vertx.setPeriodic(delay, t ->
-                  jWKSet(autoUpdateRes -> {
-                    if (autoUpdateRes.failed()) {
-                      LOG.warn("Failed to auto-update JWK Set", autoUpdateRes.cause());
-                    }
-                  }));
-              } else {
-                updateTimerId = -1;
-              }
+        }
+      } catch (RuntimeException e) {
+        synchronized (OAuth2AuthProviderImpl.this) {
+          jwkRefresh = null;
+        }
+        // the response can't be used, the current key set is kept
+        promise.fail(e);
+        return;
+      }
+
+      // enforce a lock to ensure state isn't corrupted
+      synchronized (OAuth2AuthProviderImpl.this) {
+        jwkRefresh = null;
+
+        if (updateTimerId != -1) {
+          // cancel any running timer to avoid multiple updates
+          // it is not important if the timer isn't active anymore
+
+          // this could happen if both the user triggers the update and
+          // there's a timer already in progress
+          vertx.cancelTimer(updateTimerId);
+        }
+        // swap
+        this.jwt = jwt;
+
+        if (config.isRotateJWKs()) {
+          // compute the next update if the server told us too
+          if (json.containsKey("maxAge")) {
+            // ensure that leeway is never negative
+            int leeway = Math.max(0, config.getJWTOptions().getLeeway());
+            // delay is in ms, while cache max age is sec
+            final long delay = json.getLong("maxAge") * 1000 - leeway;
+            // salesforce (for example) sometimes disables the max-age as setting it to 0
+            // for these cases we just cancel
+            if (delay > 0) {
+              this.updateTimerId = vertx.setPeriodic(delay, t ->
+                jWKSet(autoUpdateRes -> {
+                  if (autoUpdateRes.failed()) {
+                    LOG.warn("Failed to auto-update JWK Set", autoUpdateRes.cause());
+                  }
+                }));
+            } else {
+              updateTimerId = -1;
             }
           }
         }
-        // return
-        handler.handle(Future.succeededFuture());
       }
+      // return
+      promise.complete();
     });
-    return this;
+
+    return promise.future();
   }
 
   @Override
@@ -315,74 +396,28 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
 
         final User user = createUser(new JsonObject().put("access_token", tokenCredentials.getToken()), false);
 
-        if (user.attributes().containsKey("accessToken") && !jwt.isUnsecure()) {
-          final JWTOptions jwtOptions = config.getJWTOptions();
-          // a valid JWT token should have the access token value decoded
-          // the token might be valid, but expired
-          if (!user.expired(jwtOptions.getLeeway())) {
-            // basic validation passed, the token is not expired
-            handler.handle(Future.succeededFuture(user));
-            return;
-          }
-        }
-
-        // the token is not in JWT format or this auth provider is not configured for secure JWTs
-        // in this case we must rely on token introspection in order to know more about its state
-        // attempt to create a token object from the given string representation
-
-        // Not all providers support this so we need to check if the call is possible
-        if (config.getIntrospectionPath() == null) {
-          // this provider doesn't allow introspection, this means we are not able to perform
-          // any authentication,
-          if (user.attributes().containsKey("missing-kid")) {
-            handler.handle(Future.failedFuture(new NoSuchKeyIdException(user.attributes().getString("missing-kid"))));
-          } else {
-            handler.handle(Future.failedFuture("Can't authenticate access_token: Provider doesn't support token introspection"));
-          }
-          return;
-        }
-
-        // perform the introspection
-        api
-          .tokenIntrospection("access_token", tokenCredentials.getToken(), res -> {
-            if (res.failed()) {
-              handler.handle(Future.failedFuture(res.cause()));
-              return;
-            }
-
-            final JsonObject json = res.result();
-
-            // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
-            if (json.containsKey("active") && !json.getBoolean("active", false)) {
-              handler.handle(Future.failedFuture("Inactive Token"));
-              return;
+        if (user.attributes().containsKey("missing-kid") && config.isRefreshJWKsOnMissingKey()) {
+          final String missingKid = user.attributes().getString("missing-kid");
+          // park the request until the (shared) key set refresh completes, then validate once more
+          refreshJWKSet(true).onComplete(refresh -> {
+            if (refresh.failed()) {
+              LOG.warn("Failed to refresh JWK Set", refresh.cause());
             }
-
-            // OPTIONALS
-
-            // validate client id
-            if (json.containsKey("client_id")) {
-              // response included a client id. Match against config client id
-              String clientId = config.getClientId();
-              if (clientId != null && !clientId.equals(json.getString("client_id"))) {
-                // Client identifier for the OAuth 2.0 client that requested this token.
-                LOG.info("Introspect client_id doesn't match configured client_id");
+            try {
+              final User retry = createUser(new JsonObject().put("access_token", tokenCredentials.getToken()), true);
+              if (!retry.attributes().containsKey("accessToken")) {
+                // the key is still unknown
+                retry.attributes()
+                  .put("missing-kid", missingKid);
               }
-            }
-
-            // attempt to create a user from the json object
-            final User newUser = createUser(json, user.attributes().containsKey("missing-kid"));
-
-            // final step, verify if the user is not expired
-            // this may happen if the user tokens have been issued for future use for example
-            if (newUser.expired(config.getJWTOptions().getLeeway())) {
-              handler.handle(Future.failedFuture("Used is expired."));
-            } else {
-              // basic validation passed, the token is not expired
-              handler.handle(Future.succeededFuture(newUser));
+              authenticate(tokenCredentials, retry, handler);
+            } catch (RuntimeException e) {
+              handler.handle(Future.failedFuture(e));
             }
           });
-
+        } else {
+          authenticate(tokenCredentials, user, handler);
+        }
         return;
       }
 
@@ -525,10 +560,107 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
 
   @Override
   public OAuth2Auth revoke(User user, String tokenType, Handler<AsyncResult<Void>> handler) {
-    api.tokenRevocation(tokenType, user.principal().getString(tokenType), handler);
+    final String token = user.principal().getString(tokenType);
+    if (introspectionCache == null || token == null) {
+      api.tokenRevocation(tokenType, token, handler);
+      return this;
+    }
+
+    final String key = digest(token);
+    // the token must not be considered active anymore
+    forget(key);
+    api.tokenRevocation(tokenType, token, res -> {
+      if (res.succeeded()) {
+        // introspections may have seen the token as active until the server applied the revocation
+        forget(key);
+      }
+      handler.handle(res);
+    });
     return this;
   }
 
+  private void forget(String key) {
+    revocations.incrementAndGet();
+    synchronized (introspections) {
+      // later calls must not join an introspection that may see the token as active
+      introspections.remove(key);
+    }
+    introspectionCache.remove(key);
+  }
+
+  public LRUCache<String, JsonObject> introspectionCache() {
+    return introspectionCache;
+  }
+
+  /**
+   * Introspect a token, when the cache is enabled results are reused and concurrent introspections of the same token
+   * share a single request. Each caller gets its own copy of the result.
+   */
+  private Future<JsonObject> introspect(String token) {
+    if (introspectionCache == null) {
+      final Promise<JsonObject> promise = Promise.promise();
+      api.tokenIntrospection("access_token", token, promise);
+      return promise.future();
+    }
+
+    final String key = digest(token);
+    final JsonObject cached = introspectionCache.get(key);
+    if (cached != null) {
+      return Future.succeededFuture(cached.copy());
+    }
+
+    final Promise<JsonObject> promise;
+    final long generation;
+    synchronized (introspections) {
+      final Future<JsonObject> inflight = introspections.get(key);
+      if (inflight != null) {
+        return inflight.map(JsonObject::copy);
+      }
+      promise = Promise.promise();
+      introspections.put(key, promise.future());
+      generation = revocations.get();
+    }
+
+    api.tokenIntrospection("access_token", token, res -> {
+      synchronized (introspections) {
+        // a newer introspection may have replaced this one after a revocation
+        introspections.remove(key, promise.future());
+        // failures are never cached, nor are results that may predate a revocation
+        if (res.succeeded() && generation == revocations.get()) {
+          final long expiresAt = introspectionExpiresAt(res.result());
+          if (expiresAt > 0) {
+            introspectionCache.put(key, res.result().copy(), expiresAt);
+          }
+        }
+      }
+      promise.handle(res);
+    });
+
+    return promise.future().map(JsonObject::copy);
+  }
+
+  private long introspectionExpiresAt(JsonObject json) {
+    final long now = System.currentTimeMillis();
+
+    if (json.containsKey("active") && !json.getBoolean("active", false)) {
+      final long ttl = config.getIntrospectionCacheNegativeTTL();
+      return ttl > 0 ? now + ttl : 0L;
+    }
+
+    long expiresAt = now + config.getIntrospectionCacheTTL();
+    final Object exp = json.getValue("exp");
+    if (exp instanceof Number) {
+      // never keep a result after the token expires
+      expiresAt = Math.min(expiresAt, ((Number) exp).longValue() * 1000L);
+    }
+    // an already expired entry is discarded by the cache
+    return expiresAt;
+  }
+
+  private String digest(String token) {
+    return base64UrlEncode(Digests.digest(tokenDigests, token.getBytes(StandardCharsets.UTF_8)));
+  }
+
   @Override
   public OAuth2Auth userInfo(User user, Handler<AsyncResult<JsonObject>> handler) {
     api.userInfo(user.principal().getString("access_token"), jwt, userInfo -> {
@@ -567,6 +699,79 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
     return api.endSessionURL(user.principal().getString("id_token"), params);
   }
 
+  /**
+   * Validate a token user, locally when the token could be decoded, otherwise using token introspection.
+   */
+  private void authenticate(TokenCredentials tokenCredentials, User user, Handler<AsyncResult<User>> handler) {
+    if (user.attributes().containsKey("accessToken") && !jwt.isUnsecure()) {
+      final JWTOptions jwtOptions = config.getJWTOptions();
+      // a valid JWT token should have the access token value decoded
+      // the token might be valid, but expired
+      if (!user.expired(jwtOptions.getLeeway())) {
+        // basic validation passed, the token is not expired
+        handler.handle(Future.succeededFuture(user));
+        return;
+      }
+    }
+
+    // the token is not in JWT format or this auth provider is not configured for secure JWTs
+    // in this case we must rely on token introspection in order to know more about its state
+    // attempt to create a token object from the given string representation
+
+    // Not all providers support this so we need to check if the call is possible
+    if (config.getIntrospectionPath() == null) {
+      // this provider doesn't allow introspection, this means we are not able to perform
+      // any authentication,
+      if (user.attributes().containsKey("missing-kid")) {
+        handler.handle(Future.failedFuture(new NoSuchKeyIdException(user.attributes().getString("missing-kid"))));
+      } else {
+        handler.handle(Future.failedFuture("Can't authenticate access_token: Provider doesn't support token introspection"));
+      }
+      return;
+    }
+
+    // perform the introspection
+    introspect(tokenCredentials.getToken())
+      .onComplete(res -> {
+        if (res.failed()) {
+          handler.handle(Future.failedFuture(res.cause()));
+          return;
+        }
+
+        final JsonObject json = res.result();
+
+        // RFC7662 dictates that there is a boolean active field (however tokeninfo implementations may not return this)
+        if (json.containsKey("active") && !json.getBoolean("active", false)) {
+          handler.handle(Future.failedFuture("Inactive Token"));
+          return;
+        }
+
+        // OPTIONALS
+
+        // validate client id
+        if (json.containsKey("client_id")) {
+          // response included a client id. Match against config client id
+          String clientId = config.getClientId();
+          if (clientId != null && !clientId.equals(json.getString("client_id"))) {
+            // Client identifier for the OAuth 2.0 client that requested this token.
+            LOG.info("Introspect client_id doesn't match configured client_id");
+          }
+        }
+
+        // attempt to create a user from the json object
+        final User newUser = createUser(json, user.attributes().containsKey("missing-kid"));
+
+        // final step, verify if the user is not expired
+        // this may happen if the user tokens have been issued for future use for example
+        if (newUser.expired(config.getJWTOptions().getLeeway())) {
+          handler.handle(Future.failedFuture("Used is expired."));
+        } else {
+          // basic validation passed, the token is not expired
+          handler.handle(Future.succeededFuture(newUser));
+        }
+      });
+  }
+
   /**
    * Create a User object with some initial validations related to JWT.
    */
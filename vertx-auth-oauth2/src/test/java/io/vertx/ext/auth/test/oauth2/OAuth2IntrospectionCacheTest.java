@@ -0,0 +1,170 @@
+package io.vertx.ext.auth.test.oauth2;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2FlowType;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2IntrospectionCacheTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private static final JsonObject fixtureIntrospect = new JsonObject()
+    .put("active", true)
+    .put("scope", "scopeA scopeB")
+    .put("client_id", "client-id")
+    .put("username", "username")
+    .put("exp", 99999999999L);
+
+  private final AtomicInteger introspections = new AtomicInteger();
+  private final AtomicInteger revocations = new AtomicInteger();
+
+  private OAuth2Auth oauth2;
+  private HttpServer server;
+  private JsonObject fixture;
+
+  @Before
+  public void setUp(TestContext should) {
+    final Async setup = should.async();
+
+    server = rule.vertx().createHttpServer().requestHandler(req -> {
+      if (req.method() == HttpMethod.POST && "/oauth/introspect".equals(req.path())) {
+        introspections.incrementAndGet();
+        // the state of the token when the request is received
+        final JsonObject response = fixture;
+        // slow server, so requests overlap
+        req.bodyHandler(buffer -> rule.vertx().setTimer(100, t -> req.response()
+          .putHeader("Content-Type", "application/json")
+          .end(response.encode())));
+      } else if (req.method() == HttpMethod.POST && "/oauth/revoke".equals(req.path())) {
+        revocations.incrementAndGet();
+        req.bodyHandler(buffer -> req.response().end());
+      } else {
+        req.response().setStatusCode(400).end();
+      }
+    }).listen(0, ready -> {
+      if (ready.failed()) {
+        throw new RuntimeException(ready.cause());
+      }
+
+      oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+        .setFlow(OAuth2FlowType.AUTH_CODE)
+        .setClientId("client-id")
+        .setClientSecret("client-secret")
+        .setSite("http://localhost:" + ready.result().actualPort())
+        .setIntrospectionPath("/oauth/introspect")
+        .setIntrospectionCacheSize(16));
+
+      // ready
+      setup.complete();
+    });
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    final Async tearDown = should.async();
+    server.close()
+      .onFailure(should::fail)
+      .onSuccess(v -> tearDown.complete());
+  }
+
+  @Test
+  public void testCoalesceAndCache(TestContext should) {
+    final Async test = should.async();
+    fixture = fixtureIntrospect;
+
+    final List<Future> users = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      users.add(oauth2.authenticate(new TokenCredentials("opaque")));
+    }
+
+    CompositeFuture.all(users)
+      .onFailure(should::fail)
+      .onSuccess(all -> {
+        should.assertEquals(1, introspections.get());
+
+        // users never share state
+        final User first = all.resultAt(0);
+        first.principal().put("username", "changed");
+
+        oauth2.authenticate(new TokenCredentials("opaque"))
+          .onFailure(should::fail)
+          .onSuccess(user -> {
+            should.assertEquals(1, introspections.get());
+            should.assertEquals("username", user.principal().getString("username"));
+
+            // revoking the token evicts the cached result
+            oauth2.revoke(User.create(new JsonObject().put("access_token", "opaque")))
+              .compose(v -> oauth2.authenticate(new TokenCredentials("opaque")))
+              .onFailure(should::fail)
+              .onSuccess(again -> {
+                should.assertEquals(1, revocations.get());
+                should.assertEquals(2, introspections.get());
+                test.complete();
+              });
+          });
+      });
+  }
+
+  @Test
+  public void testRevokeDuringIntrospection(TestContext should) {
+    final Async test = should.async();
+    fixture = fixtureIntrospect;
+
+    // the server sees the token as active
+    final Future<User> inflight = oauth2.authenticate(new TokenCredentials("opaque"));
+
+    rule.vertx().setTimer(20, t -> {
+      final Future<Void> revoked = oauth2.revoke(User.create(new JsonObject().put("access_token", "opaque")))
+        .onSuccess(v -> fixture = new JsonObject().put("active", false));
+
+      CompositeFuture.all(inflight, revoked)
+        .onFailure(should::fail)
+        // the late active result must not be cached
+        .onSuccess(all -> oauth2.authenticate(new TokenCredentials("opaque"))
+          .onSuccess(user -> should.fail("Revoked token should fail"))
+          .onFailure(err -> {
+            should.assertEquals("Inactive Token", err.getMessage());
+            should.assertEquals(2, introspections.get());
+            test.complete();
+          }));
+    });
+  }
+
+  @Test
+  public void testNegativeCache(TestContext should) {
+    final Async test = should.async();
+    fixture = new JsonObject().put("active", false);
+
+    oauth2.authenticate(new TokenCredentials("inactive"))
+      .onSuccess(user -> should.fail("Inactive token should fail"))
+      .onFailure(err -> oauth2.authenticate(new TokenCredentials("inactive"))
+        .onSuccess(user -> should.fail("Inactive token should fail"))
+        .onFailure(err2 -> {
+          should.assertEquals("Inactive Token", err2.getMessage());
+          should.assertEquals(1, introspections.get());
+          test.complete();
+        }));
+  }
+}
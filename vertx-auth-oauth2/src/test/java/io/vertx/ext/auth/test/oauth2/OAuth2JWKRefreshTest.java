@@ -0,0 +1,166 @@
+package io.vertx.ext.auth.test.oauth2;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.NoSuchKeyIdException;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.impl.jose.JWT;
+import io.vertx.ext.auth.oauth2.OAuth2Auth;
+import io.vertx.ext.auth.oauth2.OAuth2FlowType;
+import io.vertx.ext.auth.oauth2.OAuth2Options;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
+
+@RunWith(VertxUnitRunner.class)
+public class OAuth2JWKRefreshTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private static JsonObject key(String kid) {
+    return new JsonObject()
+      .put("kty", "oct")
+      .put("alg", "HS256")
+      .put("kid", kid)
+      .put("k", base64UrlEncode(("secret-" + kid).getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String token(String kid) {
+    return new JWT()
+      .addJWK(new JWK(key(kid)))
+      .sign(new JsonObject().put("sub", "paulo"), new JWTOptions());
+  }
+
+  private final AtomicInteger fetches = new AtomicInteger();
+  private final AtomicReference<JsonArray> keys = new AtomicReference<>(new JsonArray().add(key("k1")));
+
+  private HttpServer server;
+  private OAuth2Auth oauth2;
+
+  @Before
+  public void setUp(TestContext should) {
+    final Async setup = should.async();
+
+    server = rule.vertx().createHttpServer()
+      .requestHandler(req -> {
+        if (req.method() == HttpMethod.GET && "/oauth/jwks".equals(req.path())) {
+          fetches.incrementAndGet();
+          // slow server, so requests overlap with the fetch
+          rule.vertx().setTimer(200, t -> req.response()
+            .putHeader("Content-Type", "application/json")
+            .end(keys.get() == null ? "{}" : new JsonObject().put("keys", keys.get()).encode()));
+        } else {
+          req.response().setStatusCode(400).end();
+        }
+      })
+      .listen(0, ready -> {
+        if (ready.failed()) {
+          throw new RuntimeException(ready.cause());
+        }
+
+        oauth2 = OAuth2Auth.create(rule.vertx(), new OAuth2Options()
+          .setFlow(OAuth2FlowType.AUTH_CODE)
+          .setClientId("client-id")
+          .setJwkPath("/oauth/jwks")
+          .setRefreshJWKsOnMissingKey(true)
+          .setMinJWKRefreshInterval(60_000)
+          .setSite("http://localhost:" + ready.result().actualPort()));
+
+        setup.complete();
+      });
+  }
+
+  @After
+  public void tearDown(TestContext should) {
+    final Async tearDown = should.async();
+    server.close()
+      .onFailure(should::fail)
+      .onSuccess(v -> tearDown.complete());
+  }
+
+  @Test
+  public void testSingleFlight(TestContext should) {
+    final Async test = should.async();
+
+    CompositeFuture.all(oauth2.jWKSet(), oauth2.jWKSet(), oauth2.jWKSet())
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertEquals(1, fetches.get());
+        test.complete();
+      });
+  }
+
+  @Test
+  public void testNoKeys(TestContext should) {
+    final Async test = should.async();
+
+    keys.set(null);
+    oauth2.jWKSet()
+      .onSuccess(v -> should.fail("A JWK Set without keys should fail"))
+      .onFailure(err -> {
+        // the failed fetch doesn't block the next one
+        keys.set(new JsonArray().add(key("k1")));
+        oauth2.jWKSet()
+          .onFailure(should::fail)
+          .onSuccess(v -> {
+            should.assertEquals(2, fetches.get());
+            test.complete();
+          });
+      });
+  }
+
+  @Test
+  public void testRefreshOnMissingKey(TestContext should) {
+    final Async test = should.async();
+
+    oauth2.jWKSet()
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        // the IdP rotates the keys
+        keys.set(new JsonArray().add(key("k1")).add(key("k2")));
+
+        final List<Future> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+          users.add(oauth2.authenticate(new TokenCredentials(token("k2"))));
+        }
+        users.add(oauth2.authenticate(new TokenCredentials(token("k1"))));
+
+        CompositeFuture.all(users)
+          .onFailure(should::fail)
+          .onSuccess(all -> {
+            // all requests with the new key waited for the same fetch
+            should.assertEquals(2, fetches.get());
+
+            // forced refreshes are rate limited
+            oauth2.authenticate(new TokenCredentials(token("k3")))
+              .onSuccess(user -> should.fail("Unknown key should fail"))
+              .onFailure(err -> {
+                should.assertTrue(err instanceof NoSuchKeyIdException);
+                should.assertEquals(2, fetches.get());
+                test.complete();
+              });
+          });
+      });
+  }
+}
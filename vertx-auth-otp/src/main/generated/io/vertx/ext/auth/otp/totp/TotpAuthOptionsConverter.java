@@ -35,6 +35,11 @@ public class TotpAuthOptionsConverter {
             obj.setPeriod(((Number)member.getValue()).longValue());
           }
           break;
+        case "window":
+          if (member.getValue() instanceof Number) {
+            obj.setWindow(((Number)member.getValue()).intValue());
+          }
+          break;
       }
     }
   }
@@ -47,5 +52,6 @@ public class TotpAuthOptionsConverter {
     json.put("authAttemptsLimit", obj.getAuthAttemptsLimit());
     json.put("passwordLength", obj.getPasswordLength());
     json.put("period", obj.getPeriod());
+    json.put("window", obj.getWindow());
   }
 }
@@ -22,13 +22,11 @@ import io.vertx.ext.auth.otp.OtpKey;
 import io.vertx.ext.auth.otp.hotp.HotpAuth;
 import io.vertx.ext.auth.otp.hotp.HotpAuthOptions;
 import io.vertx.ext.auth.otp.OtpCredentials;
-import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
+import io.vertx.ext.auth.otp.impl.OtpEngine;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.security.MessageDigest;
 import java.util.function.Function;
 
 public class HotpAuthImpl implements HotpAuth {
@@ -62,60 +60,41 @@ public class HotpAuthImpl implements HotpAuth {
           if (authenticator == null) {
             resultHandler.handle(Future.failedFuture("user is not found"));
           } else {
-            long counter = authenticator.getCounter();
-            String key = authenticator.getKey();
-            String algorithm = authenticator.getAlgorithm();
-
-            OtpKey otpKey = new OtpKey()
-              .setKey(key)
-              .setAlgorithm(algorithm);
-
-            ++counter;
+            final long counter = authenticator.getCounter() + 1;
             Integer authAttempts = authenticator.getAuthAttempts();
             authAttempts = authAttempts != null ? ++authAttempts : 1;
             authenticator.setAuthAttempts(authAttempts);
 
-            String oneTimePassword;
-
+            final OtpEngine engine;
             try {
-              oneTimePassword = OneTimePasswordAlgorithm.generateOTP(otpKey.getKeyBytes(), counter, hotpAuthOptions.getPasswordLength(), false, -1);
+              engine = OtpEngine.forKey(authenticator.getKey());
             } catch (GeneralSecurityException e) {
               resultHandler.handle(Future.failedFuture(e));
               return;
             }
 
-            if (oneTimePassword.equals(authInfo.getCode())) {
-              authenticator.setCounter(counter);
+            final int length = hotpAuthOptions.getPasswordLength();
+            final int code = OtpEngine.parseCode(authInfo.getCode(), length);
+            // the next counter and the look ahead window are verified in a single pass
+            final long last = hotpAuthOptions.isUsingResynchronization() ? counter + hotpAuthOptions.getLookAheadWindow() : counter;
+            final long match = code == -1 ? -1 : engine.verify(code, counter, last, length);
+
+            // once the attempts limit is reached, only the next counter is accepted
+            final boolean limitReached = hotpAuthOptions.isUsingAttemptsLimit() && authAttempts >= hotpAuthOptions.getAuthAttemptsLimit();
+
+            if (match == counter || (match != -1 && !limitReached)) {
+              authenticator.setCounter(match);
               updater.apply(authenticator)
                 .onFailure(err -> resultHandler.handle(Future.failedFuture(err)))
                 .onSuccess(v -> resultHandler.handle(Future.succeededFuture(createUser(authenticator))));
               return;
             }
 
-            if (hotpAuthOptions.isUsingAttemptsLimit() && authAttempts >= hotpAuthOptions.getAuthAttemptsLimit()) {
+            if (limitReached) {
               updater.apply(authenticator)
                 .onFailure(err -> resultHandler.handle(Future.failedFuture(err)))
                 .onSuccess(v -> resultHandler.handle(Future.failedFuture("invalid code")));
               return;
-            } else if (hotpAuthOptions.isUsingResynchronization()) {
-              for (int i = 0; i < hotpAuthOptions.getLookAheadWindow(); i++) {
-                ++counter;
-
-                try {
-                  oneTimePassword = OneTimePasswordAlgorithm.generateOTP(otpKey.getKeyBytes(), counter, hotpAuthOptions.getPasswordLength(), false, -1);
-                } catch (GeneralSecurityException e) {
-                  resultHandler.handle(Future.failedFuture(e));
-                  return;
-                }
-
-                if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), authInfo.getCode().getBytes(StandardCharsets.UTF_8))) {
-                  authenticator.setCounter(counter);
-                  updater.apply(authenticator)
-                    .onFailure(err -> resultHandler.handle(Future.failedFuture(err)))
-                    .onSuccess(v -> resultHandler.handle(Future.succeededFuture(createUser(authenticator))));
-                  return;
-                }
-              }
             }
 
             resultHandler.handle(Future.failedFuture("invalid code"));
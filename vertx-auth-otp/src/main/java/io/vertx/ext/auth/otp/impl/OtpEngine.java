@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.otp.impl;
+
+import io.vertx.ext.auth.impl.LRUCache;
+import io.vertx.ext.auth.otp.OtpKey;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Generates and verifies the one time passwords of a single key (RFC 4226 with dynamic truncation, the same codes as
+ * {@link io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm#generateOTP}).
+ * <p>
+ * The HMAC is initialized once with the key and the counter and hash buffers are reused, so generating a code doesn't
+ * allocate. Codes are handled as ints and a verification scans the whole window of moving factors without exiting on
+ * the first match, so its duration doesn't tell which moving factor matched.
+ * <p>
+ * An engine holds mutable buffers, all methods synchronize on the engine. Engines are shared by key, see
+ * {@link #forKey(String)}.
+ */
+public final class OtpEngine {
+
+  /**
+   * The number of keys, and of other per user state of the providers, kept in memory.
+   */
+  public static final int CACHE_SIZE = 10_000;
+
+  // HMAC engines prepared for each key
+  private static final LRUCache<String, OtpEngine> ENGINES = new LRUCache<>(CACHE_SIZE);
+
+  private static final int[] DIGITS_POWER
+    // 0 1  2   3    4     5      6       7        8
+    = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+  private final Mac mac;
+  private final byte[] text = new byte[8];
+  private final byte[] hash;
+
+  public OtpEngine(byte[] key) throws GeneralSecurityException {
+    Mac mac;
+    try {
+      mac = Mac.getInstance("HmacSHA1");
+    } catch (NoSuchAlgorithmException nsae) {
+      mac = Mac.getInstance("HMAC-SHA-1");
+    }
+    mac.init(new SecretKeySpec(key, "RAW"));
+    this.mac = mac;
+    this.hash = new byte[mac.getMacLength()];
+  }
+
+  /**
+   * Get the engine of a base32 encoded key, the most recently used engines are kept.
+   */
+  public static OtpEngine forKey(String key) throws GeneralSecurityException {
+    OtpEngine engine = ENGINES.get(key);
+    if (engine == null) {
+      engine = new OtpEngine(new OtpKey().setKey(key).getKeyBytes());
+      ENGINES.put(key, engine);
+    }
+    return engine;
+  }
+
+  /**
+   * Generate the code of a moving factor.
+   *
+   * @param movingFactor the counter or time step
+   * @param digits the number of digits of the code
+   * @return the code as an int, without leading zeros
+   */
+  public synchronized int generate(long movingFactor, int digits) {
+    for (int i = text.length - 1; i >= 0; i--) {
+      text[i] = (byte) (movingFactor & 0xff);
+      movingFactor >>= 8;
+    }
+
+    try {
+      // doFinal also resets the mac for the next use, with the same key
+      mac.update(text);
+      mac.doFinal(hash, 0);
+    } catch (ShortBufferException e) {
+      // the buffer is sized from the mac length
+      throw new IllegalStateException(e);
+    }
+
+    final int offset = hash[hash.length - 1] & 0xf;
+    final int binary =
+      ((hash[offset] & 0x7f) << 24)
+        | ((hash[offset + 1] & 0xff) << 16)
+        | ((hash[offset + 2] & 0xff) << 8)
+        | (hash[offset + 3] & 0xff);
+
+    return binary % DIGITS_POWER[digits];
+  }
+
+  /**
+   * Find the moving factor of a code in the window {@code [from, to]}. All the moving factors of the window are
+   * computed and compared, regardless of a match.
+   *
+   * @param code the code, as returned by {@link #parseCode(String, int)}
+   * @param from the first moving factor of the window
+   * @param to the last moving factor of the window, inclusive
+   * @param digits the number of digits of the code
+   * @return the first matching moving factor or {@code -1}
+   */
+  public synchronized long verify(int code, long from, long to, int digits) {
+    long match = -1;
+    for (long movingFactor = from; movingFactor <= to; movingFactor++) {
+      // 1 when equal, 0 otherwise, both values are positive ints so the xor is >= 0
+      final long equal = ((long) (generate(movingFactor, digits) ^ code) - 1) >>> 63;
+      // -1 when this is the first match, 0 otherwise
+      final long first = -(equal & (match >>> 63));
+      match = (match & ~first) | (movingFactor & first);
+    }
+    return match;
+  }
+
+  /**
+   * Parse a code without allocating.
+   *
+   * @return the code or {@code -1} if the code isn't exactly {@code digits} decimal digits
+   */
+  public static int parseCode(String code, int digits) {
+    if (code == null || code.length() != digits) {
+      return -1;
+    }
+    int value = 0;
+    for (int i = 0; i < digits; i++) {
+      final char c = code.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+}
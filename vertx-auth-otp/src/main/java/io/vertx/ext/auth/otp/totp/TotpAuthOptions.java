@@ -29,6 +29,8 @@ public class TotpAuthOptions {
 
   private long period = 30;
 
+  private int window = 0;
+
   public TotpAuthOptions(JsonObject jsonObject) {
     TotpAuthOptionsConverter.fromJson(jsonObject, this);
   }
@@ -54,6 +56,26 @@ public class TotpAuthOptions {
     return period;
   }
 
+  public int getWindow() {
+    return window;
+  }
+
+  /**
+   * The number of time steps before and after the current one that are also accepted, to tolerate clock skew between
+   * the server and the device. RFC 6238 recommends at most {@code 1}. The default {@code 0} only accepts the current
+   * step. Whatever the window, a code is only accepted once.
+   *
+   * @param window the number of steps accepted on each side of the current step
+   * @return fluent self
+   */
+  public TotpAuthOptions setWindow(int window) {
+    if (window < 0) {
+      throw new IllegalArgumentException("Window must be >= 0");
+    }
+    this.window = window;
+    return this;
+  }
+
   public TotpAuthOptions setPasswordLength(int passwordLength) {
     if (passwordLength < 6 || passwordLength > 8) {
       throw new IllegalArgumentException("password length must be between 6 and 8 digits");
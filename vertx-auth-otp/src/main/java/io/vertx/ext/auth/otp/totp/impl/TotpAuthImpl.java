@@ -17,24 +17,25 @@ import io.vertx.core.Handler;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.impl.LRUCache;
 import io.vertx.ext.auth.otp.Authenticator;
 import io.vertx.ext.auth.otp.OtpCredentials;
 import io.vertx.ext.auth.otp.OtpKey;
-import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
+import io.vertx.ext.auth.otp.impl.OtpEngine;
 import io.vertx.ext.auth.otp.totp.TotpAuth;
 import io.vertx.ext.auth.otp.totp.TotpAuthOptions;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.function.Function;
 
 public class TotpAuthImpl implements TotpAuth {
 
   private final TotpAuthOptions totpAuthOptions;
+  // the last accepted time step by identifier, so a code is not accepted twice before the authenticator is updated
+  private final LRUCache<String, Long> usedSteps = new LRUCache<>(OtpEngine.CACHE_SIZE);
 
   private Function<String, Future<Authenticator>> fetcher;
   private Function<Authenticator, Future<Void>> updater;
@@ -63,32 +64,38 @@ public class TotpAuthImpl implements TotpAuth {
           if (authenticator == null) {
             resultHandler.handle(Future.failedFuture("user is not found"));
           } else {
-            String key = authenticator.getKey();
-            String algorithm = authenticator.getAlgorithm();
-
-            OtpKey otpKey = new OtpKey()
-              .setKey(key)
-              .setAlgorithm(algorithm);
-
             Integer authAttempts = authenticator.getAuthAttempts();
             authAttempts = authAttempts != null ? ++authAttempts : 1;
             authenticator.setAuthAttempts(authAttempts);
 
-            String oneTimePassword;
-
+            final OtpEngine engine;
             try {
-              final long movingFactor = Instant.now().getEpochSecond() / totpAuthOptions.getPeriod();
-              oneTimePassword = OneTimePasswordAlgorithm.generateOTP(otpKey.getKeyBytes(), movingFactor, totpAuthOptions.getPasswordLength(), false, -1);
+              engine = OtpEngine.forKey(authenticator.getKey());
             } catch (GeneralSecurityException e) {
               resultHandler.handle(Future.failedFuture(e));
               return;
             }
 
-            if (MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8), authInfo.getCode().getBytes(StandardCharsets.UTF_8))) {
-              updater.apply(authenticator)
-                .onFailure(err -> resultHandler.handle(Future.failedFuture(err)))
-                .onSuccess(v -> resultHandler.handle(Future.succeededFuture(createUser(authenticator))));
-              return;
+            final int length = totpAuthOptions.getPasswordLength();
+            final int code = OtpEngine.parseCode(authInfo.getCode(), length);
+            final long now = Instant.now().getEpochSecond() / totpAuthOptions.getPeriod();
+            // the authenticator counter holds the last accepted time step
+            final long from = Math.max(now - totpAuthOptions.getWindow(), authenticator.getCounter() + 1);
+            final long to = now + totpAuthOptions.getWindow();
+
+            if (code != -1 && from <= to) {
+              final long step = engine.verify(code, from, to, length);
+              if (step != -1 && accept(authenticator.getIdentifier(), step)) {
+                authenticator.setCounter(step);
+                updater.apply(authenticator)
+                  .onFailure(err -> {
+                    // the store still holds the previous step, so the code is still valid
+                    release(authenticator.getIdentifier(), step);
+                    resultHandler.handle(Future.failedFuture(err));
+                  })
+                  .onSuccess(v -> resultHandler.handle(Future.succeededFuture(createUser(authenticator))));
+                return;
+              }
             }
 
             if (totpAuthOptions.isUsingAttemptsLimit() && authAttempts >= totpAuthOptions.getAuthAttemptsLimit()) {
@@ -106,6 +113,36 @@ public class TotpAuthImpl implements TotpAuth {
     }
   }
 
+  /**
+   * Record a time step as used, unless it or a later step was already used by the identifier. The step is reserved
+   * while the authenticator is updated, so a concurrent request can't use it.
+   */
+  private boolean accept(String identifier, long step) {
+    // the cache synchronizes on itself, this makes the check and update atomic
+    synchronized (usedSteps) {
+      final Long used = usedSteps.get(identifier);
+      if (used != null && used >= step) {
+        return false;
+      }
+      // after the window has moved past the step it can't be used again anyway
+      final long expiresAt = (step + totpAuthOptions.getWindow() + 1) * totpAuthOptions.getPeriod() * 1000L;
+      usedSteps.put(identifier, step, expiresAt);
+      return true;
+    }
+  }
+
+  /**
+   * Release a step reserved by {@link #accept(String, long)} when the authenticator couldn't be updated.
+   */
+  private void release(String identifier, long step) {
+    synchronized (usedSteps) {
+      final Long used = usedSteps.get(identifier);
+      if (used != null && used == step) {
+        usedSteps.remove(identifier);
+      }
+    }
+  }
+
   @Override
   public TotpAuth authenticatorFetcher(Function<String, Future<Authenticator>> fetcher) {
     this.fetcher = fetcher;
@@ -14,8 +14,10 @@ package io.vertx.ext.auth.otp.hotp;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.otp.Authenticator;
 import io.vertx.ext.auth.otp.DummyDatabase;
+import io.vertx.ext.auth.otp.OtpKey;
 import io.vertx.ext.auth.otp.hotp.HotpAuth;
 import io.vertx.ext.auth.otp.hotp.HotpAuthOptions;
+import io.vertx.ext.auth.otp.impl.org.openauthentication.otp.OneTimePasswordAlgorithm;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -23,6 +25,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.security.GeneralSecurityException;
+
 @RunWith(VertxUnitRunner.class)
 public class HotpAuthTest {
 
@@ -348,4 +352,48 @@ public class HotpAuthTest {
       should.assertNull(authAttempt);
     }));
   }
+
+  @Test
+  public void testHotp14(TestContext should) throws GeneralSecurityException {
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY).setCounter(8));
+    // Test valid auth code at the end of a large resynchronization window
+
+    HotpAuthOptions hotpAuthOptions = new HotpAuthOptions()
+      .setLookAheadWindow(100);
+    HotpAuth authProvider = HotpAuth.create(hotpAuthOptions)
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert);
+
+    JsonObject credentials = new JsonObject()
+      .put("identifier", "user1")
+      .put("code", OneTimePasswordAlgorithm.generateOTP(new OtpKey().setKey(USER1_KEY).getKeyBytes(), 109, 6, false, -1));
+
+    authProvider.authenticate(credentials, should.asyncAssertSuccess(res -> {
+      long counter = res.get("counter");
+      should.assertEquals(109L, counter);
+      // the same code can't be used again
+      authProvider.authenticate(credentials, should.asyncAssertFailure());
+    }));
+  }
+
+  @Test
+  public void testHotp15(TestContext should) {
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY).setCounter(8).setAuthAttempts(2));
+    // Test valid auth code in the resynchronization window once the attempts limit is reached
+
+    HotpAuthOptions hotpAuthOptions = new HotpAuthOptions()
+      .setAuthAttemptsLimit(3)
+      .setLookAheadWindow(5);
+    HotpAuth authProvider = HotpAuth.create(hotpAuthOptions)
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert);
+
+    JsonObject credentials = new JsonObject()
+      .put("identifier", "user1")
+      .put("code", "203646");
+
+    authProvider.authenticate(credentials, should.asyncAssertFailure());
+  }
 }
@@ -95,5 +95,11 @@ public class TotpAuthOptionsTest {
         .setAuthAttemptsLimit(0);
       should.assertFalse(hotpAuthOptions.isUsingAttemptsLimit());
     } catch (IllegalArgumentException ignore) {}
+
+    try {
+      new TotpAuthOptions()
+        .setWindow(-1);
+      should.fail();
+    } catch (IllegalArgumentException ignore) {}
   }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021 Dmitry Novikov
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.ext.auth.otp.totp;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.otp.Authenticator;
+import io.vertx.ext.auth.otp.DummyDatabase;
+import io.vertx.ext.auth.otp.OtpKey;
+import io.vertx.ext.auth.otp.impl.OtpEngine;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class TotpAuthTest {
+
+  private static final String USER1_KEY = "SRF6EYYCC6SNJEQD4VDZDZPGMODFPCSL";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private static String code(long step) {
+    try {
+      int code = new OtpEngine(new OtpKey().setKey(USER1_KEY).getKeyBytes()).generate(step, 6);
+      return String.format("%06d", code);
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static long now() {
+    return Instant.now().getEpochSecond() / 30;
+  }
+
+  @Test
+  public void testWindow(TestContext should) {
+    final Async test = should.async();
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY));
+
+    // a device one step ahead, the code stays in the window if the step changes during the test
+    final long step = now() + 1;
+
+    TotpAuth.create(new TotpAuthOptions())
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert)
+      .authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertFailure(err -> {
+
+        TotpAuth.create(new TotpAuthOptions().setWindow(1))
+          .authenticatorFetcher(db::fetch)
+          .authenticatorUpdater(db::upsert)
+          .authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertSuccess(user -> {
+            should.assertEquals("totp", user.get("otp"));
+            db.fetch("user1")
+              .onFailure(should::fail)
+              .onSuccess(authenticator -> {
+                should.assertEquals(step, authenticator.getCounter());
+                test.complete();
+              });
+          }));
+      }));
+  }
+
+  @Test
+  public void testReplay(TestContext should) {
+    final Async test = should.async();
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY));
+
+    final TotpAuth authProvider = TotpAuth.create(new TotpAuthOptions().setWindow(1))
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert);
+
+    final long step = now() + 1;
+
+    authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertSuccess(user -> {
+      // the same code can't be used twice
+      authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertFailure(err -> {
+        should.assertEquals("invalid code", err.getMessage());
+        // nor a code older than the last accepted one, even if it is still in the window
+        authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", code(step - 1)), should.asyncAssertFailure(err2 -> {
+          should.assertEquals("invalid code", err2.getMessage());
+          test.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testUpdateFailureKeepsCode(TestContext should) {
+    final Async test = should.async();
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY));
+    final AtomicInteger updates = new AtomicInteger();
+
+    final TotpAuth authProvider = TotpAuth.create(new TotpAuthOptions().setWindow(1))
+      // a copy, like a real store
+      .authenticatorFetcher(id -> db.fetch(id).map(authenticator -> new Authenticator(authenticator.toJson())))
+      // the first write fails
+      .authenticatorUpdater(authenticator -> updates.incrementAndGet() == 1 ?
+        Future.failedFuture("store unavailable") :
+        db.upsert(authenticator));
+
+    final long step = now() + 1;
+
+    authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertFailure(err -> {
+      should.assertEquals("store unavailable", err.getMessage());
+      // the code wasn't burned
+      authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertSuccess(user -> {
+        // and now it is
+        authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", code(step)), should.asyncAssertFailure(err2 -> {
+          should.assertEquals("invalid code", err2.getMessage());
+          test.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testInvalidCode(TestContext should) {
+    final DummyDatabase db = new DummyDatabase()
+      .fixture(new Authenticator().setIdentifier("user1").setKey(USER1_KEY));
+
+    final TotpAuth authProvider = TotpAuth.create(new TotpAuthOptions().setWindow(1))
+      .authenticatorFetcher(db::fetch)
+      .authenticatorUpdater(db::upsert);
+
+    authProvider.authenticate(new JsonObject().put("identifier", "user1").put("code", "12345a"), should.asyncAssertFailure());
+    authProvider.authenticate(new JsonObject().put("identifier", "unknown").put("code", "123456"), should.asyncAssertFailure());
+  }
+}
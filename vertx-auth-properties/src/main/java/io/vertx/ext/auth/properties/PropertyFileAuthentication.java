@@ -34,4 +34,17 @@ public interface PropertyFileAuthentication extends AuthenticationProvider {
   static PropertyFileAuthentication create(Vertx vertx, String path) {
     return new PropertyFileAuthenticationImpl(vertx, path);
   }
+
+  /**
+   * Create a File authentication provider that reloads the file when it changes. The file is checked for changes at most
+   * once per interval, when the provider is used, and reloaded in the background.
+   *
+   * @param vertx  the Vert.x instance
+   * @param path  the path to the property file
+   * @param reloadInterval  the minimum time between checks for changes in milliseconds, {@code 0} to never reload
+   * @return  the authentication provider
+   */
+  static PropertyFileAuthentication create(Vertx vertx, String path, long reloadInterval) {
+    return new PropertyFileAuthenticationImpl(vertx, path, reloadInterval);
+  }
 }
@@ -22,15 +22,18 @@ import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
 import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
 import io.vertx.ext.auth.authorization.WildcardPermissionBasedAuthorization;
+import io.vertx.ext.auth.impl.FileUserTable;
 import io.vertx.ext.auth.properties.PropertyFileAuthentication;
 import io.vertx.ext.auth.properties.PropertyFileAuthorization;
 
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
+ * The file is loaded by a {@link FileUserTable}, the users with their resolved roles and permissions are kept in an
+ * immutable snapshot which is reloaded in the background when the file changes.
+ *
  * @author <a href="mail://stephane.bastian.dev@gmail.com">Stephane Bastian</a>
  */
 public class PropertyFileAuthenticationImpl implements PropertyFileAuthentication, PropertyFileAuthorization {
@@ -38,128 +41,121 @@ public class PropertyFileAuthenticationImpl implements PropertyFileAuthenticatio
 
   private static class User {
     final String name;
-    String password;
-    final Map<String, Role> roles;
-
-    private User(String name) {
-      this.name = Objects.requireNonNull(name);
-      this.roles = new HashMap<>();
-    }
-
-    private void addRole(Role role) {
-      Objects.requireNonNull(role);
-      roles.put(role.name, role);
-    }
-  }
-
-  private static class Role {
-    final String name;
+    final String password;
+    // resolved and validated once per load
+    final Set<String> roles;
     final Set<String> permissions;
 
-    private Role(String name) {
+    private User(String name, String password, Set<String> roles, Set<String> permissions) {
       this.name = Objects.requireNonNull(name);
-      this.permissions = new HashSet<>();
-    }
-
-    private void addPermission(String permission) {
-      Objects.requireNonNull(permission);
-      permissions.add(permission);
+      this.password = password;
+      this.roles = roles;
+      this.permissions = permissions;
     }
   }
 
-  private final Vertx vertx;
   private final String path;
-
-  private Map<String, User> users;
-  private Map<String, Role> roles;
+  private final FileUserTable<User> users;
 
   public PropertyFileAuthenticationImpl(Vertx vertx, String path) {
-    this.vertx = Objects.requireNonNull(vertx);
+    this(vertx, path, 0L);
+  }
+
+  public PropertyFileAuthenticationImpl(Vertx vertx, String path, long reloadInterval) {
     this.path = Objects.requireNonNull(path);
+    // parsing and compiling the permissions is kept off the event loop
+    this.users = new FileUserTable<>(vertx, path, reloadInterval, PropertyFileAuthenticationImpl::parse);
   }
 
-  private void readFile(Handler<AsyncResult<Boolean>> handler) {
-    vertx.fileSystem().readFile(path, readResponse -> {
-      this.users = new HashMap<>();
-      this.roles = new HashMap<>();
-      if (readResponse.failed()) {
-        handler.handle(Future.failedFuture(readResponse.cause()));
-      } else {
-        String fileContent = readResponse.result().toString(StandardCharsets.UTF_8);
-        String[] lines = fileContent.split("\n");
-        for (String line : lines) {
-          if (line.length() == 0 || line.startsWith("#")) {
-            // skip empty lines or comments
-            continue;
-          }
+  private static Map<String, User> parse(String fileContent) {
+    final Map<String, String> passwords = new HashMap<>();
+    final Map<String, Set<String>> userRoles = new HashMap<>();
+    final Map<String, Set<String>> rolePermissions = new HashMap<>();
+
+    String[] lines = fileContent.split("\n");
+    for (String line : lines) {
+      if (line.length() == 0 || line.startsWith("#")) {
+        // skip empty lines or comments
+        continue;
+      }
 
-          if (line.startsWith("user.")) {
-            logger.log(Level.FINE, () -> "read user line: " + line);
-            String usernameAndRoles = line.substring(5);
-            int index = usernameAndRoles.indexOf('=');
-            String tmpName = index > 0 ? usernameAndRoles.substring(0, index).trim() : "";
-            String tmpRoles = index > 0 ? usernameAndRoles.substring(index + 1).trim() : "";
-            if (tmpName.length() > 0) {
-              User user = new User(tmpName);
-              users.put(tmpName, user);
-              int roleIndex = 0;
-              for (String tmpRole : tmpRoles.split(",")) {
-                tmpRole = tmpRole.trim();
-                if (roleIndex == 0) {
-                  user.password = tmpRole;
-                } else if (tmpRole.length() > 0) {
-                  Role role = roles.get(tmpRole);
-                  if (role == null) {
-                    role = new Role(tmpRole);
-                    roles.put(tmpRole, role);
-                  }
-                  user.addRole(role);
-                }
-                roleIndex++;
-              }
-            } else {
-              logger.log(Level.WARNING, () -> "read blank username - " + line);
+      if (line.startsWith("user.")) {
+        logger.log(Level.FINE, () -> "read user line: " + line);
+        String usernameAndRoles = line.substring(5);
+        int index = usernameAndRoles.indexOf('=');
+        String tmpName = index > 0 ? usernameAndRoles.substring(0, index).trim() : "";
+        String tmpRoles = index > 0 ? usernameAndRoles.substring(index + 1).trim() : "";
+        if (tmpName.length() > 0) {
+          Set<String> roles = new LinkedHashSet<>();
+          userRoles.put(tmpName, roles);
+          passwords.remove(tmpName);
+          int roleIndex = 0;
+          for (String tmpRole : tmpRoles.split(",")) {
+            tmpRole = tmpRole.trim();
+            if (roleIndex == 0) {
+              passwords.put(tmpName, tmpRole);
+            } else if (tmpRole.length() > 0) {
+              rolePermissions.computeIfAbsent(tmpRole, k -> new LinkedHashSet<>());
+              roles.add(tmpRole);
             }
-          } else if (line.startsWith("role.")) {
-            logger.log(Level.FINE, () -> "read role line - " + line);
-            String roleAndProperties = line.substring(5);
-            int index = roleAndProperties.indexOf('=');
-            String tmpName = index > 0 ? roleAndProperties.substring(0, index).trim() : "";
-            String tmpProperties = index > 0 ? roleAndProperties.substring(index + 1).trim() : "";
-            if (tmpName.length() > 0) {
-              Role role = roles.get(tmpName);
-              if (role == null) {
-                role = new Role(tmpName);
-                roles.put(tmpName, role);
-              }
-              for (String tmpProperty : tmpProperties.split(",")) {
-                tmpProperty = tmpProperty.trim();
-                if (tmpProperty.length() > 0) {
-                  role.addPermission(tmpProperty);
-                }
-              }
-            } else {
-              logger.log(Level.WARNING, () -> "read blank role - " + line);
+            roleIndex++;
+          }
+        } else {
+          logger.log(Level.WARNING, () -> "read blank username - " + line);
+        }
+      } else if (line.startsWith("role.")) {
+        logger.log(Level.FINE, () -> "read role line - " + line);
+        String roleAndProperties = line.substring(5);
+        int index = roleAndProperties.indexOf('=');
+        String tmpName = index > 0 ? roleAndProperties.substring(0, index).trim() : "";
+        String tmpProperties = index > 0 ? roleAndProperties.substring(index + 1).trim() : "";
+        if (tmpName.length() > 0) {
+          Set<String> permissions = rolePermissions.computeIfAbsent(tmpName, k -> new LinkedHashSet<>());
+          for (String tmpProperty : tmpProperties.split(",")) {
+            tmpProperty = tmpProperty.trim();
+            if (tmpProperty.length() > 0) {
+              permissions.add(tmpProperty);
             }
-          } else {
-            logger.log(Level.WARNING, () -> "read unknow line - " + line);
           }
+        } else {
+          logger.log(Level.WARNING, () -> "read blank role - " + line);
         }
-        handler.handle(Future.succeededFuture(Boolean.TRUE));
+      } else {
+        logger.log(Level.WARNING, () -> "read unknow line - " + line);
       }
+    }
+
+    // validate the permissions of each role once, invalid ones are dropped
+    rolePermissions.forEach((role, permissions) -> permissions.removeIf(permission -> {
+      try {
+        WildcardPermissionBasedAuthorization.create(permission);
+        return false;
+      } catch (IllegalArgumentException e) {
+        logger.log(Level.WARNING, () -> "invalid permission - " + permission + " in role " + role);
+        return true;
+      }
+    }));
+
+    final Map<String, User> users = new HashMap<>();
+    userRoles.forEach((name, roleNames) -> {
+      Set<String> permissions = new LinkedHashSet<>();
+      for (String role : roleNames) {
+        permissions.addAll(rolePermissions.get(role));
+      }
+      users.put(name, new User(name, passwords.get(name), Collections.unmodifiableSet(roleNames), Collections.unmodifiableSet(permissions)));
     });
+
+    return users;
   }
 
   private void getUser(String username, Handler<AsyncResult<User>> handler) {
-    if (users == null) {
-      readFile(readFileResponse -> {
-        User result = users.get(username);
-        handler.handle(result != null ? Future.succeededFuture(result) : Future.failedFuture("unknown user"));
-      });
-    } else {
-      User result = users.get(username);
-      handler.handle(result != null ? Future.succeededFuture(result) : Future.failedFuture("unknown user"));
-    }
+    // failed loads are not kept, so the next request retries
+    users.entries()
+      .compose(entries -> {
+        User result = username == null ? null : entries.get(username);
+        return result != null ? Future.succeededFuture(result) : Future.<User>failedFuture("unknown user");
+      })
+      .onComplete(handler);
   }
 
   @Override
@@ -202,14 +198,16 @@ public class PropertyFileAuthenticationImpl implements PropertyFileAuthenticatio
     String username = user.principal().getString("username");
     getUser(username, userResult -> {
       if (userResult.succeeded()) {
-        Set<Authorization> result = new HashSet<>();
-        for (Role role : userResult.result().roles.values()) {
-          result.add(RoleBasedAuthorization.create(role.name));
-          for (String permission : role.permissions) {
-            result.add(WildcardPermissionBasedAuthorization.create(permission));
-          }
+        // grants are mutable, each user gets its own
+        final User propertyUser = userResult.result();
+        final Set<Authorization> authorizations = new HashSet<>();
+        for (String role : propertyUser.roles) {
+          authorizations.add(RoleBasedAuthorization.create(role));
+        }
+        for (String permission : propertyUser.permissions) {
+          authorizations.add(WildcardPermissionBasedAuthorization.create(permission));
         }
-        user.authorizations().add(getId(), result);
+        user.authorizations().add(getId(), authorizations);
         resultHandler.handle(Future.succeededFuture());
       } else {
         resultHandler.handle(Future.failedFuture("invalid username"));
@@ -12,6 +12,9 @@
  ********************************************************************************/
 package io.vertx.ext.auth.properties;
 
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
@@ -26,6 +29,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -144,6 +152,30 @@ public class PropertyFileAuthenticationTest {
         }));
   }
 
+  @Test
+  public void testGrantsAreNotShared(TestContext should) {
+    final Async test = should.async();
+    final User tim = User.fromName("tim");
+    final User bob = User.fromName("bob");
+
+    authz.getAuthorizations(tim)
+      .compose(v -> {
+        // both users have the developer role, changing the grant of one must not affect the other
+        for (Authorization authorization : tim.authorizations().get(authz.getId())) {
+          if (authorization instanceof RoleBasedAuthorization) {
+            ((RoleBasedAuthorization) authorization).setResource("r1");
+          }
+        }
+        return authz.getAuthorizations(bob);
+      })
+      .onFailure(should::fail)
+      .onSuccess(v -> {
+        should.assertFalse(RoleBasedAuthorization.create("developer").match(tim));
+        should.assertTrue(RoleBasedAuthorization.create("developer").match(bob));
+        test.complete();
+      });
+  }
+
   private void loginThen(TestContext should, Consumer<User> runner) {
     JsonObject authInfo = new JsonObject().put("username", "tim").put("password", "sausages");
     authn.authenticate(authInfo)
@@ -198,4 +230,52 @@ public class PropertyFileAuthenticationTest {
           });
       });
   }
+
+  @Test
+  public void testConcurrentFirstLoad(TestContext should) {
+    final Async test = should.async();
+    final AuthenticationProvider provider = PropertyFileAuthentication.create(rule.vertx(), this.getClass().getResource("/test-auth.properties").getFile());
+
+    List<Future> logins = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      logins.add(provider.authenticate(new JsonObject().put("username", "tim").put("password", "sausages")));
+    }
+    CompositeFuture.all(logins)
+      .onFailure(should::fail)
+      .onSuccess(v -> test.complete());
+  }
+
+  @Test
+  public void testReload(TestContext should) throws Exception {
+    final Async test = should.async();
+    final File file = File.createTempFile("auth", ".properties");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "user.paulo = secret,admin\nrole.admin = *\n".getBytes(StandardCharsets.UTF_8));
+
+    final AuthenticationProvider provider = PropertyFileAuthentication.create(rule.vertx(), file.getAbsolutePath(), 50);
+
+    provider.authenticate(new JsonObject().put("username", "paulo").put("password", "secret"))
+      .compose(user -> {
+        try {
+          Files.write(file.toPath(), "user.paulo = changed,admin\nrole.admin = *\n".getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+          return Future.failedFuture(e);
+        }
+        return retry(provider, new JsonObject().put("username", "paulo").put("password", "changed"), 20);
+      })
+      .onFailure(should::fail)
+      .onSuccess(user -> test.complete());
+  }
+
+  private Future<User> retry(AuthenticationProvider provider, JsonObject authInfo, int attempts) {
+    return provider.authenticate(authInfo)
+      .recover(err -> {
+        if (attempts == 0) {
+          return Future.failedFuture(err);
+        }
+        final Promise<Void> wait = Promise.promise();
+        rule.vertx().setTimer(50, t -> wait.complete());
+        return wait.future().compose(v -> retry(provider, authInfo, attempts - 1));
+      });
+  }
 }
@@ -20,6 +20,11 @@ public class SqlAuthenticationOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SqlAuthenticationOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "authenticationAndAuthorizationsQuery":
+          if (member.getValue() instanceof String) {
+            obj.setAuthenticationAndAuthorizationsQuery((String)member.getValue());
+          }
+          break;
         case "authenticationQuery":
           if (member.getValue() instanceof String) {
             obj.setAuthenticationQuery((String)member.getValue());
@@ -34,6 +39,9 @@ public class SqlAuthenticationOptionsConverter {
   }
 
   public static void toJson(SqlAuthenticationOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getAuthenticationAndAuthorizationsQuery() != null) {
+      json.put("authenticationAndAuthorizationsQuery", obj.getAuthenticationAndAuthorizationsQuery());
+    }
     if (obj.getAuthenticationQuery() != null) {
       json.put("authenticationQuery", obj.getAuthenticationQuery());
     }
@@ -20,6 +20,16 @@ public class SqlAuthorizationOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SqlAuthorizationOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "authorizationsQuery":
+          if (member.getValue() instanceof String) {
+            obj.setAuthorizationsQuery((String)member.getValue());
+          }
+          break;
+        case "parallelQueries":
+          if (member.getValue() instanceof Boolean) {
+            obj.setParallelQueries((Boolean)member.getValue());
+          }
+          break;
         case "permissionsQuery":
           if (member.getValue() instanceof String) {
             obj.setPermissionsQuery((String)member.getValue());
@@ -39,6 +49,10 @@ public class SqlAuthorizationOptionsConverter {
   }
 
   public static void toJson(SqlAuthorizationOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getAuthorizationsQuery() != null) {
+      json.put("authorizationsQuery", obj.getAuthorizationsQuery());
+    }
+    json.put("parallelQueries", obj.isParallelQueries());
     if (obj.getPermissionsQuery() != null) {
       json.put("permissionsQuery", obj.getPermissionsQuery());
     }
@@ -92,4 +92,27 @@ public class AuthSqlExamples {
         // password updated
       });
   }
+
+  public void example10(SqlClient sqlClient) {
+
+    SqlAuthenticationOptions options = new SqlAuthenticationOptions()
+      // password, roles and permissions in a single round trip (Postgres)
+      .setAuthenticationAndAuthorizationsQuery(
+        "SELECT U.password, U.username, array_agg(DISTINCT UR.role), array_agg(DISTINCT RP.perm) " +
+          "FROM users U " +
+          "LEFT JOIN users_roles UR ON U.username = UR.username " +
+          "LEFT JOIN roles_perms RP ON UR.role = RP.role " +
+          "WHERE U.username = $1 " +
+          "GROUP BY U.password, U.username");
+
+    SqlAuthentication.create(sqlClient, options)
+      .authenticate(new JsonObject()
+        .put("username", "tim")
+        .put("password", "sausages"))
+      .onSuccess(user -> {
+        if (RoleBasedAuthorization.create("manager").match(user)) {
+          // Has role!
+        }
+      });
+  }
 }
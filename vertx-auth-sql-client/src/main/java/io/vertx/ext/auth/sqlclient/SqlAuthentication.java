@@ -17,7 +17,10 @@
 package io.vertx.ext.auth.sqlclient;
 
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
 import io.vertx.ext.auth.authentication.AuthenticationProvider;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.sqlclient.impl.SqlAuthenticationImpl;
 import io.vertx.sqlclient.SqlClient;
 
@@ -52,6 +55,33 @@ public interface SqlAuthentication extends AuthenticationProvider {
     return new SqlAuthenticationImpl(client, options);
   }
 
+  /**
+   * Create a JDBC auth provider implementation that rejects the usernames unknown to a filter without querying the
+   * database.
+   *
+   * @param client  the JDBC client instance
+   * @param options authentication options
+   * @param filter  the known usernames, see {@link #createUsernameFilter(Vertx, SqlClient, String, UsernameFilterOptions)}
+   * @return  the auth provider
+   */
+  static SqlAuthentication create(SqlClient client, SqlAuthenticationOptions options, UsernameFilter filter) {
+    return new SqlAuthenticationImpl(client, options, filter);
+  }
+
+  /**
+   * Create a filter of the known usernames, loaded with a query returning all the usernames in the first column, e.g.:
+   * {@code SELECT username FROM users}. The rows are added to the filter as they are decoded.
+   *
+   * @param vertx   the vertx instance
+   * @param client  the JDBC client instance
+   * @param usernamesQuery the query of all the usernames
+   * @param options the filter options
+   * @return the filter
+   */
+  static UsernameFilter createUsernameFilter(Vertx vertx, SqlClient client, String usernamesQuery, UsernameFilterOptions options) {
+    return SqlAuthenticationImpl.createUsernameFilter(vertx, client, usernamesQuery, options);
+  }
+
   /**
    * Hashes a password to be stored.
    *
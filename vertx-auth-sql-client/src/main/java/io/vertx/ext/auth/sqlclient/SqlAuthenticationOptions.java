@@ -33,6 +33,7 @@ public class SqlAuthenticationOptions {
   private final static String DEFAULT_AUTHENTICATE_QUERY = "SELECT password FROM users WHERE username = ?";
 
   private String authenticationQuery;
+  private String authenticationAndAuthorizationsQuery;
 
   public SqlAuthenticationOptions() {
     this.authenticationQuery = DEFAULT_AUTHENTICATE_QUERY;
@@ -60,6 +61,30 @@ public class SqlAuthenticationOptions {
     return this;
   }
 
+  public String getAuthenticationAndAuthorizationsQuery() {
+    return authenticationAndAuthorizationsQuery;
+  }
+
+  /**
+   * Set a query that loads the password hash and the authorizations of the user at once. When set, it is used instead of
+   * the authentication query and the authenticated user already holds its roles and permissions, under the
+   * {@code sql-client} provider id, so no {@link SqlAuthorization} queries are needed.
+   * <p>
+   * Each row holds the password hash in the first column, a column identifying the user (e.g.: the username or the user
+   * id) in the second, a role in the third and a permission in the fourth, for example by joining the roles and
+   * permissions tables. Null roles and permissions are skipped, so users without authorizations can be outer joined.
+   * Instead of one per row, the roles and permissions can also be aggregated in an array column, e.g.:
+   * {@code array_agg} or {@code json_agg}. Rows with a different user or password hash are rejected as duplicate users.
+   *
+   * @param authenticationAndAuthorizationsQuery the query, or {@code null} to use the authentication query
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  public SqlAuthenticationOptions setAuthenticationAndAuthorizationsQuery(String authenticationAndAuthorizationsQuery) {
+    this.authenticationAndAuthorizationsQuery = authenticationAndAuthorizationsQuery;
+    return this;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     SqlAuthenticationOptionsConverter.toJson(this, json);
@@ -16,11 +16,18 @@
 
 package io.vertx.ext.auth.sqlclient;
 
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.auth.sqlclient.impl.SqlAuthorizationImpl;
 import io.vertx.sqlclient.SqlClient;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Factory interface for creating {@link AuthorizationProvider} instances that use the Vert.x SQL client.
  *
@@ -49,4 +56,15 @@ public interface SqlAuthorization extends AuthorizationProvider {
   static SqlAuthorization create(SqlClient client, SqlAuthorizationOptions options) {
     return new SqlAuthorizationImpl(client, options);
   }
+
+  /**
+   * Load the authorizations of many users at once, for example to warm up a cache or for bulk administration. Each
+   * query is executed once as a batch with one set of parameters per user, so the cost is a single round trip per
+   * query instead of one per user.
+   *
+   * @param usernames the users to load
+   * @return future with the authorizations per username, users without authorizations map to an empty set
+   */
+  @GenIgnore
+  Future<Map<String, Set<Authorization>>> loadAuthorizations(List<String> usernames);
 }
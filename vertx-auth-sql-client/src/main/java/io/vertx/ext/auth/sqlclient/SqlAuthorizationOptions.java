@@ -37,6 +37,8 @@ public class SqlAuthorizationOptions {
 
   private String rolesQuery;
   private String permissionsQuery;
+  private String authorizationsQuery;
+  private boolean parallelQueries;
 
   public SqlAuthorizationOptions() {
     this.rolesQuery = DEFAULT_ROLES_QUERY;
@@ -80,6 +82,43 @@ public class SqlAuthorizationOptions {
     return this;
   }
 
+  public String getAuthorizationsQuery() {
+    return authorizationsQuery;
+  }
+
+  /**
+   * Set a query that loads roles and permissions in a single round trip. When set, the roles and permissions queries
+   * are not used. The query takes the username as parameter and each row must return a role in the first column and,
+   * optionally, a permission granted by that role in the second column ({@code NULL} if none), for example:
+   *
+   * <pre>
+   * SELECT UR.role, RP.perm FROM users_roles UR LEFT JOIN roles_perms RP ON UR.role = RP.role WHERE UR.username = ?
+   * </pre>
+   *
+   * @param authorizationsQuery the combined query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SqlAuthorizationOptions setAuthorizationsQuery(String authorizationsQuery) {
+    this.authorizationsQuery = authorizationsQuery;
+    return this;
+  }
+
+  public boolean isParallelQueries() {
+    return parallelQueries;
+  }
+
+  /**
+   * Run the roles and permissions queries in parallel instead of one after the other. On a pool this uses 2
+   * connections at the same time, on a single connection the queries are pipelined (if supported by the database).
+   *
+   * @param parallelQueries {@code true} to run the queries in parallel
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SqlAuthorizationOptions setParallelQueries(boolean parallelQueries) {
+    this.parallelQueries = parallelQueries;
+    return this;
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     SqlAuthorizationOptionsConverter.toJson(this, json);
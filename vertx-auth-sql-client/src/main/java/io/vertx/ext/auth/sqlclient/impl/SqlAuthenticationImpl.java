@@ -16,17 +16,29 @@
 
 package io.vertx.ext.auth.sqlclient.impl;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.HashingStrategy;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.authentication.UsernameFilterOptions;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.auth.authorization.RoleBasedAuthorization;
+import io.vertx.ext.auth.impl.HashingWorker;
 import io.vertx.ext.auth.sqlclient.SqlAuthentication;
 import io.vertx.ext.auth.sqlclient.SqlAuthenticationOptions;
 import io.vertx.sqlclient.Row;
@@ -39,13 +51,103 @@ import io.vertx.sqlclient.Tuple;
  */
 public class SqlAuthenticationImpl implements SqlAuthentication {
 
+  /**
+   * The provider id of the authorizations loaded with the user, the same as {@link SqlAuthorizationImpl#getId()}.
+   */
+  private static final String PROVIDER_ID = "sql-client";
+
+  /**
+   * The rows of a user, accumulated as they are decoded so the row set is never buffered.
+   */
+  private static final class UserRows {
+    int rows;
+    String hash;
+    Object key;
+    boolean conflict;
+    final Set<Authorization> authorizations = new HashSet<>();
+
+    void add(Row row) {
+      if (row.size() < 2) {
+        throw new IllegalStateException("The authentication and authorizations query must return the password hash and a column identifying the user");
+      }
+      final String currentHash = row.getString(0);
+      final Object currentKey = row.getValue(1);
+      if (rows++ == 0) {
+        hash = currentHash;
+        key = currentKey;
+      } else if (!Objects.equals(key, currentKey) || !Objects.equals(hash, currentHash)) {
+        // the rows belong to more than one user
+        conflict = true;
+      }
+      if (row.size() > 2) {
+        addAll(row.getValue(2), RoleBasedAuthorization::create, authorizations);
+      }
+      if (row.size() > 3) {
+        addAll(row.getValue(3), PermissionBasedAuthorization::create, authorizations);
+      }
+    }
+
+    private static void addAll(Object value, Function<String, Authorization> factory, Set<Authorization> authorizations) {
+      if (value == null) {
+        return;
+      }
+      if (value instanceof Object[]) {
+        // array_agg
+        for (Object element : (Object[]) value) {
+          if (element != null) {
+            authorizations.add(factory.apply(element.toString()));
+          }
+        }
+      } else if (value instanceof JsonArray) {
+        // json_agg
+        for (Object element : (JsonArray) value) {
+          if (element != null) {
+            authorizations.add(factory.apply(element.toString()));
+          }
+        }
+      } else {
+        authorizations.add(factory.apply(value.toString()));
+      }
+    }
+  }
+
+  private static final Collector<Row, UserRows, UserRows> USER_ROWS = Collector.of(
+    UserRows::new,
+    UserRows::add,
+    // rows are collected sequentially
+    (a, b) -> a);
+
   private final SqlClient client;
   private final SqlAuthenticationOptions options;
   private final HashingStrategy strategy = HashingStrategy.load();
+  private final UsernameFilter filter;
 
   public SqlAuthenticationImpl(SqlClient client, SqlAuthenticationOptions options) {
+    this(client, options, null);
+  }
+
+  public SqlAuthenticationImpl(SqlClient client, SqlAuthenticationOptions options, UsernameFilter filter) {
     this.client = Objects.requireNonNull(client);
     this.options = Objects.requireNonNull(options);
+    this.filter = filter;
+  }
+
+  public static UsernameFilter createUsernameFilter(Vertx vertx, SqlClient client, String usernamesQuery, UsernameFilterOptions options) {
+    Objects.requireNonNull(client);
+    Objects.requireNonNull(usernamesQuery);
+
+    return UsernameFilter.create(vertx, options, sink -> client.query(usernamesQuery)
+      .collecting(Collector.<Row, Handler<String>>of(
+        () -> sink,
+        (usernames, row) -> {
+          final String username = row.getString(0);
+          if (username != null) {
+            usernames.handle(username);
+          }
+        },
+        (a, b) -> a))
+      .execute()
+      .mapEmpty());
   }
 
   @Override
@@ -59,6 +161,18 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
       UsernamePasswordCredentials authInfo = (UsernamePasswordCredentials) credentials;
       authInfo.checkValid(null);
 
+      if (filter != null && !filter.mightContain(authInfo.getUsername())) {
+        // Unknown user, no need to ask the database
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
+        return;
+      }
+
+      if (options.getAuthenticationAndAuthorizationsQuery() != null) {
+        authenticateAndAuthorize(authInfo)
+          .onComplete(resultHandler);
+        return;
+      }
+
       client.preparedQuery(options.getAuthenticationQuery()).execute(Tuple.of(authInfo.getUsername()), preparedQuery -> {
         if (preparedQuery.succeeded()) {
           final RowSet<Row> rows = preparedQuery.result();
@@ -71,11 +185,16 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
             case 1: {
               Row row = rows.iterator().next();
               String hashedStoredPwd = row.getString(0);
-              if (strategy.verify(hashedStoredPwd, authInfo.getPassword())) {
-                resultHandler.handle(Future.succeededFuture(User.fromName(authInfo.getUsername())));
-              } else {
-                resultHandler.handle(Future.failedFuture("Invalid username/password"));
-              }
+              // verify off the event loop
+              HashingWorker.verifyOnContext(strategy, hashedStoredPwd, authInfo.getPassword())
+                .<User>compose(valid -> {
+                  if (valid) {
+                    return Future.succeededFuture(User.fromName(authInfo.getUsername()));
+                  } else {
+                    return Future.failedFuture("Invalid username/password");
+                  }
+                })
+                .onComplete(resultHandler);
               break;
             }
             default: {
@@ -93,6 +212,34 @@ public class SqlAuthenticationImpl implements SqlAuthentication {
     }
   }
 
+  private Future<User> authenticateAndAuthorize(UsernamePasswordCredentials authInfo) {
+    return client.preparedQuery(options.getAuthenticationAndAuthorizationsQuery())
+      .collecting(USER_ROWS)
+      .execute(Tuple.of(authInfo.getUsername()))
+      .compose(result -> {
+        final UserRows rows = result.value();
+        if (rows.rows == 0) {
+          // Unknown user/password
+          return Future.failedFuture("Invalid username/password");
+        }
+        if (rows.conflict) {
+          // More than one user returned!
+          return Future.failedFuture("Failure in authentication");
+        }
+        // verify off the event loop
+        return HashingWorker.verifyOnContext(strategy, rows.hash, authInfo.getPassword())
+          .compose(valid -> {
+            if (valid) {
+              final User user = User.fromName(authInfo.getUsername());
+              user.authorizations().add(PROVIDER_ID, rows.authorizations);
+              return Future.succeededFuture(user);
+            } else {
+              return Future.failedFuture("Invalid username/password");
+            }
+          });
+      });
+  }
+
   @Override
   public String hash(String id, Map<String, String> params, String salt, String password) {
     return strategy.hash(id, params, salt, password);
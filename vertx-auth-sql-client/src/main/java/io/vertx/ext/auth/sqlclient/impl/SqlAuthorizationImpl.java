@@ -1,6 +1,7 @@
 package io.vertx.ext.auth.sqlclient.impl;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.ext.auth.User;
@@ -14,10 +15,8 @@ import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.SqlClient;
 import io.vertx.sqlclient.Tuple;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.function.BiConsumer;
 
 public class SqlAuthorizationImpl implements SqlAuthorization {
 
@@ -34,68 +33,137 @@ public class SqlAuthorizationImpl implements SqlAuthorization {
     return "sql-client";
   }
 
-  private void getRoles(String username, Handler<AsyncResult<Set<Authorization>>> resultHandler) {
-    if (options.getRolesQuery() != null) {
-      client.preparedQuery(options.getRolesQuery()).execute(Tuple.of(username), preparedQuery -> {
-        if (preparedQuery.succeeded()) {
-          RowSet<Row> rows = preparedQuery.result();
-          Set<Authorization> authorizations = new HashSet<>();
-          for (Row row : rows) {
-            String role = row.getString(0);
-            authorizations.add(RoleBasedAuthorization.create(role));
-          }
-          resultHandler.handle(Future.succeededFuture(authorizations));
-        } else {
-          resultHandler.handle(Future.failedFuture(preparedQuery.cause()));
+  private static void addRole(Row row, Set<Authorization> authorizations) {
+    authorizations.add(RoleBasedAuthorization.create(row.getString(0)));
+  }
+
+  private static void addPermission(Row row, Set<Authorization> authorizations) {
+    authorizations.add(PermissionBasedAuthorization.create(row.getString(0)));
+  }
+
+  private static void addRoleAndPermission(Row row, Set<Authorization> authorizations) {
+    authorizations.add(RoleBasedAuthorization.create(row.getString(0)));
+    // roles without permissions have a null permission (outer join)
+    String permission = row.getString(1);
+    if (permission != null) {
+      authorizations.add(PermissionBasedAuthorization.create(permission));
+    }
+  }
+
+  private Future<Set<Authorization>> query(String sql, String username, BiConsumer<Row, Set<Authorization>> mapper) {
+    if (sql == null) {
+      return Future.succeededFuture(Collections.emptySet());
+    }
+
+    return client.preparedQuery(sql)
+      .execute(Tuple.of(username))
+      .map(rows -> {
+        Set<Authorization> authorizations = new HashSet<>();
+        for (Row row : rows) {
+          mapper.accept(row, authorizations);
         }
+        return authorizations;
       });
-    } else {
-      resultHandler.handle(Future.succeededFuture(Collections.emptySet()));
-    }
   }
 
-  private void getPermissions(String username, Handler<AsyncResult<Set<Authorization>>> resultHandler) {
-    if (options.getPermissionsQuery() != null) {
-      client.preparedQuery(options.getPermissionsQuery()).execute(Tuple.of(username), preparedQuery -> {
-        if (preparedQuery.succeeded()) {
-          RowSet<Row> rows = preparedQuery.result();
-          Set<Authorization> authorizations = new HashSet<>();
+  /**
+   * Execute a query once per username as a single batch, the result holds the authorizations in the same order as
+   * the usernames.
+   */
+  private Future<List<Set<Authorization>>> queryBatch(String sql, List<String> usernames, BiConsumer<Row, Set<Authorization>> mapper) {
+    if (sql == null) {
+      return Future.succeededFuture(Collections.nCopies(usernames.size(), Collections.emptySet()));
+    }
+
+    List<Tuple> batch = new ArrayList<>(usernames.size());
+    for (String username : usernames) {
+      batch.add(Tuple.of(username));
+    }
+
+    return client.preparedQuery(sql)
+      .executeBatch(batch)
+      .map(result -> {
+        List<Set<Authorization>> authorizations = new ArrayList<>(usernames.size());
+        // each set of parameters has its own row set
+        for (RowSet<Row> rows = result; rows != null; rows = rows.next()) {
+          Set<Authorization> current = new HashSet<>();
           for (Row row : rows) {
-            String permission = row.getString(0);
-            authorizations.add(PermissionBasedAuthorization.create(permission));
+            mapper.accept(row, current);
           }
-          resultHandler.handle(Future.succeededFuture(authorizations));
-        } else {
-          resultHandler.handle(Future.failedFuture(preparedQuery.cause()));
+          authorizations.add(current);
         }
+        return authorizations;
       });
-    } else {
-      resultHandler.handle(Future.succeededFuture(Collections.emptySet()));
+  }
+
+  private Future<Set<Authorization>> getAuthorizations(String username) {
+    if (options.getAuthorizationsQuery() != null) {
+      return query(options.getAuthorizationsQuery(), username, SqlAuthorizationImpl::addRoleAndPermission);
     }
+
+    if (options.isParallelQueries()) {
+      final Future<Set<Authorization>> roles = query(options.getRolesQuery(), username, SqlAuthorizationImpl::addRole);
+      final Future<Set<Authorization>> permissions = query(options.getPermissionsQuery(), username, SqlAuthorizationImpl::addPermission);
+
+      return CompositeFuture.all(roles, permissions)
+        .map(all -> {
+          Set<Authorization> authorizations = new HashSet<>(roles.result());
+          authorizations.addAll(permissions.result());
+          return authorizations;
+        });
+    }
+
+    return query(options.getRolesQuery(), username, SqlAuthorizationImpl::addRole)
+      .compose(roles -> query(options.getPermissionsQuery(), username, SqlAuthorizationImpl::addPermission)
+        .map(permissions -> {
+          Set<Authorization> authorizations = new HashSet<>(roles);
+          authorizations.addAll(permissions);
+          return authorizations;
+        }));
   }
 
   @Override
   public void getAuthorizations(User user, Handler<AsyncResult<Void>> resultHandler) {
     String username = user.principal().getString("username");
     if (username != null) {
-      getRoles(username, roleResponse -> {
-        if (roleResponse.succeeded()) {
-          Set<Authorization> authorizations = new HashSet<>(roleResponse.result());
-          getPermissions(username, permissionResponse -> {
-            if (permissionResponse.succeeded()) {
-              authorizations.addAll(permissionResponse.result());
-              user.authorizations().add(getId(), authorizations);
-              resultHandler.handle(Future.succeededFuture());
-            } else {
-              resultHandler.handle(Future.failedFuture(permissionResponse.cause()));
-            }
-          });
-        } else {
-          resultHandler.handle(Future.failedFuture(roleResponse.cause()));
-        }
-      });
+      getAuthorizations(username)
+        .<Void>map(authorizations -> {
+          user.authorizations().add(getId(), authorizations);
+          return null;
+        })
+        .onComplete(resultHandler);
     } else {
       resultHandler.handle(Future.failedFuture("Couldn't get the username from the principal"));
     }
   }
+
+  @Override
+  public Future<Map<String, Set<Authorization>>> loadAuthorizations(List<String> usernames) {
+    if (usernames.isEmpty()) {
+      return Future.succeededFuture(Collections.emptyMap());
+    }
+
+    final Future<List<Set<Authorization>>> roles;
+    final Future<List<Set<Authorization>>> permissions;
+
+    if (options.getAuthorizationsQuery() != null) {
+      roles = queryBatch(options.getAuthorizationsQuery(), usernames, SqlAuthorizationImpl::addRoleAndPermission);
+      permissions = Future.succeededFuture(Collections.nCopies(usernames.size(), Collections.emptySet()));
+    } else {
+      // both batches are independent, so they always run in parallel
+      roles = queryBatch(options.getRolesQuery(), usernames, SqlAuthorizationImpl::addRole);
+      permissions = queryBatch(options.getPermissionsQuery(), usernames, SqlAuthorizationImpl::addPermission);
+    }
+
+    return CompositeFuture.all(roles, permissions)
+      .map(all -> {
+        Map<String, Set<Authorization>> authorizations = new HashMap<>();
+        for (int i = 0; i < usernames.size(); i++) {
+          Set<Authorization> current = authorizations.computeIfAbsent(usernames.get(i), k -> new HashSet<>());
+          current.addAll(roles.result().get(i));
+          current.addAll(permissions.result().get(i));
+        }
+        return authorizations;
+      });
+  }
 }
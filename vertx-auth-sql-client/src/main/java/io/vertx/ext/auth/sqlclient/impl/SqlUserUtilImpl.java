@@ -18,12 +18,19 @@ package io.vertx.ext.auth.sqlclient.impl;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.HashingStrategy;
+import io.vertx.ext.auth.authentication.UsernameFilter;
+import io.vertx.ext.auth.impl.UserProvisioner;
 import io.vertx.ext.auth.sqlclient.SqlUserUtil;
 import io.vertx.sqlclient.SqlClient;
 import io.vertx.sqlclient.Tuple;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.vertx.ext.auth.impl.Codec.base64Encode;
 
@@ -41,6 +48,8 @@ public class SqlUserUtilImpl implements SqlUserUtil {
   private final String insertUserRole;
   private final String insertRolePermission;
 
+  private volatile UsernameFilter filter;
+
   public SqlUserUtilImpl(SqlClient client) {
     this(client, INSERT_USER, INSERT_USER_ROLE, INSERT_ROLE_PERMISSION);
   }
@@ -52,6 +61,12 @@ public class SqlUserUtilImpl implements SqlUserUtil {
     this.insertRolePermission = insertRolePermission;
   }
 
+  @Override
+  public SqlUserUtil setUsernameFilter(UsernameFilter filter) {
+    this.filter = filter;
+    return this;
+  }
+
   @Override
   public SqlUserUtil createUser(String username, String password, Handler<AsyncResult<Void>> resultHandler) {
     if (username == null || password == null) {
@@ -79,6 +94,9 @@ public class SqlUserUtilImpl implements SqlUserUtil {
       return this;
     }
 
+    // before the insert, so the user can authenticate as soon as it exists
+    addToFilter(username);
+
     client.preparedQuery(insertUser).execute(Tuple.of(username, hash), prepare -> {
       if (prepare.succeeded()) {
         resultHandler.handle(Future.succeededFuture());
@@ -122,4 +140,70 @@ public class SqlUserUtilImpl implements SqlUserUtil {
     });
     return this;
   }
+
+  @Override
+  public Future<JsonObject> createUsers(ReadStream<JsonObject> items, int chunkSize, Handler<JsonObject> progressHandler) {
+    try {
+      return new UserProvisioner(strategy, random, chunkSize, this::insertChunk, progressHandler)
+        .provision(items);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Void> insertChunk(List<JsonObject> chunk) {
+    final List<Tuple> users = new ArrayList<>(chunk.size());
+    final List<Tuple> userRoles = new ArrayList<>();
+    final List<Tuple> rolePermissions = new ArrayList<>();
+
+    for (JsonObject item : chunk) {
+      final String username = item.getString("username");
+      if (username != null) {
+        final String hash = item.getString("hash");
+        if (hash == null) {
+          return Future.failedFuture("username or password hash are null");
+        }
+        users.add(Tuple.of(username, hash));
+        addToFilter(username);
+        final JsonArray roles = item.getJsonArray("roles");
+        if (roles != null) {
+          for (int i = 0; i < roles.size(); i++) {
+            userRoles.add(Tuple.of(username, roles.getString(i)));
+          }
+        }
+      } else {
+        final String role = item.getString("role");
+        if (role == null) {
+          return Future.failedFuture("username or role are null");
+        }
+        final JsonArray permissions = item.getJsonArray("permissions");
+        if (permissions != null) {
+          for (int i = 0; i < permissions.size(); i++) {
+            rolePermissions.add(Tuple.of(role, permissions.getString(i)));
+          }
+        }
+      }
+    }
+
+    // users first, their roles may reference them
+    return insertBatch(insertUser, users)
+      .compose(v -> insertBatch(insertUserRole, userRoles))
+      .compose(v -> insertBatch(insertRolePermission, rolePermissions));
+  }
+
+  private Future<Void> insertBatch(String sql, List<Tuple> batch) {
+    if (batch.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    return client.preparedQuery(sql)
+      .executeBatch(batch)
+      .mapEmpty();
+  }
+
+  private void addToFilter(String username) {
+    final UsernameFilter filter = this.filter;
+    if (filter != null) {
+      filter.add(username);
+    }
+  }
 }
@@ -18,6 +18,8 @@ import org.junit.runner.RunWith;
 import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
 
+import java.util.Arrays;
+
 @RunWith(VertxUnitRunner.class)
 public class MySQLTest {
 
@@ -108,6 +110,64 @@ public class MySQLTest {
     });
   }
 
+  @Test
+  public void testAuthenticateAndAuthorize(TestContext should) {
+    final Async test = should.async();
+
+    AuthenticationProvider authn = SqlAuthentication.create(mysql, new SqlAuthenticationOptions()
+      .setAuthenticationAndAuthorizationsQuery("SELECT U.password, U.username, UR.role, RP.perm FROM users U LEFT JOIN users_roles UR ON U.username = UR.username LEFT JOIN roles_perms RP ON UR.role = RP.role WHERE U.username = ?"));
+
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "lopus").put("password", "secret");
+
+    authn.authenticate(authInfo, authenticate -> {
+      should.assertTrue(authenticate.succeeded());
+      final User user = authenticate.result();
+      should.assertEquals("lopus", user.principal().getString("username"));
+      // 2 roles + 3 permissions, without a call to the authorization provider
+      should.assertEquals(5, user.authorizations().get("sql-client").size());
+      should.assertTrue(RoleBasedAuthorization.create("dev").match(user));
+      should.assertTrue(PermissionBasedAuthorization.create("eat_pizza").match(user));
+      should.assertFalse(RoleBasedAuthorization.create("manager").match(user));
+      test.complete();
+    });
+  }
+
+  @Test
+  public void testAuthenticateAndAuthorizeBadPassword(TestContext should) {
+    final Async test = should.async();
+
+    AuthenticationProvider authn = SqlAuthentication.create(mysql, new SqlAuthenticationOptions()
+      .setAuthenticationAndAuthorizationsQuery("SELECT U.password, U.username, UR.role, RP.perm FROM users U LEFT JOIN users_roles UR ON U.username = UR.username LEFT JOIN roles_perms RP ON UR.role = RP.role WHERE U.username = ?"));
+
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "lopus").put("password", "s3cr3t");
+
+    authn.authenticate(authInfo, authenticate -> {
+      should.assertTrue(authenticate.failed());
+      should.assertEquals("Invalid username/password", authenticate.cause().getMessage());
+      test.complete();
+    });
+  }
+
+  @Test
+  public void testAuthenticateAndAuthorizeDuplicateUser(TestContext should) {
+    final Async test = should.async();
+
+    // two users with the same password hash
+    AuthenticationProvider authn = SqlAuthentication.create(mysql, new SqlAuthenticationOptions()
+      .setAuthenticationAndAuthorizationsQuery("SELECT U.password, CONCAT(U.username, D.n), NULL, NULL FROM users U CROSS JOIN (SELECT 1 AS n UNION ALL SELECT 2) D WHERE U.username = ?"));
+
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "lopus").put("password", "secret");
+
+    authn.authenticate(authInfo, authenticate -> {
+      should.assertTrue(authenticate.failed());
+      should.assertEquals("Failure in authentication", authenticate.cause().getMessage());
+      test.complete();
+    });
+  }
+
   @Test
   public void testAuthoriseHasRole(TestContext should) {
     final Async test = should.async();
@@ -199,4 +259,54 @@ public class MySQLTest {
       });
     });
   }
+
+  @Test
+  public void testAuthoriseParallel(TestContext should) {
+    final Async test = should.async();
+
+    final User user = User.create(new JsonObject().put("username", "lopus"));
+    AuthorizationProvider authz = SqlAuthorization.create(mysql, new SqlAuthorizationOptions().setParallelQueries(true));
+    authz.getAuthorizations(user, getAuthorizations -> {
+      should.assertTrue(getAuthorizations.succeeded());
+      // attest
+      should.assertTrue(RoleBasedAuthorization.create("dev").match(user));
+      should.assertTrue(PermissionBasedAuthorization.create("merge_pr").match(user));
+      should.assertFalse(PermissionBasedAuthorization.create("eat_sandwich").match(user));
+      test.complete();
+    });
+  }
+
+  @Test
+  public void testAuthoriseCombinedQuery(TestContext should) {
+    final Async test = should.async();
+
+    final User user = User.create(new JsonObject().put("username", "lopus"));
+    AuthorizationProvider authz = SqlAuthorization.create(mysql, new SqlAuthorizationOptions()
+      .setAuthorizationsQuery("SELECT UR.role, RP.perm FROM users_roles UR LEFT JOIN roles_perms RP ON UR.role = RP.role WHERE UR.username = ?"));
+    authz.getAuthorizations(user, getAuthorizations -> {
+      should.assertTrue(getAuthorizations.succeeded());
+      // attest
+      should.assertTrue(RoleBasedAuthorization.create("admin").match(user));
+      should.assertTrue(PermissionBasedAuthorization.create("commit_code").match(user));
+      should.assertFalse(RoleBasedAuthorization.create("manager").match(user));
+      test.complete();
+    });
+  }
+
+  @Test
+  public void testLoadAuthorizations(TestContext should) {
+    final Async test = should.async();
+
+    SqlAuthorization.create(mysql)
+      .loadAuthorizations(Arrays.asList("lopus", "unknown"))
+      .onFailure(should::fail)
+      .onSuccess(authorizations -> {
+        should.assertEquals(2, authorizations.size());
+        // 2 roles + 3 permissions
+        should.assertEquals(5, authorizations.get("lopus").size());
+        should.assertTrue(authorizations.get("lopus").contains(PermissionBasedAuthorization.create("eat_pizza")));
+        should.assertTrue(authorizations.get("unknown").isEmpty());
+        test.complete();
+      });
+  }
 }
@@ -50,6 +50,11 @@ public class WebAuthnOptionsConverter {
             obj.setPubKeyCredParams(list);
           }
           break;
+        case "publicKeyCacheSize":
+          if (member.getValue() instanceof Number) {
+            obj.setPublicKeyCacheSize(((Number)member.getValue()).intValue());
+          }
+          break;
         case "relyingParty":
           if (member.getValue() instanceof JsonObject) {
             obj.setRelyingParty(new io.vertx.ext.auth.webauthn.RelyingParty((io.vertx.core.json.JsonObject)member.getValue()));
@@ -124,6 +129,7 @@ public class WebAuthnOptionsConverter {
       obj.getPubKeyCredParams().forEach(item -> array.add(item.name()));
       json.put("pubKeyCredParams", array);
     }
+    json.put("publicKeyCacheSize", obj.getPublicKeyCacheSize());
     if (obj.getRelyingParty() != null) {
       json.put("relyingParty", obj.getRelyingParty().toJson());
     }
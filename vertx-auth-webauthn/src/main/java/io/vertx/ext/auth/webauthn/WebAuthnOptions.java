@@ -198,6 +198,7 @@ public class WebAuthnOptions {
   private List<PublicKeyCredential> pubKeyCredParams;
 
   private int challengeLength;
+  private int publicKeyCacheSize;
   private JsonObject extensions;
 
   private Map<String, X509Certificate> rootCertificates;
@@ -222,6 +223,7 @@ public class WebAuthnOptions {
 
     timeout = 60_000L;
     challengeLength = 64;
+    publicKeyCacheSize = 1_000;
     // Support FIDO2 devices, MACOSX, default
     addPubKeyCredParam(ES256);
     // Support Windows devices (Hello)
@@ -387,6 +389,26 @@ public class WebAuthnOptions {
     return this;
   }
 
+  public int getPublicKeyCacheSize() {
+    return publicKeyCacheSize;
+  }
+
+  /**
+   * The number of parsed authenticator public keys kept in memory, by credential id. A login with a cached credential
+   * skips the CBOR decoding of the stored key and the creation of its signature verifier. A cached key is only used
+   * while it is the same as the public key returned by the authenticator fetcher.
+   *
+   * @param publicKeyCacheSize the max number of cached keys, {@code 0} disables the cache. The default is {@code 1000}.
+   * @return fluent self
+   */
+  public WebAuthnOptions setPublicKeyCacheSize(int publicKeyCacheSize) {
+    if (publicKeyCacheSize < 0) {
+      throw new IllegalArgumentException("publicKeyCacheSize must be >= 0");
+    }
+    this.publicKeyCacheSize = publicKeyCacheSize;
+    return this;
+  }
+
   public JsonObject getExtensions() {
     return extensions;
   }
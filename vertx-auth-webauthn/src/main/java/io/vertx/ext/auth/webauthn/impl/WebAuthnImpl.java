@@ -29,6 +29,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.impl.LRUCache;
 import io.vertx.ext.auth.impl.cose.CWK;
 import io.vertx.ext.auth.impl.jose.JWK;
 import io.vertx.ext.auth.impl.jose.JWS;
@@ -57,6 +58,8 @@ public class WebAuthnImpl implements WebAuthn {
   private final VertxContextPRNG random;
   private final WebAuthnOptions options;
   private final MetaDataServiceImpl mds;
+  // parsed public keys by credential id, null when disabled
+  private final LRUCache<String, CachedPublicKey> publicKeys;
 
   private Function<Authenticator, Future<List<Authenticator>>> fetcher = authr -> Future.failedFuture("Fetcher function not available");
   private Function<Authenticator, Future<Void>> updater = authr -> Future.failedFuture("Updater function not available");
@@ -80,6 +83,7 @@ public class WebAuthnImpl implements WebAuthn {
     }
 
     this.mds = new MetaDataServiceImpl(vertx, options);
+    this.publicKeys = options.getPublicKeyCacheSize() > 0 ? new LRUCache<>(options.getPublicKeyCacheSize()) : null;
     ServiceLoader<Attestation> attestationServiceLoader = ServiceLoader.load(Attestation.class);
 
     for (Attestation att : attestationServiceLoader) {
@@ -87,6 +91,20 @@ public class WebAuthnImpl implements WebAuthn {
     }
   }
 
+  /**
+   * A stored public key and its signature verifier.
+   */
+  private static final class CachedPublicKey {
+    // the CBOR encoded key, as stored
+    final String encoded;
+    final JWS jws;
+
+    CachedPublicKey(String encoded, JWS jws) {
+      this.encoded = encoded;
+      this.jws = jws;
+    }
+  }
+
   private String randomBase64URLBuffer(int length) {
     final byte[] buff = new byte[length];
     random.nextBytes(buff);
@@ -388,7 +406,13 @@ public class WebAuthnImpl implements WebAuthn {
             // new authenticator to the storage
             updater.apply(authrInfo)
               .onFailure(err -> handler.handle(Future.failedFuture(err)))
-              .onSuccess(stored -> handler.handle(Future.succeededFuture(User.create(authrInfo.toJson()))));
+              .onSuccess(stored -> {
+                if (publicKeys != null) {
+                  // a credential id registered again replaces its key
+                  publicKeys.remove(authrInfo.getCredID());
+                }
+                handler.handle(Future.succeededFuture(User.create(authrInfo.toJson())));
+              });
 
           } catch (RuntimeException | AttestationException | IOException | NoSuchAlgorithmException e) {
             handler.handle(Future.failedFuture(e));
@@ -603,38 +627,58 @@ public class WebAuthnImpl implements WebAuthn {
 
     // Step webauthn.get#3
     // Using previously saved public key, verify signature over signatureBase.
-    try (JsonParser parser = CBOR.cborParser(credential.getString("publicKey"))) {
-      // the decoded credential primary as a JWK
-      JWK publicKey = CWK.toJWK(new JsonObject(CBOR.<Map<String, Object>>parse(parser)));
-      // convert signature to buffer
-      byte[] signature = base64UrlDecode(response.getString("signature"));
-      // verify signature
-      JWS jws = new JWS(publicKey);
-      if (!jws.verify(signature, signatureBase.getBytes())) {
-        // Step webauthn.get#4
-        // If you can’t verify signature multiple times, potentially raise the
-        // alarm as phishing attempt most likely is occurring.
-        LOG.warn("Failed to verify signature for key: " + credential.getString("publicKey"));
-        throw new AttestationException("Failed to verify the signature!");
+    // convert signature to buffer
+    byte[] signature = base64UrlDecode(response.getString("signature"));
+    // verify signature
+    if (!publicKey(credential.getString("credID"), credential.getString("publicKey")).verify(signature, signatureBase.getBytes())) {
+      // Step webauthn.get#4
+      // If you can’t verify signature multiple times, potentially raise the
+      // alarm as phishing attempt most likely is occurring.
+      LOG.warn("Failed to verify signature for key: " + credential.getString("publicKey"));
+      throw new AttestationException("Failed to verify the signature!");
+    }
+
+    // Step webauthn.get#5
+    // If counter in DB is 0, and response counter is 0, then authData does not support counter,
+    // and this step should be skipped
+    if (authData.getSignCounter() != 0 || credential.getLong("counter") != 0) {
+      // Step webauthn.get#6
+      // If response counter is not 0, check that it’s bigger than stored counter.
+      // If it’s not, potentially raise the alarm as replay attack may have occurred.
+      if (authData.getSignCounter() != 0 && authData.getSignCounter() <= credential.getLong("counter", 0L)) {
+        throw new AttestationException("Authenticator counter did not increase!");
       }
+    }
 
-      // Step webauthn.get#5
-      // If counter in DB is 0, and response counter is 0, then authData does not support counter,
-      // and this step should be skipped
-      if (authData.getSignCounter() != 0 || credential.getLong("counter") != 0) {
-        // Step webauthn.get#6
-        // If response counter is not 0, check that it’s bigger than stored counter.
-        // If it’s not, potentially raise the alarm as replay attack may have occurred.
-        if (authData.getSignCounter() != 0 && authData.getSignCounter() <= credential.getLong("counter", 0L)) {
-          throw new AttestationException("Authenticator counter did not increase!");
-        }
+    // Step webauthn.get#7
+    // Update counter value in database
+    // return the counter so it can be updated on the store
+    return authData.getSignCounter();
+  }
+
+  /**
+   * Get the signature verifier of a stored public key, from the cache when the stored key didn't change.
+   */
+  private JWS publicKey(String credID, String encoded) throws IOException {
+    if (publicKeys != null && credID != null) {
+      final CachedPublicKey cached = publicKeys.get(credID);
+      if (cached != null && cached.encoded.equals(encoded)) {
+        return cached.jws;
       }
+    }
+
+    final JWS jws;
+    try (JsonParser parser = CBOR.cborParser(encoded)) {
+      // the decoded credential primary as a JWK
+      JWK jwk = CWK.toJWK(new JsonObject(CBOR.<Map<String, Object>>parse(parser)));
+      jws = new JWS(jwk);
+    }
 
-      // Step webauthn.get#7
-      // Update counter value in database
-      // return the counter so it can be updated on the store
-      return authData.getSignCounter();
+    if (publicKeys != null && credID != null) {
+      // replaces a key that changed in the store
+      publicKeys.put(credID, new CachedPublicKey(encoded, jws));
     }
+    return jws;
   }
 
   /**
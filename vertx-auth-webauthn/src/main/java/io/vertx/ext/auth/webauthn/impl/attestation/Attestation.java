@@ -17,6 +17,7 @@ package io.vertx.ext.auth.webauthn.impl.attestation;
 
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.impl.Digests;
 import io.vertx.ext.auth.impl.jose.JWS;
 import io.vertx.ext.auth.webauthn.AttestationCertificates;
 import io.vertx.ext.auth.webauthn.PublicKeyCredential;
@@ -64,10 +65,11 @@ public interface Attestation {
       throw new AttestationException("Cannot hash one of {algorithm, data} is null");
     }
 
-    final MessageDigest md = MessageDigest.getInstance(algorithm);
-
-    md.update(data);
-    return md.digest();
+    try {
+      return Digests.digest(algorithm, data);
+    } catch (IllegalArgumentException e) {
+      throw new NoSuchAlgorithmException(e.getMessage());
+    }
   }
 
   /**
@@ -97,4 +97,62 @@ public class NavigatorCredentialsGet {
         test.complete();
       });
   }
+
+  @Test
+  public void testLoginWithChangedPublicKey(TestContext should) {
+    final Async test = should.async();
+
+    WebAuthn webAuthN = WebAuthn.create(
+      rule.vertx(),
+      new WebAuthnOptions().setRelyingParty(new RelyingParty().setName("ACME Corporation")))
+      .authenticatorFetcher(database::fetch)
+      .authenticatorUpdater(database::store);
+
+    final String credID = "rYLaf9xagyA2YnO-W3CZDW8udSg8VeMMm25nenU7nCSxUqy1pEzOdb9oFrDxZZDmrp3odfuTPuONQCiSMH-Tyg";
+    final String publicKey = "pQECAyYgASFYILBNcdWmiMsmjA1QkNpG91GpEbhMIOqWLieDP6mLnGETIlggGMiqXz8BuSiPa0ovGVxxxbdUbJVm6THKNhUCifFhJCE";
+
+    final Authenticator authenticator = new Authenticator()
+      .setUserName("paulo")
+      .setCredID(credID)
+      .setPublicKey(publicKey)
+      .setCounter(4);
+
+    database.add(authenticator);
+
+    final JsonObject request = new JsonObject()
+      .put("webauthn", new JsonObject()
+        .put("id", credID)
+        .put("rawId", credID)
+        .put("type", "public-key")
+        .put("response", new JsonObject()
+          .put("authenticatorData", "fxV8VVBPmz66RLzscHpg5yjRhO28Y_fPwYO5AVwzBEIBAAAACA")
+          .put("clientDataJSON", "eyJ0eXBlIjoid2ViYXV0aG4uZ2V0IiwiY2hhbGxlbmdlIjoiek5hSVduQ213VkY3QTVhWkRGMDRfanRoUG1aVGR6aUk3c1hEa1lFSnhMREgxZDFFeWNjNmtFX1JmMUxaaVNEMEZHQ3JqenJZcTlObVlyQm1jREZGX2ciLCJvcmlnaW4iOiJodHRwczovLzE5Mi4xNjguMTc4LjIwNi54aXAuaW86ODQ0MyIsImNyb3NzT3JpZ2luIjpmYWxzZX0")
+          .put("signature", "MEUCIFXjL0ONRuLP1hkdlRJ8d0ofuRAS12c6w8WgByr-0yQZAiEAw-C6UZ8U8pi8irAcD6jXXaZMtezbzVwZXLGqY3sbFyA")
+          .put("userHandle", "")))
+      .put("username", "paulo")
+      .put("origin", "https://192.168.178.206.xip.io:8443")
+      .put("challenge", "zNaIWnCmwVF7A5aZDF04_jthPmZTdziI7sXDkYEJxLDH1d1Eycc6kE_Rf1LZiSD0FGCrjzrYq9NmYrBmcDFF_g");
+
+    webAuthN.authenticate(request)
+      .onFailure(should::fail)
+      .onSuccess(user -> {
+        // the key changed in the store, the cached key must not be used
+        authenticator
+          .setPublicKey("pQECAyYgASFYIBl0C67nFN_OwbODu_iE0hI5nM0ppUkqjhU9NhQvBaiLIlggffUTx8E6OM85huU3DcadeuaBBh8kGI8vdm3zesf3YRc")
+          .setCounter(4);
+
+        webAuthN.authenticate(request)
+          .onSuccess(v -> should.fail("Should have failed with the new key"))
+          .onFailure(err -> {
+            // back to the original key, verified with the key parsed again
+            authenticator
+              .setPublicKey(publicKey)
+              .setCounter(4);
+
+            webAuthN.authenticate(request)
+              .onFailure(should::fail)
+              .onSuccess(user2 -> test.complete());
+          });
+      });
+  }
 }